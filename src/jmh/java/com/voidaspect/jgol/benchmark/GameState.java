@@ -0,0 +1,41 @@
+package com.voidaspect.jgol.benchmark;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.Grid;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Game of every grid, strategy and pattern combination, re-created before each iteration.
+ */
+@State(Scope.Benchmark)
+public class GameState {
+
+    @Param
+    public GridType gridType;
+
+    @Param
+    public Pattern pattern;
+
+    @Param({"false", "true"})
+    public boolean threadSafe;
+
+    @Param({"512"})
+    public int size;
+
+    public GameOfLife game;
+
+    public Grid grid;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        game = GameOfLife.builder(gridType.create(size))
+                .setThreadSafe(threadSafe)
+                .build();
+        grid = game.grid();
+        pattern.place(grid, size);
+    }
+}
@@ -0,0 +1,82 @@
+package com.voidaspect.jgol.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grid operations on the initial state of a pattern, each invocation accesses {@value #CELLS} random cells.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+
+    private static final int CELLS = 1024;
+
+    @State(Scope.Benchmark)
+    public static class Cells {
+
+        int[] rows;
+
+        int[] cols;
+
+        @Setup(Level.Trial)
+        public void setUp(GameState state) {
+            var random = new Random(7);
+            rows = new int[CELLS];
+            cols = new int[CELLS];
+            for (int i = 0; i < CELLS; i++) {
+                rows[i] = random.nextInt(state.size);
+                cols[i] = random.nextInt(state.size);
+            }
+        }
+    }
+
+    @Benchmark
+    public int neighbors(GameState state, Cells cells) {
+        int sum = 0;
+        for (int i = 0; i < CELLS; i++) {
+            sum += state.grid.neighbors(cells.rows[i], cells.cols[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void set(GameState state, Cells cells) {
+        // every cell is flipped twice, so the grid is left as it was
+        var grid = state.grid;
+        for (int i = 0; i < CELLS; i++) {
+            int row = cells.rows[i];
+            int col = cells.cols[i];
+            boolean alive = grid.get(row, col);
+            grid.set(row, col, !alive);
+            grid.set(row, col, alive);
+        }
+    }
+
+    @Benchmark
+    public void forEachAlive(GameState state, Blackhole blackhole) {
+        state.grid.forEachAlive((row, col) -> blackhole.consume(row ^ col));
+    }
+
+    @Benchmark
+    public boolean[][] snapshot(GameState state) {
+        return state.grid.snapshot(0, 0, state.size, state.size);
+    }
+
+}
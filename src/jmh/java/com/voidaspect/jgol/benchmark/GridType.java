@@ -0,0 +1,105 @@
+package com.voidaspect.jgol.benchmark;
+
+import com.voidaspect.jgol.grid.AdaptiveGrid;
+import com.voidaspect.jgol.grid.BitVectorInMemoryGrid;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.grid.NeighborCountingGrid;
+import com.voidaspect.jgol.grid.NeighborCountingHashGrid;
+import com.voidaspect.jgol.grid.PackedNeighborCountingGrid;
+import com.voidaspect.jgol.grid.PaddedInMemoryGrid;
+import com.voidaspect.jgol.grid.TileActorGrid;
+import com.voidaspect.jgol.grid.TiledGrid;
+
+/**
+ * Benchmarked {@link Grid} implementations.
+ */
+public enum GridType {
+
+    HASH(64) {
+        @Override
+        Grid create(int size) {
+            return new HashGrid();
+        }
+    },
+
+    NEIGHBOR_COUNTING_HASH(64) {
+        @Override
+        Grid create(int size) {
+            return new NeighborCountingHashGrid();
+        }
+    },
+
+    PADDED_IN_MEMORY(32) {
+        @Override
+        Grid create(int size) {
+            return new PaddedInMemoryGrid(size, size);
+        }
+    },
+
+    BIT_VECTOR(32) {
+        @Override
+        Grid create(int size) {
+            return new BitVectorInMemoryGrid(size, size);
+        }
+    },
+
+    NEIGHBOR_COUNTING(16) {
+        @Override
+        Grid create(int size) {
+            return new NeighborCountingGrid(size, size);
+        }
+    },
+
+    PACKED_NEIGHBOR_COUNTING(16) {
+        @Override
+        Grid create(int size) {
+            return new PackedNeighborCountingGrid(size, size);
+        }
+    },
+
+    ADAPTIVE(64) {
+        @Override
+        Grid create(int size) {
+            return new AdaptiveGrid();
+        }
+    },
+
+    TILED(4) {
+        @Override
+        Grid create(int size) {
+            return new TiledGrid();
+        }
+    },
+
+    TILE_ACTOR(4) {
+        @Override
+        Grid create(int size) {
+            return new TileActorGrid();
+        }
+    };
+
+    private final int bytesPerCell;
+
+    /**
+     * @param bytesPerCell upper estimate of memory per cell of a soup, taken by the grid and the scratch buffers
+     *                     of its progress strategy: hash sets of visited or live cells take 24 bytes per entry
+     *                     at their peak, bags of changed cells take 12
+     */
+    GridType(int bytesPerCell) {
+        this.bytesPerCell = bytesPerCell;
+    }
+
+    /**
+     * @param size side of a finite grid, ignored by infinite ones
+     */
+    abstract Grid create(int size);
+
+    /**
+     * @return largest side of a square soup that takes at most given amount of memory
+     */
+    int maxSide(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) Math.sqrt((double) bytes / bytesPerCell));
+    }
+
+}
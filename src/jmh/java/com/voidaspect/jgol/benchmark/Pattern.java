@@ -0,0 +1,75 @@
+package com.voidaspect.jgol.benchmark;
+
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.io.RleReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Reproducible initial states: random soups with a fixed seed and well-known methuselahs and guns.
+ */
+public enum Pattern {
+
+    SOUP_10(0.1),
+
+    SOUP_30(0.3),
+
+    SOUP_50(0.5),
+
+    R_PENTOMINO("x = 3, y = 3\nb2o$2o$bo!"),
+
+    ACORN("x = 7, y = 3\nbo$3bo$2o3b3o!"),
+
+    GOSPER_GLIDER_GUN("x = 36, y = 9\n" +
+            "24bo$22bobo$12b2o6b2o12b2o$11bo3bo4b2o12b2o$2o8bo5bo3b2o$2o8bo3bob2o4bobo$10bo5bo7bo$11bo3bo$12b2o!");
+
+    private static final long SEED = 42;
+
+    private final double density;
+
+    private final String rle;
+
+    Pattern(double density) {
+        this.density = density;
+        this.rle = null;
+    }
+
+    Pattern(String rle) {
+        this.density = 0;
+        this.rle = rle;
+    }
+
+    /**
+     * Places the pattern in the middle of a {@code size x size} region, soups fill half of the region's side.
+     */
+    void place(Grid grid, int size) {
+        int center = size / 2;
+        if (rle == null) {
+            soup(grid, center - size / 4, center + size / 4, density);
+            return;
+        }
+        var bytes = rle.getBytes(StandardCharsets.US_ASCII);
+        try (var channel = Channels.newChannel(new ByteArrayInputStream(bytes))) {
+            new RleReader().read(channel, grid, center, center);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Fills square region from {@code from} inclusive to {@code to} exclusive with a random soup.
+     */
+    static void soup(Grid grid, int from, int to, double density) {
+        var random = new Random(SEED);
+        for (int row = from; row < to; row++) {
+            for (int col = from; col < to; col++) {
+                if (random.nextDouble() < density) grid.set(row, col, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.voidaspect.jgol.benchmark;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.listener.ProgressListener;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless benchmark that sweeps thread counts, thread safety, grid sizes and soup densities.
+ * <p>Main thread progresses the game, every additional thread is a client of a thread-safe game
+ * that reads cells and occasionally writes them, so contention on {@code ThreadSafeLife} is part of the measurement.
+ * A single thread runs both plain and thread-safe games, so lock overhead is measured apart from contention.
+ * Sizes are doubled up to the largest grid that fits in half of the heap, as estimated for the grid type,
+ * larger sizes are skipped.</p>
+ * <p>Options, all optional:</p>
+ * <pre>
+ * --grid BIT_VECTOR          grid type, see {@link GridType}
+ * --threads 1,2,4            thread counts, defaults to powers of 2 up to available processors
+ * --thread-safe false,true   thread safety of single-threaded runs, games with clients are always thread-safe
+ * --sizes 256,1024           grid sides, defaults to powers of 2 from 256 up to the heap limit
+ * --densities 0.1,0.3,0.5    soup densities
+ * --generations 100          measured generations
+ * --warmup 20                generations before measurement
+ * --format csv|json          output format
+ * --output results.csv       output file, defaults to standard output
+ * </pre>
+ */
+public final class ScalingBenchmark {
+
+    private static final int MIN_SIZE = 256;
+
+    private static final int MAX_SIZE = 1 << 16;
+
+    // one of that many client operations is a write
+    private static final int WRITE_RATIO = 64;
+
+    // the rest of the heap is left to the garbage collector and to other runs
+    private static final int HEAP_SHARE = 2;
+
+    // keeps reads of clients from being eliminated
+    private static volatile long sink;
+
+    private GridType gridType = GridType.BIT_VECTOR;
+
+    private int[] threads;
+
+    private boolean[] threadSafety = {false, true};
+
+    private int[] sizes;
+
+    private double[] densities = {0.1, 0.3, 0.5};
+
+    private int generations = 100;
+
+    private int warmup = 20;
+
+    private String format = "csv";
+
+    private Path output;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var benchmark = new ScalingBenchmark();
+        benchmark.parse(args);
+        var results = benchmark.run();
+        if (benchmark.output == null) {
+            benchmark.write(results, System.out);
+        } else {
+            try (var out = new PrintStream(Files.newOutputStream(benchmark.output), false, StandardCharsets.UTF_8)) {
+                benchmark.write(results, out);
+            }
+        }
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--grid": gridType = GridType.valueOf(value.toUpperCase(Locale.ROOT)); break;
+                case "--threads": threads = ints(value); break;
+                case "--thread-safe": threadSafety = booleans(value); break;
+                case "--sizes": sizes = ints(value); break;
+                case "--densities": densities = Arrays.stream(value.split(",")).mapToDouble(Double::parseDouble).toArray(); break;
+                case "--generations": generations = Integer.parseInt(value); break;
+                case "--warmup": warmup = Integer.parseInt(value); break;
+                case "--format": format = value; break;
+                case "--output": output = Paths.get(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (threads == null) {
+            var counts = new ArrayList<Integer>();
+            for (int t = 1; t <= Runtime.getRuntime().availableProcessors(); t <<= 1) counts.add(t);
+            threads = counts.stream().mapToInt(Integer::intValue).toArray();
+        }
+        if (sizes == null) {
+            var sides = new ArrayList<Integer>();
+            for (int s = MIN_SIZE; s <= MAX_SIZE; s <<= 1) sides.add(s);
+            sizes = sides.stream().mapToInt(Integer::intValue).toArray();
+        }
+        int maxSide = gridType.maxSide(Runtime.getRuntime().maxMemory() / HEAP_SHARE);
+        if (Arrays.stream(sizes).anyMatch(size -> size > maxSide)) {
+            System.err.println("Grids larger than " + maxSide + "x" + maxSide + " don't fit in the heap, they're skipped");
+            sizes = Arrays.stream(sizes).filter(size -> size <= maxSide).toArray();
+        }
+    }
+
+    private List<Result> run() throws InterruptedException {
+        var results = new ArrayList<Result>();
+        for (int size : sizes) {
+            for (double density : densities) {
+                for (int threadCount : threads) {
+                    for (boolean threadSafe : threadSafety) {
+                        // clients need a thread-safe game
+                        if (threadCount > 1 && !threadSafe) continue;
+                        var result = run(size, density, threadCount, threadSafe);
+                        results.add(result);
+                        System.err.println(result.toCsv());
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private Result run(int size, double density, int threadCount, boolean threadSafe) throws InterruptedException {
+        // garbage of previous runs is not part of the peak
+        System.gc();
+        var pools = ManagementFactory.getMemoryPoolMXBeans();
+        pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        var game = GameOfLife.builder(gridType.create(size))
+                .setThreadSafe(threadSafe)
+                .build();
+        Pattern.soup(game.grid(), 0, size, density);
+        for (int i = 0; i < warmup; i++) game.progress();
+
+        var stop = new AtomicBoolean();
+        var clientOps = new LongAdder();
+        var clients = new Thread[threadCount - 1];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = new Thread(() -> client(game.grid(), size, stop, clientOps), "client-" + i);
+            clients[i].setDaemon(true);
+            clients[i].start();
+        }
+
+        var updates = new UpdateCounter();
+        long[] latencies = new long[generations];
+        long start = System.nanoTime();
+        for (int i = 0; i < generations; i++) {
+            long t = System.nanoTime();
+            game.progress(updates);
+            latencies[i] = System.nanoTime() - t;
+        }
+        long elapsed = System.nanoTime() - start;
+        stop.set(true);
+        for (var client : clients) client.join();
+
+        Arrays.sort(latencies);
+        double seconds = elapsed / 1e9;
+        var result = new Result();
+        result.grid = gridType;
+        result.size = size;
+        result.density = density;
+        result.threads = threadCount;
+        result.threadSafe = threadSafe;
+        result.generationsPerSecond = generations / seconds;
+        result.cellUpdatesPerSecond = (double) size * size * generations / seconds;
+        result.changesPerSecond = updates.changes / seconds;
+        result.p50Micros = percentile(latencies, 0.5) / 1e3;
+        result.p99Micros = percentile(latencies, 0.99) / 1e3;
+        result.clientOpsPerSecond = clientOps.sum() / seconds;
+        result.population = game.grid().liveCells();
+        result.peakPoolUsageKb = peakUsageKb(pools);
+        return result;
+    }
+
+    private static void client(Grid grid, int size, AtomicBoolean stop, LongAdder ops) {
+        var random = ThreadLocalRandom.current();
+        long count = 0;
+        long read = 0;
+        while (!stop.get()) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            if (count % WRITE_RATIO == 0) {
+                grid.set(row, col, random.nextBoolean());
+            } else {
+                read += grid.neighbors(row, col) + (grid.get(row, col) ? 1 : 0);
+            }
+            count++;
+        }
+        ops.add(count);
+        sink = read;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * @return sum of peak usages of heap and non-heap memory pools, including the transient peaks of generations
+     */
+    private static long peakUsageKb(List<MemoryPoolMXBean> pools) {
+        long bytes = 0;
+        for (var pool : pools) {
+            var peak = pool.getPeakUsage();
+            if (peak != null) bytes += peak.getUsed();
+        }
+        return bytes / 1024;
+    }
+
+    private void write(List<Result> results, PrintStream out) {
+        if ("json".equalsIgnoreCase(format)) {
+            out.println("[");
+            for (int i = 0; i < results.size(); i++) {
+                out.print("  " + results.get(i).toJson());
+                out.println(i + 1 < results.size() ? "," : "");
+            }
+            out.println("]");
+        } else {
+            out.println(Result.CSV_HEADER);
+            results.forEach(result -> out.println(result.toCsv()));
+        }
+    }
+
+    private static int[] ints(String value) {
+        return Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static boolean[] booleans(String value) {
+        String[] values = value.split(",");
+        boolean[] result = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) result[i] = Boolean.parseBoolean(values[i]);
+        return result;
+    }
+
+    private static final class UpdateCounter implements ProgressListener {
+
+        long changes;
+
+        @Override
+        public void onProgressStart() {
+        }
+
+        @Override
+        public void onCellSpawned(int row, int col) {
+            changes++;
+        }
+
+        @Override
+        public void onCellDied(int row, int col) {
+            changes++;
+        }
+
+        @Override
+        public void onProgressFinish() {
+        }
+    }
+
+    private static final class Result {
+
+        static final String CSV_HEADER = "grid,size,density,threads,threadSafe,generationsPerSecond,cellUpdatesPerSecond," +
+                "changesPerSecond,p50Micros,p99Micros,clientOpsPerSecond,population,peakPoolUsageKb";
+
+        GridType grid;
+
+        int size;
+
+        double density;
+
+        int threads;
+
+        boolean threadSafe;
+
+        double generationsPerSecond;
+
+        double cellUpdatesPerSecond;
+
+        double changesPerSecond;
+
+        double p50Micros;
+
+        double p99Micros;
+
+        double clientOpsPerSecond;
+
+        long population;
+
+        long peakPoolUsageKb;
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%.2f,%d,%b,%.2f,%.0f,%.0f,%.1f,%.1f,%.0f,%d,%d",
+                    grid, size, density, threads, threadSafe, generationsPerSecond, cellUpdatesPerSecond,
+                    changesPerSecond, p50Micros, p99Micros, clientOpsPerSecond, population, peakPoolUsageKb);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT, "{\"grid\":\"%s\",\"size\":%d,\"density\":%.2f,\"threads\":%d," +
+                            "\"threadSafe\":%b,\"generationsPerSecond\":%.2f,\"cellUpdatesPerSecond\":%.0f," +
+                            "\"changesPerSecond\":%.0f,\"p50Micros\":%.1f,\"p99Micros\":%.1f," +
+                            "\"clientOpsPerSecond\":%.0f,\"population\":%d,\"peakPoolUsageKb\":%d}",
+                    grid, size, density, threads, threadSafe, generationsPerSecond, cellUpdatesPerSecond,
+                    changesPerSecond, p50Micros, p99Micros, clientOpsPerSecond, population, peakPoolUsageKb);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.voidaspect.jgol;
+
+import com.voidaspect.jgol.game.GridCapture;
+
+/**
+ * Game which state can be captured at a point in time while it keeps progressing.
+ */
+public interface Capturable {
+
+    /**
+     * Captures current state of the game.
+     * <p>Capture must be closed once it's no longer needed.</p>
+     *
+     * @throws IllegalStateException if previous capture is not closed yet
+     */
+    GridCapture capture();
+
+}
@@ -22,6 +22,23 @@ public interface GameOfLife extends Freezable {
 
     Grid grid();
 
+    /**
+     * Steps back to one of the previous generations.
+     * <p>Only generations remembered within the history budget can be reached,
+     * see {@link GameOfLifeBuilder#setHistoryBudget(long)}.
+     * History is discarded when grid is modified directly.</p>
+     *
+     * @param generations amount of generations to step back
+     * @return amount of generations actually reverted, {@code 0} for games that keep no history
+     * @throws IllegalArgumentException if generations are negative
+     */
+    default int rewind(int generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generations expected to be non-negative, got " + generations);
+        }
+        return 0;
+    }
+
     static GameOfLifeBuilder builder(Grid grid) {
         return new GameOfLifeBuilder(grid);
     }
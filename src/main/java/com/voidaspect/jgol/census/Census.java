@@ -0,0 +1,60 @@
+package com.voidaspect.jgol.census;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Objects left by random soups, see {@link SoupSearch}.
+ */
+public final class Census {
+
+    private final long soups;
+
+    private final long unstabilized;
+
+    private final Map<String, Long> objects;
+
+    Census(long soups, long unstabilized, Map<String, Long> objects) {
+        this.soups = soups;
+        this.unstabilized = unstabilized;
+        var sorted = new LinkedHashMap<String, Long>();
+        objects.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEachOrdered(e -> sorted.put(e.getKey(), e.getValue()));
+        this.objects = Collections.unmodifiableMap(sorted);
+    }
+
+    public long getSoups() {
+        return soups;
+    }
+
+    /**
+     * @return amount of soups that did not stabilize within the generation limit, their objects are not counted
+     */
+    public long getUnstabilized() {
+        return unstabilized;
+    }
+
+    /**
+     * @return amounts of objects by RLE patterns of their shapes, most common first
+     */
+    public Map<String, Long> getObjects() {
+        return objects;
+    }
+
+    public long count(String object) {
+        return objects.getOrDefault(object, 0L);
+    }
+
+    @Override
+    public String toString() {
+        return "Census{" +
+                "soups=" + soups +
+                ", unstabilized=" + unstabilized +
+                ", objects=" + objects +
+                '}';
+    }
+}
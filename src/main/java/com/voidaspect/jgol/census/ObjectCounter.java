@@ -0,0 +1,236 @@
+package com.voidaspect.jgol.census;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.grid.cell.CellBag;
+import com.voidaspect.jgol.grid.cell.CellOperation;
+import com.voidaspect.jgol.grid.cell.CellSet;
+import com.voidaspect.jgol.grid.cell.Cells;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.Map;
+
+/**
+ * Splits live cells of grids into objects and counts objects of the same shape.
+ * <p>Cells that lie within {@value #RADIUS} cells of each other belong to the same object, so that phases of
+ * oscillators like the toad are not split, while objects closer than that are counted as one.
+ * Shapes are compared up to translation, rotation and reflection. Oscillators and spaceships are compared
+ * over all of their phases: a shape seen for the first time is stepped on its own until it repeats,
+ * for at most a given period, and the smallest canonical hash of its phases identifies it in any phase.</p>
+ * <p>All buffers are kept between grids, only a shape seen for the first time allocates its name.</p>
+ */
+final class ObjectCounter {
+
+    private static final int RADIUS = 2;
+
+    // rotations and reflections: bit 0 mirrors rows, bit 1 mirrors columns, bit 2 swaps rows and columns
+    private static final int SYMMETRIES = 8;
+
+    private final int maxPeriod;
+
+    private final CellSet remaining = new CellSet();
+
+    private final CellBag object = new CellBag();
+
+    // phase of a new shape, stepped on its own
+    private final CellBag phase = new CellBag();
+
+    // phase with the smallest canonical hash
+    private final CellBag smallest = new CellBag();
+
+    // canonical hashes of the phases of a new shape
+    private final long[] seen;
+
+    private final GameOfLife phases = GameOfLife.builder(new HashGrid()).build();
+
+    // canonical hash of a shape in the phase it was found in to the canonical hash of all of its phases
+    private final Long2LongOpenHashMap keys = new Long2LongOpenHashMap();
+
+    // canonical hash of a shape to the amount of objects and the name of the shape
+    private final Long2LongOpenHashMap counts = new Long2LongOpenHashMap();
+
+    private final Long2ObjectOpenHashMap<String> names = new Long2ObjectOpenHashMap<>();
+
+    private final CellOperation collect = (row, col) -> remaining.add(row, col);
+
+    private final CellOperation split = this::split;
+
+    private final CellOperation collectPhase = (row, col) -> phase.add(row, col);
+
+    private final CellOperation setAlive = (row, col) -> phases.grid().set(row, col, true);
+
+    /**
+     * @param maxPeriod longest period of oscillators and spaceships whose phases are compared
+     */
+    ObjectCounter(int maxPeriod) {
+        this.maxPeriod = maxPeriod;
+        this.seen = new long[maxPeriod];
+    }
+
+    void count(Grid grid) {
+        remaining.clear();
+        grid.forEachAlive(collect);
+        grid.forEachAlive(split);
+    }
+
+    private void split(int row, int col) {
+        if (!remaining.remove(row, col)) return;
+        object.clear();
+        object.add(row, col);
+        for (int i = 0; i < object.size(); i++) {
+            long cell = object.get(i);
+            int r = Cells.unpackRow(cell);
+            int c = Cells.unpackCol(cell);
+            for (int dr = -RADIUS; dr <= RADIUS; dr++) {
+                for (int dc = -RADIUS; dc <= RADIUS; dc++) {
+                    if (remaining.remove(r + dr, c + dc)) object.add(r + dr, c + dc);
+                }
+            }
+        }
+        long found = canonicalHash(object);
+        if (!keys.containsKey(found)) addPhases(found);
+        counts.addTo(keys.get(found), 1);
+    }
+
+    /**
+     * Steps a new shape through its phases. If it repeats, all of them are mapped to the smallest
+     * canonical hash among them, which is named after its phase; otherwise the shape is counted as found.
+     */
+    private void addPhases(long found) {
+        var grid = phases.grid();
+        grid.clear();
+        object.forEach(setAlive);
+        long start = shapeHash(object, 0);
+        long key = found;
+        int period = 0;
+        for (int generation = 1; generation <= maxPeriod && period == 0; generation++) {
+            phases.progress();
+            phase.clear();
+            grid.forEachAlive(collectPhase);
+            if (phase.size() == 0) break;
+            if (shapeHash(phase, 0) == start) {
+                period = generation;
+                continue;
+            }
+            long hash = canonicalHash(phase);
+            seen[generation - 1] = hash;
+            if (hash < key) {
+                key = hash;
+                smallest.clear();
+                phase.forEach(smallest::add);
+            }
+        }
+        if (period == 0) key = found;
+        keys.put(found, key);
+        for (int i = 0; i < period - 1; i++) keys.put(seen[i], key);
+        if (!names.containsKey(key)) {
+            var named = key == found ? object : smallest;
+            names.put(key, name(named, canonicalSymmetry(named)));
+        }
+    }
+
+    /**
+     * @return smallest hash of the cells over all symmetries
+     */
+    private long canonicalHash(CellBag cells) {
+        return shapeHash(cells, canonicalSymmetry(cells));
+    }
+
+    private int canonicalSymmetry(CellBag cells) {
+        long key = shapeHash(cells, 0);
+        int canonical = 0;
+        for (int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            long hash = shapeHash(cells, symmetry);
+            if (hash < key) {
+                key = hash;
+                canonical = symmetry;
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * @return hash of the object's cells transformed by the symmetry and moved to the origin
+     */
+    private static long shapeHash(CellBag cells, int symmetry) {
+        int minRow = Integer.MAX_VALUE;
+        int minCol = Integer.MAX_VALUE;
+        for (int i = 0; i < cells.size(); i++) {
+            long cell = cells.get(i);
+            minRow = Math.min(minRow, row(cell, symmetry));
+            minCol = Math.min(minCol, col(cell, symmetry));
+        }
+        long hash = 0;
+        for (int i = 0; i < cells.size(); i++) {
+            long cell = cells.get(i);
+            hash ^= Cells.hash(row(cell, symmetry) - minRow, col(cell, symmetry) - minCol);
+        }
+        return hash;
+    }
+
+    private static int row(long cell, int symmetry) {
+        int row = (symmetry & 4) == 0 ? Cells.unpackRow(cell) : Cells.unpackCol(cell);
+        return (symmetry & 1) == 0 ? row : -row;
+    }
+
+    private static int col(long cell, int symmetry) {
+        int col = (symmetry & 4) == 0 ? Cells.unpackCol(cell) : Cells.unpackRow(cell);
+        return (symmetry & 2) == 0 ? col : -col;
+    }
+
+    /**
+     * @return body of an RLE pattern of the object in the given orientation
+     */
+    private static String name(CellBag cells, int symmetry) {
+        int minRow = Integer.MAX_VALUE;
+        int minCol = Integer.MAX_VALUE;
+        int maxRow = Integer.MIN_VALUE;
+        int maxCol = Integer.MIN_VALUE;
+        for (int i = 0; i < cells.size(); i++) {
+            long cell = cells.get(i);
+            minRow = Math.min(minRow, row(cell, symmetry));
+            minCol = Math.min(minCol, col(cell, symmetry));
+            maxRow = Math.max(maxRow, row(cell, symmetry));
+            maxCol = Math.max(maxCol, col(cell, symmetry));
+        }
+        boolean[][] rows = new boolean[maxRow - minRow + 1][maxCol - minCol + 1];
+        for (int i = 0; i < cells.size(); i++) {
+            long cell = cells.get(i);
+            rows[row(cell, symmetry) - minRow][col(cell, symmetry) - minCol] = true;
+        }
+        var rle = new StringBuilder();
+        // pending line ends, empty rows of the object are merged into them
+        int lines = 0;
+        for (int r = 0; r < rows.length; r++) {
+            int end = rows[r].length;
+            while (end > 0 && !rows[r][end - 1]) end--;
+            if (end > 0 && lines > 0) {
+                if (lines > 1) rle.append(lines);
+                rle.append('$');
+                lines = 0;
+            }
+            lines++;
+            for (int c = 0; c < end; ) {
+                boolean alive = rows[r][c];
+                int run = 1;
+                while (c + run < end && rows[r][c + run] == alive) run++;
+                if (run > 1) rle.append(run);
+                rle.append(alive ? 'o' : 'b');
+                c += run;
+            }
+        }
+        return rle.append('!').toString();
+    }
+
+    /**
+     * Adds counted objects to the census, keyed by their names.
+     */
+    void addTo(Map<String, Long> census) {
+        for (var i = counts.keySet().iterator(); i.hasNext(); ) {
+            long key = i.nextLong();
+            census.merge(names.get(key), counts.get(key), Long::sum);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.voidaspect.jgol.census;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.grid.cell.Cells;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs random square soups until they stabilize and counts objects they leave behind.
+ * <p>Soups are shared between a fixed amount of workers in chunks. Every worker builds one game and reuses it,
+ * with its grid and scratch buffers, for all of its soups, so allocations do not grow with the amount of soups.
+ * Soup {@code i} of a seed is always the same, so a census depends only on the seed and the amount of soups.</p>
+ * <p>A soup is stable once its grid repeats one of the last {@value #MAX_PERIOD} generations,
+ * or once its population has repeated with such period for {@value #SETTLE} generations,
+ * which lets stable remains be counted while gliders escape to infinity.
+ * Oscillators are counted in the phase they are found in.</p>
+ */
+public final class SoupSearch {
+
+    private static final int MAX_PERIOD = 15;
+
+    private static final int SETTLE = 4 * MAX_PERIOD;
+
+    // soups claimed by a worker at once
+    private static final int CHUNK = 64;
+
+    private final int side;
+
+    private final int maxGenerations;
+
+    /**
+     * @param side           width and height of soups
+     * @param maxGenerations generations after which a soup is considered unstabilized
+     */
+    public SoupSearch(int side, int maxGenerations) {
+        if (side <= 0) {
+            throw new IllegalArgumentException("Side expected to be positive, got " + side);
+        }
+        if (maxGenerations <= 0) {
+            throw new IllegalArgumentException("Max generations expected to be positive, got " + maxGenerations);
+        }
+        this.side = side;
+        this.maxGenerations = maxGenerations;
+    }
+
+    /**
+     * @param seed        seed of random soups
+     * @param soups       amount of soups to run
+     * @param parallelism amount of worker threads
+     * @throws IllegalArgumentException if amount of soups is negative or parallelism is not positive
+     * @throws InterruptedException     if interrupted while waiting for workers, which are cancelled
+     */
+    public Census search(long seed, long soups, int parallelism) throws InterruptedException {
+        if (soups < 0) {
+            throw new IllegalArgumentException("Soups expected to be non-negative, got " + soups);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism expected to be positive, got " + parallelism);
+        }
+        var next = new AtomicLong();
+        var workers = new ArrayList<Worker>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers.add(new Worker(seed, soups, next));
+        }
+        var executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            long unstabilized = 0;
+            Map<String, Long> objects = new HashMap<>();
+            for (Future<Worker> future : executor.invokeAll(workers)) {
+                var worker = get(future);
+                unstabilized += worker.unstabilized;
+                worker.counter.addTo(objects);
+            }
+            return new Census(soups, unstabilized, objects);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Fills the bits of a soup, the seed and the soup are hashed together so that seeds don't share soups.
+     */
+    static void fill(long[] bits, long seed, long soup) {
+        long key = Cells.hash(seed, soup);
+        for (int word = 0; word < bits.length; word++) {
+            bits[word] = Cells.hash(key, word);
+        }
+    }
+
+    private static Worker get(Future<Worker> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private final class Worker implements Callable<Worker> {
+
+        private final long seed;
+
+        private final long soups;
+
+        private final AtomicLong next;
+
+        private final GameOfLife game = GameOfLife.builder(new HashGrid()).build();
+
+        private final long[] bits = new long[side * ((side + 63) >>> 6)];
+
+        // content hashes and populations of recent generations, indexed by generation modulo length
+        private final long[] hashes = new long[MAX_PERIOD + 1];
+
+        private final long[] populations = new long[SETTLE + MAX_PERIOD];
+
+        private final ObjectCounter counter = new ObjectCounter(MAX_PERIOD);
+
+        private long unstabilized;
+
+        Worker(long seed, long soups, AtomicLong next) {
+            this.seed = seed;
+            this.soups = soups;
+            this.next = next;
+        }
+
+        @Override
+        public Worker call() {
+            long from;
+            while ((from = next.getAndAdd(CHUNK)) < soups) {
+                long to = Math.min(soups, from + CHUNK);
+                for (long soup = from; soup < to; soup++) {
+                    if (Thread.currentThread().isInterrupted()) return this;
+                    run(soup);
+                }
+            }
+            return this;
+        }
+
+        private void run(long soup) {
+            fill(bits, seed, soup);
+            var grid = game.grid();
+            grid.clear();
+            grid.blit(0, 0, side, side, bits);
+            for (int generation = 0; generation <= maxGenerations; generation++) {
+                if (isStable(generation, grid.contentHash(), grid.liveCells())) {
+                    counter.count(grid);
+                    return;
+                }
+                game.progress();
+            }
+            unstabilized++;
+        }
+
+        private boolean isStable(int generation, long hash, long population) {
+            for (int period = 1; period <= Math.min(generation, MAX_PERIOD); period++) {
+                if (hashes[(generation - period) % hashes.length] == hash) return true;
+            }
+            hashes[generation % hashes.length] = hash;
+            populations[generation % populations.length] = population;
+            if (generation < SETTLE + MAX_PERIOD) return false;
+            for (int period = 1; period <= MAX_PERIOD; period++) {
+                int offset = 0;
+                while (offset < SETTLE && population(generation - offset) == population(generation - offset - period)) {
+                    offset++;
+                }
+                if (offset == SETTLE) return true;
+            }
+            return false;
+        }
+
+        private long population(int generation) {
+            return populations[generation % populations.length];
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.voidaspect.jgol.game;
 
 import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.Grid;
 import com.voidaspect.jgol.listener.CellListener;
 import com.voidaspect.jgol.listener.ProgressListener;
 
@@ -17,6 +18,11 @@ public abstract class AbstractLife implements GameOfLife {
     }
 
     private void progressAndListen(ProgressListener listener) {
+        var event = new GenerationEvent();
+        if (event.isEnabled()) {
+            progressAndRecord(listener, event);
+            return;
+        }
         listener.onProgressStart();
         if (!isFrozen()) {
             nextGen(listener);
@@ -24,6 +30,63 @@ public abstract class AbstractLife implements GameOfLife {
         listener.onProgressFinish();
     }
 
+    private void progressAndRecord(ProgressListener listener, GenerationEvent event) {
+        var counter = new UpdateCounter(listener);
+        event.begin();
+        listener.onProgressStart();
+        if (!isFrozen()) {
+            nextGen(counter);
+        }
+        listener.onProgressFinish();
+        event.end();
+        if (event.shouldCommit()) {
+            event.updates = counter.updates;
+            event.population = grid().liveCells();
+            event.frozen = isFrozen();
+            event.commit();
+        }
+    }
+
     protected abstract void nextGen(CellListener listener);
 
+    /**
+     * Replaces grid that holds the state of the game, without notifying anyone.
+     *
+     * @return replaced grid
+     */
+    Grid replaceGrid(Grid grid) {
+        throw new UnsupportedOperationException("Grid of " + getClass().getSimpleName() + " can't be replaced");
+    }
+
+    /**
+     * Counts cell updates for {@link GenerationEvent}, strategies that report cells only on demand
+     * unwrap the listener and add their own count.
+     */
+    static final class UpdateCounter implements CellListener {
+
+        final CellListener listener;
+
+        private long updates;
+
+        UpdateCounter(CellListener listener) {
+            this.listener = listener;
+        }
+
+        void add(long updates) {
+            this.updates += updates;
+        }
+
+        @Override
+        public void onCellSpawned(int row, int col) {
+            updates++;
+            listener.onCellSpawned(row, col);
+        }
+
+        @Override
+        public void onCellDied(int row, int col) {
+            updates++;
+            listener.onCellDied(row, col);
+        }
+    }
+
 }
@@ -2,24 +2,85 @@ package com.voidaspect.jgol.game;
 
 import com.voidaspect.jgol.grid.Grid;
 import com.voidaspect.jgol.grid.cell.CellBag;
+import com.voidaspect.jgol.grid.cell.CellOperation;
 import com.voidaspect.jgol.grid.cell.CellSet;
 import com.voidaspect.jgol.listener.CellListener;
 
 final class AllAtOnceProgressStrategy extends AbstractProgressStrategy {
 
+    private final History history;
+
+    private final GenerationMetrics metrics;
+
+    // scratch buffers are reused by every generation
+    private final NextGen ng;
+
+    AllAtOnceProgressStrategy() {
+        this(null, null);
+    }
+
+    AllAtOnceProgressStrategy(History history, GenerationMetrics metrics) {
+        this.history = history;
+        this.metrics = metrics;
+        this.ng = metrics != null ? new MeasuredNextGen() : new NextGen();
+    }
+
     @Override
     int progressAndCountUpdates(Grid grid, CellListener listener) {
-        var ng = new NextGen(grid, listener);
-        grid.forEachAlive(ng::evaluate);
-        ng.updateGrid();
-        return ng.countUpdates();
+        if (metrics != null) return progressAndMeasure(grid, listener);
+        ng.prepare(grid, listener);
+        try {
+            grid.forEachAlive(ng);
+            ng.updateGrid();
+            if (history != null) history.record(ng.spawned, ng.died);
+            return ng.countUpdates();
+        } finally {
+            ng.release();
+        }
+    }
+
+    private int progressAndMeasure(Grid grid, CellListener listener) {
+        var mng = (MeasuredNextGen) ng;
+        mng.prepare(grid, listener);
+        try {
+            long start = System.nanoTime();
+            grid.forEachAlive(mng);
+            long evaluated = System.nanoTime();
+            mng.updateGrid();
+            long updated = System.nanoTime();
+            if (history != null) history.record(mng.spawned, mng.died);
+            metrics.onGeneration(mng.stats(evaluated - start, updated - evaluated));
+            return mng.countUpdates();
+        } finally {
+            mng.release();
+        }
+    }
+
+    @Override
+    public int rewind(Grid grid, int generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generations expected to be non-negative, got " + generations);
+        }
+        if (history == null) return 0;
+        int rewound = history.rewind(grid, generations);
+        if (rewound > 0) unfreeze();
+        return rewound;
+    }
+
+    @Override
+    public void discardHistory() {
+        if (history != null) history.clear();
     }
 
-    private static final class NextGen {
+    private static class NextGen implements CellOperation {
+
+        // scratch buffers are trimmed when this many generations in a row use less than 1/TRIM_RATIO of the peak
+        private static final int TRIM_AFTER = 4;
 
-        final Grid grid;
+        private static final int TRIM_RATIO = 8;
 
-        final CellListener listener;
+        // small buffers are never trimmed
+        private static final int MIN_TRIMMED = 1024;
 
         final CellSet visited;
 
@@ -27,12 +88,54 @@ final class AllAtOnceProgressStrategy extends AbstractProgressStrategy {
 
         final CellBag died;
 
-        NextGen(Grid grid, CellListener listener) {
-            this.grid = grid;
-            this.listener = listener;
+        private final CellOperation spawn;
+
+        private final CellOperation die;
+
+        Grid grid;
+
+        CellListener listener;
+
+        private int peak;
+
+        private int lowGenerations;
+
+        NextGen() {
             this.visited = new CellSet();
             this.spawned = new CellBag();
             this.died = new CellBag();
+            this.spawn = (row, col) -> grid.set(row, col, true);
+            this.die = (row, col) -> grid.set(row, col, false);
+        }
+
+        void prepare(Grid grid, CellListener listener) {
+            this.grid = grid;
+            this.listener = listener;
+            int used = visited.size();
+            if (used >= peak) {
+                peak = used;
+                lowGenerations = 0;
+            } else if (peak > MIN_TRIMMED && used < peak / TRIM_RATIO && ++lowGenerations >= TRIM_AFTER) {
+                // population has crashed, memory of the peak is released
+                trim(used * 2);
+                peak = used;
+                lowGenerations = 0;
+            }
+            visited.clear();
+            spawned.clear();
+            died.clear();
+        }
+
+        void trim(int expected) {
+            spawned.trim(expected);
+            died.trim(expected);
+            visited.clear();
+            visited.trim(expected);
+        }
+
+        void release() {
+            grid = null;
+            listener = null;
         }
 
         void willDie(int row, int col) {
@@ -49,6 +152,11 @@ final class AllAtOnceProgressStrategy extends AbstractProgressStrategy {
             return spawned.size() + died.size();
         }
 
+        @Override
+        public void apply(int row, int col) {
+            evaluate(row, col);
+        }
+
         void evaluate(int row, int col) {
             int neighbors = grid.neighbors(row, col);
 
@@ -68,7 +176,7 @@ final class AllAtOnceProgressStrategy extends AbstractProgressStrategy {
             //@formatter:on
         }
 
-        private void visit(int row, int col) {
+        void visit(int row, int col) {
             // only evaluate dead cells that were not yet visited
             if (grid.get(row, col) || !visited.add(row, col)) return;
 
@@ -79,8 +187,85 @@ final class AllAtOnceProgressStrategy extends AbstractProgressStrategy {
         }
 
         void updateGrid() {
-            spawned.forEach((row, col) -> grid.set(row, col, true));
-            died.forEach((row, col) -> grid.set(row, col, false));
+            spawned.forEach(spawn);
+            died.forEach(die);
+        }
+    }
+
+    /**
+     * {@link NextGen} that counts its work, used only when metrics are collected.
+     */
+    private static final class MeasuredNextGen extends NextGen {
+
+        // LongOpenHashSet is rehashed into a twice larger table when it's filled by 3/4, initial table holds 16 cells
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private long evaluated;
+
+        private long deadVisited;
+
+        private long probes;
+
+        private long growth;
+
+        private int visitedTable = 16;
+
+        @Override
+        void prepare(Grid grid, CellListener listener) {
+            evaluated = 0;
+            deadVisited = 0;
+            probes = 0;
+            growth = 0;
+            super.prepare(grid, listener);
+        }
+
+        @Override
+        void trim(int expected) {
+            super.trim(expected);
+            int table = Math.max(2, Integer.highestOneBit(Math.max(1, (int) Math.ceil(expected / LOAD_FACTOR) - 1)) << 1);
+            visitedTable = Math.min(visitedTable, table);
+        }
+
+        @Override
+        void evaluate(int row, int col) {
+            evaluated++;
+            super.evaluate(row, col);
+        }
+
+        @Override
+        void visit(int row, int col) {
+            if (grid.get(row, col)) return;
+            // every visit looks the cell up in the visited set, only the first one evaluates it
+            probes++;
+            if (!visited.add(row, col)) return;
+            deadVisited++;
+            if (visited.size() > visitedTable * LOAD_FACTOR) {
+                visitedTable <<= 1;
+                growth++;
+            }
+            if (grid.neighbors(row, col) == 3) {
+                willSpawn(row, col);
+            }
+        }
+
+        @Override
+        void willDie(int row, int col) {
+            int capacity = died.capacity();
+            super.willDie(row, col);
+            if (died.capacity() != capacity) growth++;
+        }
+
+        @Override
+        void willSpawn(int row, int col) {
+            int capacity = spawned.capacity();
+            super.willSpawn(row, col);
+            if (spawned.capacity() != capacity) growth++;
+        }
+
+        GenerationStats stats(long evaluateNanos, long updateNanos) {
+            long capacity = (long) spawned.capacity() + died.capacity() + visitedTable;
+            return new GenerationStats(evaluated, deadVisited, probes, spawned.size(), died.size(),
+                    evaluateNanos, updateNanos, capacity, growth);
         }
     }
 
@@ -1,7 +1,10 @@
 package com.voidaspect.jgol.game;
 
 import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.CountingGrid;
 import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.TileActorGrid;
+import com.voidaspect.jgol.grid.TiledGrid;
 
 import java.util.Objects;
 
@@ -9,6 +12,12 @@ public class GameOfLifeBuilder {
 
     private boolean threadSafe = false;
 
+    private long historyBudget = 0;
+
+    private GenerationMetrics metrics;
+
+    private LockStatistics lockStatistics;
+
     private final Grid grid;
 
     public GameOfLifeBuilder(Grid grid) {
@@ -18,11 +27,18 @@ public class GameOfLifeBuilder {
     public GameOfLife build() {
         var ps = chooseProgressStrategy();
         var life = new Life(grid, ps);
-        return threadSafe ? ThreadSafeLife.of(life) : life;
+        return threadSafe ? ThreadSafeLife.of(life, lockStatistics) : life;
     }
 
     protected ProgressStrategy chooseProgressStrategy() {
-        return new AllAtOnceProgressStrategy();
+        var history = historyBudget > 0 ? new History(historyBudget) : null;
+        if (grid instanceof TiledGrid || grid instanceof TileActorGrid) {
+            return new TiledProgressStrategy(history, metrics);
+        }
+        if (grid instanceof CountingGrid) {
+            return new NeighborCountProgressStrategy(history, metrics);
+        }
+        return new AllAtOnceProgressStrategy(history, metrics);
     }
 
     public boolean isThreadSafe() {
@@ -34,6 +50,52 @@ public class GameOfLifeBuilder {
         return this;
     }
 
+    public long getHistoryBudget() {
+        return historyBudget;
+    }
+
+    /**
+     * Enables {@link GameOfLife#rewind(int)} with a history of generations that takes at most given amount of bytes.
+     * <p>History of a {@link TiledGrid} or a {@link TileActorGrid} keeps {@code long} coordinates of changed cells.</p>
+     *
+     * @param historyBudget bytes to spend on history, {@code 0} disables it
+     */
+    public GameOfLifeBuilder setHistoryBudget(long historyBudget) {
+        if (historyBudget < 0) {
+            throw new IllegalArgumentException("History budget expected to be non-negative, got " + historyBudget);
+        }
+        this.historyBudget = historyBudget;
+        return this;
+    }
+
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Installs collector of per-generation statistics.
+     *
+     * @param metrics collector, {@code null} disables collection
+     */
+    public GameOfLifeBuilder setMetrics(GenerationMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    public LockStatistics getLockStatistics() {
+        return lockStatistics;
+    }
+
+    /**
+     * Installs collector of lock contention statistics, only thread-safe games use it.
+     *
+     * @param lockStatistics collector, {@code null} disables collection
+     */
+    public GameOfLifeBuilder setLockStatistics(LockStatistics lockStatistics) {
+        this.lockStatistics = lockStatistics;
+        return this;
+    }
+
     public Grid getGrid() {
         return grid;
     }
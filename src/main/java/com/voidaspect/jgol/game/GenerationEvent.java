@@ -0,0 +1,31 @@
+package com.voidaspect.jgol.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of a single {@link com.voidaspect.jgol.GameOfLife#progress() progress} call.
+ */
+@Name("com.voidaspect.jgol.Generation")
+@Label("Generation")
+@Category("Game of Life")
+@Description("Progression of a game by one generation")
+@Enabled(false)
+final class GenerationEvent extends Event {
+
+    @Label("Population")
+    long population;
+
+    @Label("Updates")
+    @Description("Amount of cells that spawned or died")
+    long updates;
+
+    @Label("Frozen")
+    @Description("Game is frozen after the generation")
+    boolean frozen;
+
+}
@@ -0,0 +1,13 @@
+package com.voidaspect.jgol.game;
+
+/**
+ * Collector of per-generation statistics, installed with {@link GameOfLifeBuilder#setMetrics(GenerationMetrics)}.
+ * <p>Progress strategy is instrumented only when collector is installed, otherwise no counting is done at all.
+ * Collector is called on the thread that progresses the game, so it should return quickly.</p>
+ */
+@FunctionalInterface
+public interface GenerationMetrics {
+
+    void onGeneration(GenerationStats stats);
+
+}
@@ -0,0 +1,112 @@
+package com.voidaspect.jgol.game;
+
+/**
+ * Statistics of a single generation, reported to {@link GenerationMetrics}.
+ */
+public final class GenerationStats {
+
+    private final long cellsEvaluated;
+
+    private final long deadNeighborsVisited;
+
+    private final long cellSetProbes;
+
+    private final int spawned;
+
+    private final int died;
+
+    private final long evaluateNanos;
+
+    private final long updateNanos;
+
+    private final long scratchCapacity;
+
+    private final long scratchGrowth;
+
+    GenerationStats(long cellsEvaluated, long deadNeighborsVisited, long cellSetProbes, int spawned, int died,
+                    long evaluateNanos, long updateNanos, long scratchCapacity, long scratchGrowth) {
+        this.cellsEvaluated = cellsEvaluated;
+        this.deadNeighborsVisited = deadNeighborsVisited;
+        this.cellSetProbes = cellSetProbes;
+        this.spawned = spawned;
+        this.died = died;
+        this.evaluateNanos = evaluateNanos;
+        this.updateNanos = updateNanos;
+        this.scratchCapacity = scratchCapacity;
+        this.scratchGrowth = scratchGrowth;
+    }
+
+    /**
+     * @return amount of live cells which neighbors were counted,
+     * or of candidate cells on a grid that maintains neighbor counts
+     */
+    public long getCellsEvaluated() {
+        return cellsEvaluated;
+    }
+
+    /**
+     * @return amount of distinct dead neighbors of live cells, each of them is evaluated once
+     */
+    public long getDeadNeighborsVisited() {
+        return deadNeighborsVisited;
+    }
+
+    /**
+     * @return amount of lookups in the set of visited cells, one per visit to a dead neighbor of a live cell,
+     * including repeated visits to cells already seen
+     */
+    public long getCellSetProbes() {
+        return cellSetProbes;
+    }
+
+    public int getSpawned() {
+        return spawned;
+    }
+
+    public int getDied() {
+        return died;
+    }
+
+    /**
+     * @return time spent evaluating cells, in nanoseconds
+     */
+    public long getEvaluateNanos() {
+        return evaluateNanos;
+    }
+
+    /**
+     * @return time spent updating the grid, in nanoseconds
+     */
+    public long getUpdateNanos() {
+        return updateNanos;
+    }
+
+    /**
+     * @return amount of cells that scratch buffers of the generation can hold
+     */
+    public long getScratchCapacity() {
+        return scratchCapacity;
+    }
+
+    /**
+     * @return amount of times scratch buffers were grown during the generation
+     */
+    public long getScratchGrowth() {
+        return scratchGrowth;
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationStats{" +
+                "cellsEvaluated=" + cellsEvaluated +
+                ", deadNeighborsVisited=" + deadNeighborsVisited +
+                ", cellSetProbes=" + cellSetProbes +
+                ", spawned=" + spawned +
+                ", died=" + died +
+                ", evaluateNanos=" + evaluateNanos +
+                ", updateNanos=" + updateNanos +
+                ", scratchCapacity=" + scratchCapacity +
+                ", scratchGrowth=" + scratchGrowth +
+                '}';
+    }
+}
@@ -0,0 +1,135 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.grid.Bounds;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.cell.CellOperation;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Read-only point-in-time view of a game's grid, obtained with {@link com.voidaspect.jgol.Capturable#capture()}.
+ * <p>Captured grid is not modified while the capture is open, so it can be read from any thread without locking.
+ * Changes made to the game in the meantime are kept aside and merged back on {@link #close()}.</p>
+ */
+public final class GridCapture implements AutoCloseable {
+
+    private final Grid grid;
+
+    private final boolean frozen;
+
+    private final Runnable release;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    GridCapture(Grid grid, boolean frozen, Runnable release) {
+        this.grid = new CapturedGrid(grid);
+        this.frozen = frozen;
+        this.release = release;
+    }
+
+    /**
+     * @return read-only grid, accessible until the capture is closed
+     */
+    public Grid grid() {
+        return grid;
+    }
+
+    /**
+     * @return frozen state of the game at the moment of capture
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Releases the capture, only the first of concurrent calls merges the changes back.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) release.run();
+    }
+
+    private final class CapturedGrid implements Grid {
+
+        private final Grid inner;
+
+        CapturedGrid(Grid inner) {
+            this.inner = inner;
+        }
+
+        private Grid inner() {
+            if (closed.get()) throw new IllegalStateException("Capture is closed");
+            return inner;
+        }
+
+        @Override
+        public boolean get(int row, int col) {
+            return inner().get(row, col);
+        }
+
+        @Override
+        public void set(int row, int col, boolean state) {
+            throw new UnsupportedOperationException("Captured grid is read-only");
+        }
+
+        @Override
+        public void setAll(long[] cells, boolean state) {
+            throw new UnsupportedOperationException("Captured grid is read-only");
+        }
+
+        @Override
+        public void blit(int row, int col, int rows, int columns, long[] bits) {
+            throw new UnsupportedOperationException("Captured grid is read-only");
+        }
+
+        @Override
+        public void fill(int fromRow, int fromColumn, int rows, int columns, boolean state) {
+            throw new UnsupportedOperationException("Captured grid is read-only");
+        }
+
+        @Override
+        public int neighbors(int row, int col) {
+            return inner().neighbors(row, col);
+        }
+
+        @Override
+        public boolean[][] snapshot(int fromRow, int fromColumn, int rows, int columns) {
+            return inner().snapshot(fromRow, fromColumn, rows, columns);
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("Captured grid is read-only");
+        }
+
+        @Override
+        public long liveCells() {
+            return inner().liveCells();
+        }
+
+        @Override
+        public long contentHash() {
+            return inner().contentHash();
+        }
+
+        @Override
+        public void forEachAlive(CellOperation operation) {
+            inner().forEachAlive(operation);
+        }
+
+        @Override
+        public Bounds bounds() {
+            return inner().bounds();
+        }
+
+        @Override
+        public int rowPopulation(int row) {
+            return inner().rowPopulation(row);
+        }
+
+        @Override
+        public int columnPopulation(int col) {
+            return inner().columnPopulation(col);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.LongGrid;
+import com.voidaspect.jgol.grid.cell.CellBag;
+import com.voidaspect.jgol.grid.cell.Cells;
+
+/**
+ * Bounded history of generations, kept as ring buffer of deltas - packed cells that changed their state,
+ * or pairs of {@code long} coordinates for grids that are {@link #rewind(LongGrid, int) rewound} as {@link LongGrid}.
+ * <p>Memory is capped by a byte budget: the ring holds {@code budget / 8} entries and is allocated once,
+ * on the first recorded generation. Each delta is framed by its length on both ends, so the oldest generation
+ * can be forgotten from one end of the ring and the newest one rewound from the other.
+ * The oldest generations are forgotten when the budget is exceeded.</p>
+ */
+final class History {
+
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    // length of a delta is stored before and after its cells
+    private static final int FRAME = 2;
+
+    private final int capacity;
+
+    private long[] ring;
+
+    // index after the newest entry
+    private int head;
+
+    // entries of remembered generations and of the one being recorded
+    private int used;
+
+    private int generations;
+
+    // index of the header of the generation being recorded
+    private int start;
+
+    // entries of the generation being recorded
+    private int recorded;
+
+    // generation being recorded doesn't fit into the ring
+    private boolean overflow;
+
+    History(long budget) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("History budget expected to be positive, got " + budget);
+        }
+        this.capacity = (int) Math.min(budget / Long.BYTES, MAX_ARRAY_LENGTH);
+    }
+
+    void record(CellBag spawned, CellBag died) {
+        begin();
+        for (int i = 0; i < spawned.size(); i++) add(spawned.get(i));
+        for (int i = 0; i < died.size(); i++) add(died.get(i));
+        commit();
+    }
+
+    /**
+     * Starts a delta, which is remembered once it's {@link #commit() committed}.
+     */
+    void begin() {
+        if (ring == null && capacity > 0) ring = new long[capacity];
+        recorded = 0;
+        overflow = false;
+        start = head;
+        append(0);
+    }
+
+    void add(long entry) {
+        if (overflow) return;
+        recorded++;
+        append(entry);
+    }
+
+    void commit() {
+        if (overflow) return;
+        ring[start] = recorded;
+        append(recorded);
+        generations++;
+    }
+
+    private void append(long entry) {
+        if (overflow) return;
+        if (recorded + FRAME > capacity) {
+            // generation is too big to be remembered, so none of the older ones can be reached
+            overflow = true;
+            clear();
+            return;
+        }
+        // the generation being recorded fits, so there are older ones to forget
+        while (used == capacity) forgetOldest();
+        ring[head] = entry;
+        head = index(head + 1L);
+        used++;
+    }
+
+    private void forgetOldest() {
+        int tail = index((long) head - used);
+        used -= (int) ring[tail] + FRAME;
+        generations--;
+    }
+
+    /**
+     * Reverts up to {@code generations} last generations.
+     *
+     * @return amount of reverted generations
+     */
+    int rewind(Grid grid, int generations) {
+        int rewound = 0;
+        while (rewound < generations && this.generations > 0) {
+            int length = forgetNewest();
+            for (int i = 1; i <= length; i++) {
+                long cell = ring[index((long) head + i)];
+                int row = Cells.unpackRow(cell);
+                int col = Cells.unpackCol(cell);
+                grid.set(row, col, !grid.get(row, col));
+            }
+            rewound++;
+        }
+        return rewound;
+    }
+
+    /**
+     * Reverts up to {@code generations} last generations, recorded as pairs of row and column.
+     *
+     * @return amount of reverted generations
+     */
+    int rewind(LongGrid grid, int generations) {
+        int rewound = 0;
+        while (rewound < generations && this.generations > 0) {
+            int length = forgetNewest();
+            for (int i = 1; i < length; i += 2) {
+                long row = ring[index((long) head + i)];
+                long col = ring[index((long) head + i + 1)];
+                grid.set(row, col, !grid.get(row, col));
+            }
+            rewound++;
+        }
+        return rewound;
+    }
+
+    /**
+     * @return amount of entries of the newest delta, {@code head} then points to its header
+     */
+    private int forgetNewest() {
+        int length = (int) ring[index(head - 1L)];
+        head = index((long) head - length - FRAME);
+        used -= length + FRAME;
+        generations--;
+        return length;
+    }
+
+    void clear() {
+        head = 0;
+        used = 0;
+        generations = 0;
+    }
+
+    int size() {
+        return generations;
+    }
+
+    long bytes() {
+        return (long) used * Long.BYTES;
+    }
+
+    private int index(long i) {
+        return Math.floorMod(i, capacity);
+    }
+}
@@ -1,5 +1,6 @@
 package com.voidaspect.jgol.game;
 
+import com.voidaspect.jgol.grid.Bounds;
 import com.voidaspect.jgol.grid.Grid;
 import com.voidaspect.jgol.grid.cell.CellOperation;
 import com.voidaspect.jgol.listener.CellListener;
@@ -8,7 +9,7 @@ final class Life extends AbstractLife {
 
     private final MutationAwareGrid grid;
 
-    private final Grid inner;
+    private Grid inner;
 
     private final ProgressStrategy ps;
 
@@ -34,6 +35,18 @@ final class Life extends AbstractLife {
         ps.progress(inner, listener);
     }
 
+    @Override
+    public int rewind(int generations) {
+        return ps.rewind(inner, generations);
+    }
+
+    @Override
+    Grid replaceGrid(Grid grid) {
+        var replaced = inner;
+        inner = grid;
+        return replaced;
+    }
+
     @Override
     public void freeze() {
         ps.freeze();
@@ -63,6 +76,28 @@ final class Life extends AbstractLife {
         @Override
         public void set(int row, int col, boolean state) {
             inner.set(row, col, state);
+            ps.discardHistory();
+            unfreeze();
+        }
+
+        @Override
+        public void setAll(long[] cells, boolean state) {
+            inner.setAll(cells, state);
+            ps.discardHistory();
+            unfreeze();
+        }
+
+        @Override
+        public void blit(int row, int col, int rows, int columns, long[] bits) {
+            inner.blit(row, col, rows, columns, bits);
+            ps.discardHistory();
+            unfreeze();
+        }
+
+        @Override
+        public void fill(int fromRow, int fromColumn, int rows, int columns, boolean state) {
+            inner.fill(fromRow, fromColumn, rows, columns, state);
+            ps.discardHistory();
             unfreeze();
         }
 
@@ -79,6 +114,7 @@ final class Life extends AbstractLife {
         @Override
         public void clear() {
             inner.clear();
+            ps.discardHistory();
             freeze();
         }
 
@@ -87,10 +123,30 @@ final class Life extends AbstractLife {
             return inner.liveCells();
         }
 
+        @Override
+        public long contentHash() {
+            return inner.contentHash();
+        }
+
         @Override
         public void forEachAlive(CellOperation operation) {
             inner.forEachAlive(operation);
         }
+
+        @Override
+        public Bounds bounds() {
+            return inner.bounds();
+        }
+
+        @Override
+        public int rowPopulation(int row) {
+            return inner.rowPopulation(row);
+        }
+
+        @Override
+        public int columnPopulation(int col) {
+            return inner.columnPopulation(col);
+        }
     }
 
 }
@@ -0,0 +1,121 @@
+package com.voidaspect.jgol.game;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention statistics of a thread-safe game, installed with {@link GameOfLifeBuilder#setLockStatistics}.
+ * <p>Counters are cumulative since creation or the last {@link #reset()}.</p>
+ */
+public final class LockStatistics implements LockStatisticsMXBean {
+
+    private final LongAdder optimisticReadFailures = new LongAdder();
+
+    private final LongAdder readLockFallbacks = new LongAdder();
+
+    private final LongAdder failedUpgrades = new LongAdder();
+
+    private final LongAdder writeLocks = new LongAdder();
+
+    private final LongAdder writeLockHoldNanos = new LongAdder();
+
+    private final LongAccumulator maxWriteLockHoldNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @return amount of optimistic reads that were invalidated by a concurrent write
+     */
+    @Override
+    public long getOptimisticReadFailures() {
+        return optimisticReadFailures.sum();
+    }
+
+    /**
+     * @return amount of read locks taken because optimistic read failed or was not available
+     */
+    @Override
+    public long getReadLockFallbacks() {
+        return readLockFallbacks.sum();
+    }
+
+    /**
+     * @return amount of read locks that couldn't be converted to write lock in place
+     */
+    @Override
+    public long getFailedUpgrades() {
+        return failedUpgrades.sum();
+    }
+
+    @Override
+    public long getWriteLocks() {
+        return writeLocks.sum();
+    }
+
+    /**
+     * @return total time the write lock was held, in nanoseconds
+     */
+    @Override
+    public long getWriteLockHoldNanos() {
+        return writeLockHoldNanos.sum();
+    }
+
+    @Override
+    public long getMaxWriteLockHoldNanos() {
+        return maxWriteLockHoldNanos.get();
+    }
+
+    @Override
+    public void reset() {
+        optimisticReadFailures.reset();
+        readLockFallbacks.reset();
+        failedUpgrades.reset();
+        writeLocks.reset();
+        writeLockHoldNanos.reset();
+        maxWriteLockHoldNanos.reset();
+    }
+
+    /**
+     * Registers statistics in the platform MBean server.
+     *
+     * @param name value of the {@code name} key of the object name
+     * @return name of the registered MBean
+     * @throws JMException if MBean can't be registered
+     */
+    public ObjectName register(String name) throws JMException {
+        var objectName = new ObjectName("com.voidaspect.jgol:type=LockStatistics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    void optimisticReadFailed() {
+        optimisticReadFailures.increment();
+    }
+
+    void readLockFallback() {
+        readLockFallbacks.increment();
+    }
+
+    void upgradeFailed() {
+        failedUpgrades.increment();
+    }
+
+    void writeLockReleased(long holdNanos) {
+        writeLocks.increment();
+        writeLockHoldNanos.add(holdNanos);
+        maxWriteLockHoldNanos.accumulate(holdNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "LockStatistics{" +
+                "optimisticReadFailures=" + getOptimisticReadFailures() +
+                ", readLockFallbacks=" + getReadLockFallbacks() +
+                ", failedUpgrades=" + getFailedUpgrades() +
+                ", writeLocks=" + getWriteLocks() +
+                ", writeLockHoldNanos=" + getWriteLockHoldNanos() +
+                ", maxWriteLockHoldNanos=" + getMaxWriteLockHoldNanos() +
+                '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.voidaspect.jgol.game;
+
+/**
+ * Management interface of {@link LockStatistics}.
+ */
+public interface LockStatisticsMXBean {
+
+    long getOptimisticReadFailures();
+
+    long getReadLockFallbacks();
+
+    long getFailedUpgrades();
+
+    long getWriteLocks();
+
+    long getWriteLockHoldNanos();
+
+    long getMaxWriteLockHoldNanos();
+
+    void reset();
+
+}
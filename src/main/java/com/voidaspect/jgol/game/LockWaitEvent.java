@@ -0,0 +1,29 @@
+package com.voidaspect.jgol.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of a wait for the lock of a thread-safe game.
+ */
+@Name("com.voidaspect.jgol.LockWait")
+@Label("Lock Wait")
+@Category("Game of Life")
+@Description("Acquisition of a write lock, or of a read lock after a failed optimistic read")
+@Enabled(false)
+@Threshold("1 ms")
+final class LockWaitEvent extends Event {
+
+    static final String WRITE = "write";
+
+    static final String READ_AFTER_OPTIMISTIC = "read after optimistic";
+
+    @Label("Lock Mode")
+    String mode;
+
+}
@@ -0,0 +1,122 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.grid.CountingGrid;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.cell.CellBag;
+import com.voidaspect.jgol.grid.cell.CellOperation;
+import com.voidaspect.jgol.listener.CellListener;
+
+/**
+ * Strategy for grids that maintain neighbor counts: candidates are read directly from the {@link CountingGrid},
+ * so no neighbors are recounted and no visited cells are tracked.
+ * <p>With metrics installed, every candidate counts as an evaluated cell, while dead neighbors and probes
+ * of the visited set stay at zero.</p>
+ * <p>Other grids (such as a copy-on-write overlay of a captured grid) are progressed
+ * by {@link AllAtOnceProgressStrategy}.</p>
+ */
+final class NeighborCountProgressStrategy extends AbstractProgressStrategy implements CountingGrid.CandidateOperation {
+
+    private final History history;
+
+    private final GenerationMetrics metrics;
+
+    private final AllAtOnceProgressStrategy fallback;
+
+    private final CellBag spawned;
+
+    private final CellBag died;
+
+    private final CellOperation spawn;
+
+    private final CellOperation die;
+
+    private Grid grid;
+
+    private CellListener listener;
+
+    private long candidates;
+
+    NeighborCountProgressStrategy() {
+        this(null, null);
+    }
+
+    NeighborCountProgressStrategy(History history, GenerationMetrics metrics) {
+        this.history = history;
+        this.metrics = metrics;
+        this.fallback = new AllAtOnceProgressStrategy(history, metrics);
+        this.spawned = new CellBag();
+        this.died = new CellBag();
+        this.spawn = (row, col) -> grid.set(row, col, true);
+        this.die = (row, col) -> grid.set(row, col, false);
+    }
+
+    @Override
+    int progressAndCountUpdates(Grid grid, CellListener listener) {
+        if (!(grid instanceof CountingGrid)) return fallback.progressAndCountUpdates(grid, listener);
+        this.grid = grid;
+        this.listener = listener;
+        spawned.clear();
+        died.clear();
+        candidates = 0;
+        int spawnedCapacity = spawned.capacity();
+        int diedCapacity = died.capacity();
+        try {
+            long start = metrics != null ? System.nanoTime() : 0;
+            ((CountingGrid) grid).forEachCandidate(this);
+            long evaluated = metrics != null ? System.nanoTime() : 0;
+            // counts are only updated once the whole generation is evaluated
+            spawned.forEach(spawn);
+            died.forEach(die);
+            if (metrics != null) {
+                long updated = System.nanoTime();
+                long growth = growth(spawnedCapacity, spawned.capacity()) + growth(diedCapacity, died.capacity());
+                metrics.onGeneration(new GenerationStats(candidates, 0, 0, spawned.size(), died.size(),
+                        evaluated - start, updated - evaluated, (long) spawned.capacity() + died.capacity(), growth));
+            }
+            if (history != null) history.record(spawned, died);
+            return spawned.size() + died.size();
+        } finally {
+            this.grid = null;
+            this.listener = null;
+        }
+    }
+
+    @Override
+    public void apply(int row, int col, boolean alive, int neighbors) {
+        candidates++;
+        if (alive) {
+            if (neighbors < 2 || neighbors > 3) {
+                // overcrowding or underpopulation
+                died.add(row, col);
+                listener.onCellDied(row, col);
+            }
+        } else if (neighbors == 3) {
+            // reproduction
+            spawned.add(row, col);
+            listener.onCellSpawned(row, col);
+        }
+    }
+
+    /**
+     * @return amount of times a bag grew from one capacity to the other, growing by half of its capacity
+     */
+    private static int growth(int from, int to) {
+        int growth = 0;
+        for (int capacity = from; capacity < to; growth++) {
+            capacity = capacity == 0 ? 64 : (int) Math.min(to, capacity + (long) (capacity >> 1));
+        }
+        return growth;
+    }
+
+    @Override
+    public int rewind(Grid grid, int generations) {
+        int rewound = fallback.rewind(grid, generations);
+        if (rewound > 0) unfreeze();
+        return rewound;
+    }
+
+    @Override
+    public void discardHistory() {
+        fallback.discardHistory();
+    }
+}
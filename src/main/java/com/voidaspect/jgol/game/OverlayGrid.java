@@ -0,0 +1,211 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.grid.Bounds;
+import com.voidaspect.jgol.grid.FiniteGrid;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.cell.CellOperation;
+import com.voidaspect.jgol.grid.cell.Cells;
+import com.voidaspect.jgol.grid.cell.CellSet;
+
+/**
+ * Copy-on-write layer on top of a base {@link Grid}.
+ * <p>All modifications are recorded by the overlay, base grid is left intact and can be read concurrently.
+ * Changes are moved to the base with {@link #mergeInto()}.</p>
+ */
+final class OverlayGrid implements Grid {
+
+    private final Grid base;
+
+    // alive in the overlay, dead (or hidden) in the base
+    private final CellSet spawned;
+
+    // dead in the overlay, alive in the base
+    private final CellSet killed;
+
+    // base is cleared from the overlay's perspective
+    private boolean hidden;
+
+    // hashes of cells that changed their state since the overlay was created or cleared
+    private long hashDelta;
+
+    OverlayGrid(Grid base) {
+        this.base = base;
+        this.spawned = new CellSet();
+        this.killed = new CellSet();
+    }
+
+    Grid base() {
+        return base;
+    }
+
+    /**
+     * Applies recorded changes to the base grid.
+     *
+     * @return base grid
+     */
+    Grid mergeInto() {
+        if (hidden) base.clear();
+        killed.forEach((row, col) -> base.set(row, col, false));
+        spawned.forEach((row, col) -> base.set(row, col, true));
+        return base;
+    }
+
+    @Override
+    public boolean get(int row, int col) {
+        if (spawned.contains(row, col)) return true;
+        return !hidden && !killed.contains(row, col) && base.get(row, col);
+    }
+
+    @Override
+    public void set(int row, int col, boolean state) {
+        if (base instanceof FiniteGrid && !((FiniteGrid) base).exists(row, col)) return;
+        if (get(row, col) == state) return;
+        boolean inBase = !hidden && base.get(row, col);
+        hashDelta ^= Cells.hash(row, col);
+        if (state) {
+            if (inBase) {
+                killed.remove(row, col);
+            } else {
+                spawned.add(row, col);
+            }
+        } else {
+            if (!spawned.remove(row, col)) {
+                killed.add(row, col);
+            }
+        }
+    }
+
+    @Override
+    public int neighbors(int row, int col) {
+        //@formatter:off
+        int up    = row - 1;
+        int down  = row + 1;
+        int left  = col - 1;
+        int right = col + 1;
+        return value(up,   right) + value(up,   col) + value(up,   left) +
+               value(row,  right) + /* this cell */  + value(row,  left) +
+               value(down, right) + value(down, col) + value(down, left);
+        //@formatter:on
+    }
+
+    private int value(int row, int col) {
+        return get(row, col) ? 1 : 0;
+    }
+
+    @Override
+    public boolean[][] snapshot(int fromRow, int fromColumn, int rows, int columns) {
+        boolean[][] snapshot = new boolean[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                snapshot[row][col] = get(row + fromRow, col + fromColumn);
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void clear() {
+        hidden = true;
+        spawned.clear();
+        killed.clear();
+        hashDelta = 0;
+    }
+
+    @Override
+    public long liveCells() {
+        long alive = hidden ? 0 : base.liveCells() - killed.size();
+        return alive + spawned.size();
+    }
+
+    @Override
+    public long contentHash() {
+        return (hidden ? 0 : base.contentHash()) ^ hashDelta;
+    }
+
+    @Override
+    public void forEachAlive(CellOperation operation) {
+        if (!hidden) {
+            base.forEachAlive((row, col) -> {
+                if (!killed.contains(row, col)) operation.apply(row, col);
+            });
+        }
+        spawned.forEach(operation);
+    }
+
+    @Override
+    public Bounds bounds() {
+        var baseBounds = hidden ? Bounds.EMPTY : base.bounds();
+        var edges = new Edges(baseBounds);
+        killed.forEach(edges::killed);
+        if (edges.stale) {
+            // cell on the edge of the base is dead, bounds have to be found from scratch
+            edges = new Edges(Bounds.EMPTY);
+            forEachAlive(edges::spawned);
+        } else {
+            spawned.forEach(edges::spawned);
+        }
+        return edges.bounds();
+    }
+
+    @Override
+    public int rowPopulation(int row) {
+        int population = hidden ? 0 : base.rowPopulation(row);
+        var counter = new int[1];
+        spawned.forEach((r, c) -> counter[0] += r == row ? 1 : 0);
+        killed.forEach((r, c) -> counter[0] -= r == row ? 1 : 0);
+        return population + counter[0];
+    }
+
+    @Override
+    public int columnPopulation(int col) {
+        int population = hidden ? 0 : base.columnPopulation(col);
+        var counter = new int[1];
+        spawned.forEach((r, c) -> counter[0] += c == col ? 1 : 0);
+        killed.forEach((r, c) -> counter[0] -= c == col ? 1 : 0);
+        return population + counter[0];
+    }
+
+    private static final class Edges {
+
+        int fromRow;
+
+        int fromCol;
+
+        int toRow;
+
+        int toCol;
+
+        boolean empty;
+
+        boolean stale;
+
+        Edges(Bounds bounds) {
+            empty = bounds.isEmpty();
+            fromRow = bounds.getFromRow();
+            fromCol = bounds.getFromColumn();
+            toRow = bounds.getToRow();
+            toCol = bounds.getToColumn();
+        }
+
+        void killed(int row, int col) {
+            stale |= row == fromRow || row == toRow || col == fromCol || col == toCol;
+        }
+
+        void spawned(int row, int col) {
+            if (empty) {
+                fromRow = toRow = row;
+                fromCol = toCol = col;
+                empty = false;
+                return;
+            }
+            fromRow = Math.min(fromRow, row);
+            toRow = Math.max(toRow, row);
+            fromCol = Math.min(fromCol, col);
+            toCol = Math.max(toCol, col);
+        }
+
+        Bounds bounds() {
+            return empty ? Bounds.EMPTY : new Bounds(fromRow, fromCol, toRow, toCol);
+        }
+    }
+}
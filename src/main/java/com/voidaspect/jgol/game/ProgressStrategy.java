@@ -8,4 +8,19 @@ public interface ProgressStrategy extends Freezable {
 
     void progress(Grid grid, CellListener listener);
 
+    /**
+     * Reverts the grid to one of its previous generations, as far as the strategy remembers them.
+     *
+     * @return amount of generations that were reverted
+     */
+    default int rewind(Grid grid, int generations) {
+        return 0;
+    }
+
+    /**
+     * Forgets previous generations, called when grid is modified outside of the strategy.
+     */
+    default void discardHistory() {
+    }
+
 }
@@ -1,12 +1,14 @@
 package com.voidaspect.jgol.game;
 
+import com.voidaspect.jgol.Capturable;
+import com.voidaspect.jgol.grid.Bounds;
 import com.voidaspect.jgol.grid.Grid;
 import com.voidaspect.jgol.grid.cell.CellOperation;
 import com.voidaspect.jgol.listener.CellListener;
 
 import java.util.concurrent.locks.StampedLock;
 
-final class ThreadSafeLife extends AbstractLife {
+final class ThreadSafeLife extends AbstractLife implements Capturable {
 
     private final StampedLock gridLock;
 
@@ -16,14 +18,27 @@ final class ThreadSafeLife extends AbstractLife {
 
     private final Grid inner;
 
+    private final LockStatistics stats;
+
+    // guarded by write lock
+    private OverlayGrid overlay;
+
+    // guarded by write lock
+    private long writeLockedAt;
+
     static ThreadSafeLife of(AbstractLife life) {
+        return of(life, null);
+    }
+
+    static ThreadSafeLife of(AbstractLife life, LockStatistics stats) {
         return life instanceof ThreadSafeLife
                 ? (ThreadSafeLife) life
-                : new ThreadSafeLife(life);
+                : new ThreadSafeLife(life, stats);
     }
 
-    private ThreadSafeLife(AbstractLife life) {
+    private ThreadSafeLife(AbstractLife life, LockStatistics stats) {
         this.life = life;
+        this.stats = stats;
         this.gridLock = new StampedLock();
         this.inner = life.grid();
         this.grid = new ThreadSafeGrid();
@@ -31,11 +46,11 @@ final class ThreadSafeLife extends AbstractLife {
 
     @Override
     protected void nextGen(CellListener listener) {
-        long stamp = gridLock.writeLock();
+        long stamp = writeLock();
         try {
             life.nextGen(listener);
         } finally {
-            gridLock.unlockWrite(stamp);
+            unlockWrite(stamp);
         }
     }
 
@@ -44,6 +59,16 @@ final class ThreadSafeLife extends AbstractLife {
         return grid;
     }
 
+    @Override
+    public int rewind(int generations) {
+        long stamp = writeLock();
+        try {
+            return life.rewind(generations);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
     @Override
     public void freeze() {
         long stamp = gridLock.tryOptimisticRead();
@@ -53,17 +78,17 @@ final class ThreadSafeLife extends AbstractLife {
             if (gridLock.validate(stamp)) {
                 if (frozen) return;
 
-                stamp = gridLock.writeLock();
+                stamp = writeLock();
                 try {
                     life.freeze();
                     return;
                 } finally {
-                    gridLock.unlockWrite(stamp);
+                    unlockWrite(stamp);
                 }
             }
         }
 
-        stamp = gridLock.readLock();
+        stamp = readLockAfterOptimistic(stamp);
 
         try {
             if (life.isFrozen()) return;
@@ -72,7 +97,7 @@ final class ThreadSafeLife extends AbstractLife {
 
             life.freeze();
         } finally {
-            gridLock.unlock(stamp);
+            unlock(stamp);
         }
     }
 
@@ -85,17 +110,17 @@ final class ThreadSafeLife extends AbstractLife {
             if (gridLock.validate(stamp)) {
                 if (!frozen) return;
 
-                stamp = gridLock.writeLock();
+                stamp = writeLock();
                 try {
                     life.unfreeze();
                     return;
                 } finally {
-                    gridLock.unlockWrite(stamp);
+                    unlockWrite(stamp);
                 }
             }
         }
 
-        stamp = gridLock.readLock();
+        stamp = readLockAfterOptimistic(stamp);
 
         try {
             if (!life.isFrozen()) return;
@@ -104,7 +129,7 @@ final class ThreadSafeLife extends AbstractLife {
 
             life.unfreeze();
         } finally {
-            gridLock.unlock(stamp);
+            unlock(stamp);
         }
     }
 
@@ -117,7 +142,7 @@ final class ThreadSafeLife extends AbstractLife {
             if (gridLock.validate(stamp)) return frozen;
         }
 
-        stamp = gridLock.readLock();
+        stamp = readLockAfterOptimistic(stamp);
 
         try {
             return life.isFrozen();
@@ -126,13 +151,88 @@ final class ThreadSafeLife extends AbstractLife {
         }
     }
 
+    /**
+     * Captures the grid by swapping it for a copy-on-write overlay, pause doesn't depend on the grid size.
+     * Overlay is merged back into the captured grid when capture is closed.
+     */
+    @Override
+    public GridCapture capture() {
+        long stamp = writeLock();
+        try {
+            if (overlay != null) throw new IllegalStateException("Previous capture is not closed");
+            var captured = life.replaceGrid(null);
+            overlay = new OverlayGrid(captured);
+            life.replaceGrid(overlay);
+            return new GridCapture(captured, life.isFrozen(), this::release);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    private void release() {
+        long stamp = writeLock();
+        try {
+            life.replaceGrid(overlay.mergeInto());
+            overlay = null;
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    private long writeLock() {
+        var event = new LockWaitEvent();
+        event.begin();
+        long stamp = gridLock.writeLock();
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = LockWaitEvent.WRITE;
+            event.commit();
+        }
+        if (stats != null) writeLockedAt = System.nanoTime();
+        return stamp;
+    }
+
+    private void unlockWrite(long stamp) {
+        if (stats != null) stats.writeLockReleased(System.nanoTime() - writeLockedAt);
+        gridLock.unlockWrite(stamp);
+    }
+
+    private void unlock(long stamp) {
+        if (StampedLock.isWriteLockStamp(stamp)) {
+            unlockWrite(stamp);
+        } else {
+            gridLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @param optimisticStamp stamp of the failed optimistic read, {@code 0} if it was not available
+     */
+    private long readLockAfterOptimistic(long optimisticStamp) {
+        if (stats != null) {
+            if (optimisticStamp != 0) stats.optimisticReadFailed();
+            stats.readLockFallback();
+        }
+        var event = new LockWaitEvent();
+        event.begin();
+        long stamp = gridLock.readLock();
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = LockWaitEvent.READ_AFTER_OPTIMISTIC;
+            event.commit();
+        }
+        return stamp;
+    }
+
     private long upgradeToWrite(long stamp) {
         long ws = gridLock.tryConvertToWriteLock(stamp);
         if (ws != 0) {
             stamp = ws;
+            if (stats != null) writeLockedAt = System.nanoTime();
         } else {
+            if (stats != null) stats.upgradeFailed();
             gridLock.unlockRead(stamp);
-            stamp = gridLock.writeLock();
+            stamp = writeLock();
         }
         return stamp;
     }
@@ -152,7 +252,7 @@ final class ThreadSafeLife extends AbstractLife {
                 if (gridLock.validate(stamp)) return alive;
             }
 
-            stamp = gridLock.readLock();
+            stamp = readLockAfterOptimistic(stamp);
 
             try {
                 return inner.get(row, col);
@@ -171,17 +271,17 @@ final class ThreadSafeLife extends AbstractLife {
                 if (gridLock.validate(stamp)) {
                     if (alive == state) return;
 
-                    stamp = gridLock.writeLock();
+                    stamp = writeLock();
                     try {
                         inner.set(row, col, state);
                         return;
                     } finally {
-                        gridLock.unlockWrite(stamp);
+                        unlockWrite(stamp);
                     }
                 }
             }
 
-            stamp = gridLock.readLock();
+            stamp = readLockAfterOptimistic(stamp);
 
             try {
                 if (inner.get(row, col) == state) return;
@@ -190,7 +290,37 @@ final class ThreadSafeLife extends AbstractLife {
 
                 inner.set(row, col, state);
             } finally {
-                gridLock.unlock(stamp);
+                unlock(stamp);
+            }
+        }
+
+        @Override
+        public void setAll(long[] cells, boolean state) {
+            long stamp = writeLock();
+            try {
+                inner.setAll(cells, state);
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        @Override
+        public void blit(int row, int col, int rows, int columns, long[] bits) {
+            long stamp = writeLock();
+            try {
+                inner.blit(row, col, rows, columns, bits);
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        @Override
+        public void fill(int fromRow, int fromColumn, int rows, int columns, boolean state) {
+            long stamp = writeLock();
+            try {
+                inner.fill(fromRow, fromColumn, rows, columns, state);
+            } finally {
+                unlockWrite(stamp);
             }
         }
 
@@ -203,7 +333,7 @@ final class ThreadSafeLife extends AbstractLife {
                 if (gridLock.validate(stamp)) return neighbors;
             }
 
-            stamp = gridLock.readLock();
+            stamp = readLockAfterOptimistic(stamp);
 
             try {
                 return inner.neighbors(row, col);
@@ -224,11 +354,11 @@ final class ThreadSafeLife extends AbstractLife {
 
         @Override
         public void clear() {
-            long stamp = gridLock.writeLock();
+            long stamp = writeLock();
             try {
                 inner.clear();
             } finally {
-                gridLock.unlockWrite(stamp);
+                unlockWrite(stamp);
             }
         }
 
@@ -241,7 +371,7 @@ final class ThreadSafeLife extends AbstractLife {
                 if (gridLock.validate(stamp)) return alive;
             }
 
-            stamp = gridLock.readLock();
+            stamp = readLockAfterOptimistic(stamp);
 
             try {
                 return inner.liveCells();
@@ -250,6 +380,24 @@ final class ThreadSafeLife extends AbstractLife {
             }
         }
 
+        @Override
+        public long contentHash() {
+            long stamp = gridLock.tryOptimisticRead();
+
+            if (stamp != 0) {
+                long hash = inner.contentHash();
+                if (gridLock.validate(stamp)) return hash;
+            }
+
+            stamp = readLockAfterOptimistic(stamp);
+
+            try {
+                return inner.contentHash();
+            } finally {
+                gridLock.unlockRead(stamp);
+            }
+        }
+
         @Override
         public void forEachAlive(CellOperation operation) {
             long stamp = gridLock.readLock();
@@ -259,6 +407,53 @@ final class ThreadSafeLife extends AbstractLife {
                 gridLock.unlockRead(stamp);
             }
         }
+
+        @Override
+        public Bounds bounds() {
+            // bounds may be lazily re-tightened, which is not safe under optimistic read
+            long stamp = gridLock.readLock();
+            try {
+                return inner.bounds();
+            } finally {
+                gridLock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public int rowPopulation(int row) {
+            long stamp = gridLock.tryOptimisticRead();
+
+            if (stamp != 0) {
+                int population = inner.rowPopulation(row);
+                if (gridLock.validate(stamp)) return population;
+            }
+
+            stamp = readLockAfterOptimistic(stamp);
+
+            try {
+                return inner.rowPopulation(row);
+            } finally {
+                gridLock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public int columnPopulation(int col) {
+            long stamp = gridLock.tryOptimisticRead();
+
+            if (stamp != 0) {
+                int population = inner.columnPopulation(col);
+                if (gridLock.validate(stamp)) return population;
+            }
+
+            stamp = readLockAfterOptimistic(stamp);
+
+            try {
+                return inner.columnPopulation(col);
+            } finally {
+                gridLock.unlockRead(stamp);
+            }
+        }
     }
 
 }
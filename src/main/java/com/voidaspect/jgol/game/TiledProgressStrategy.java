@@ -0,0 +1,122 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.LongGrid;
+import com.voidaspect.jgol.grid.TileActorGrid;
+import com.voidaspect.jgol.grid.TiledGrid;
+import com.voidaspect.jgol.grid.cell.LongCellOperation;
+import com.voidaspect.jgol.listener.CellListener;
+import com.voidaspect.jgol.listener.ProgressListener;
+
+/**
+ * Strategy that lets a {@link TiledGrid} or a {@link TileActorGrid} compute the next generation a tile at a time.
+ * <p>Changed cells are only reported when the game is progressed with a listener, their coordinates are reported
+ * as {@code int}, so such a generation fails with {@link ArithmeticException} once the pattern leaves that range.
+ * A {@link TiledGrid} then stays in its previous generation, while a {@link TileActorGrid} has already moved
+ * to the next one, and the history is discarded either way.</p>
+ * <p>History records changed cells as pairs of {@code long} coordinates, so rewinding works anywhere in the
+ * {@code long} range. Metrics report spawns, deaths and time of the step, which evaluates and updates tiles at once.
+ * Other grids, such as the overlay of a captured grid, are progressed by {@link AllAtOnceProgressStrategy}
+ * without history, and the history of the tiles is discarded when that happens.</p>
+ */
+final class TiledProgressStrategy extends AbstractProgressStrategy {
+
+    private final History history;
+
+    private final GenerationMetrics metrics;
+
+    private final AllAtOnceProgressStrategy fallback;
+
+    private final LongCellOperation spawn;
+
+    private final LongCellOperation die;
+
+    // listener passed by the caller, null if cells are not reported
+    private CellListener reported;
+
+    private int spawned;
+
+    private int died;
+
+    TiledProgressStrategy() {
+        this(null, null);
+    }
+
+    TiledProgressStrategy(History history, GenerationMetrics metrics) {
+        this.history = history;
+        this.metrics = metrics;
+        this.fallback = new AllAtOnceProgressStrategy(null, metrics);
+        this.spawn = (row, col) -> {
+            spawned++;
+            if (history != null) {
+                history.add(row);
+                history.add(col);
+            }
+            if (reported != null) reported.onCellSpawned(Math.toIntExact(row), Math.toIntExact(col));
+        };
+        this.die = (row, col) -> {
+            died++;
+            if (history != null) {
+                history.add(row);
+                history.add(col);
+            }
+            if (reported != null) reported.onCellDied(Math.toIntExact(row), Math.toIntExact(col));
+        };
+    }
+
+    @Override
+    int progressAndCountUpdates(Grid grid, CellListener listener) {
+        if (!(grid instanceof TiledGrid) && !(grid instanceof TileActorGrid)) {
+            if (history != null) history.clear();
+            return fallback.progressAndCountUpdates(grid, listener);
+        }
+        // updates recorded by flight recorder are counted from the result of the step, not from reported cells
+        AbstractLife.UpdateCounter counter = null;
+        CellListener target = listener;
+        if (listener instanceof AbstractLife.UpdateCounter) {
+            counter = (AbstractLife.UpdateCounter) listener;
+            target = counter.listener;
+        }
+        reported = target != ProgressListener.NOOP ? target : null;
+        spawned = 0;
+        died = 0;
+        boolean visit = reported != null || history != null || metrics != null;
+        long start = metrics != null ? System.nanoTime() : 0;
+        long updates;
+        try {
+            if (history != null) history.begin();
+            updates = grid instanceof TiledGrid
+                    ? ((TiledGrid) grid).step(visit ? spawn : null, visit ? die : null)
+                    : ((TileActorGrid) grid).step(visit ? spawn : null, visit ? die : null);
+            if (history != null) history.commit();
+        } catch (RuntimeException e) {
+            // delta of the failed generation is incomplete
+            if (history != null) history.clear();
+            throw e;
+        } finally {
+            reported = null;
+        }
+        if (metrics != null) {
+            metrics.onGeneration(new GenerationStats(0, 0, 0, spawned, died,
+                    System.nanoTime() - start, 0, 0, 0));
+        }
+        if (counter != null) counter.add(updates);
+        return (int) Math.min(updates, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int rewind(Grid grid, int generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generations expected to be non-negative, got " + generations);
+        }
+        if (history == null || !(grid instanceof LongGrid)) return 0;
+        int rewound = history.rewind((LongGrid) grid, generations);
+        if (rewound > 0) unfreeze();
+        return rewound;
+    }
+
+    @Override
+    public void discardHistory() {
+        if (history != null) history.clear();
+    }
+}
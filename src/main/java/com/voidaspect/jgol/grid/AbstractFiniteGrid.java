@@ -13,15 +13,20 @@ public abstract class AbstractFiniteGrid extends AbstractGrid implements FiniteG
     protected final long size;
 
     public AbstractFiniteGrid(int rows, int cols) {
+        super(population(rows, cols));
+        this.rows = rows;
+        this.cols = cols;
+        this.size = (long) rows * cols;
+    }
+
+    private static Population population(int rows, int cols) {
         if (rows < MIN_SIZE) {
             throw new IllegalArgumentException("Number of rows expected >= 1, got " + rows);
         }
         if (cols < MIN_SIZE) {
             throw new IllegalArgumentException("Number of columns expected >= 1, got " + rows);
         }
-        this.rows = rows;
-        this.cols = cols;
-        this.size = (long) rows * cols;
+        return Population.dense(rows, cols);
     }
 
     @Override
@@ -76,12 +81,44 @@ public abstract class AbstractFiniteGrid extends AbstractGrid implements FiniteG
         }
     }
 
+    @Override
+    public void blit(int row, int col, int rows, int columns, long[] bits) {
+        Regions.checkBits(rows, columns, bits);
+        int words = Regions.wordsPerRow(columns);
+        int fromCol = Math.max(col, 0);
+        int toCol = (int) Math.min((long) col + columns, cols);
+        int toRow = (int) Math.min((long) row + rows, this.rows);
+        for (int r = Math.max(row, 0); r < toRow; r++) {
+            for (int c = fromCol; c < toCol; c++) {
+                set(r, c, Regions.bit(bits, words, r - row, c - col));
+            }
+        }
+    }
+
+    @Override
+    public void fill(int fromRow, int fromColumn, int rows, int columns, boolean state) {
+        Regions.checkRegion(rows, columns);
+        int fromCol = Math.max(fromColumn, 0);
+        int toCol = (int) Math.min((long) fromColumn + columns, cols);
+        int toRow = (int) Math.min((long) fromRow + rows, this.rows);
+        for (int r = Math.max(fromRow, 0); r < toRow; r++) {
+            for (int c = fromCol; c < toCol; c++) {
+                set(r, c, state);
+            }
+        }
+    }
+
     @Override
     public void forEachAlive(CellOperation operation) {
         long remaining = liveCells();
         if (remaining == 0) return;
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
+        var population = population();
+        int toRow = population.toRow();
+        int fromCol = population.fromColumn();
+        int toCol = population.toColumn();
+        for (int row = population.fromRow(); row <= toRow; row++) {
+            if (rowPopulation(row) == 0) continue;
+            for (int col = fromCol; col <= toCol; col++) {
                 if (get(row, col)) {
                     operation.apply(row, col);
                     if (--remaining == 0) return;
@@ -2,6 +2,61 @@ package com.voidaspect.jgol.grid;
 
 public abstract class AbstractGrid implements Grid {
 
+    private final Population population;
+
+    protected AbstractGrid() {
+        this(Population.sparse());
+    }
+
+    AbstractGrid(Population population) {
+        this.population = population;
+    }
+
+    final Population population() {
+        return population;
+    }
+
+    @Override
+    public Bounds bounds() {
+        return population.bounds();
+    }
+
+    @Override
+    public int rowPopulation(int row) {
+        return population.row(row);
+    }
+
+    @Override
+    public int columnPopulation(int col) {
+        return population.column(col);
+    }
+
+    @Override
+    public long contentHash() {
+        return population.hash();
+    }
+
+    /**
+     * Should be called by implementations whenever dead cell becomes alive.
+     */
+    protected final void spawned(int row, int col) {
+        population.spawned(row, col);
+    }
+
+    /**
+     * Should be called by implementations whenever live cell becomes dead.
+     */
+    protected final void died(int row, int col) {
+        population.died(row, col);
+    }
+
+    /**
+     * Should be called by implementations whenever grid is cleared.
+     */
+    protected final void cleared() {
+        population.clear();
+    }
+
     @Override
     public boolean[][] snapshot(int fromRow, int fromColumn, int rows, int columns) {
         boolean[][] snapshot = new boolean[rows][columns];
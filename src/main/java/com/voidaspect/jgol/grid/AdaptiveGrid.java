@@ -0,0 +1,249 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.grid.cell.CellOperation;
+import com.voidaspect.jgol.grid.cell.Cells;
+
+/**
+ * Infinite grid that moves its live cells between a sparse {@link HashGrid}
+ * and a dense {@link BitVectorInMemoryGrid} window over the bounding box, depending on the density of the pattern.
+ * <p>Density is the amount of live cells per cell of the bounding box. It is checked every {@value #CHECK_INTERVAL}
+ * modifications and whenever a cell spawns outside of the dense window. Pattern becomes dense above
+ * {@code 1/}{@value #DENSE_RATIO} and sparse again only below {@code 1/}{@value #SPARSE_RATIO},
+ * so a pattern that hovers around a single threshold doesn't migrate back and forth.</p>
+ */
+public final class AdaptiveGrid implements Grid {
+
+    static final int CHECK_INTERVAL = 1024;
+
+    static final int DENSE_RATIO = 32;
+
+    static final int SPARSE_RATIO = 128;
+
+    // small patterns are fast enough in a hash grid
+    static final int MIN_DENSE_POPULATION = 256;
+
+    // window is rebuilt when it's this many times larger than the bounding box with margins
+    private static final int SHRINK_RATIO = 16;
+
+    private static final int MIN_MARGIN = 32;
+
+    private static final long MAX_WINDOW_SIDE = 1 << 20;
+
+    private Grid store;
+
+    // dense window, null while the grid is sparse
+    private BitVectorInMemoryGrid window;
+
+    private int originRow;
+
+    private int originCol;
+
+    private int modifications;
+
+    // the window is shifted, so hash of the store can't be used
+    private long hash;
+
+    public AdaptiveGrid() {
+        this.store = new HashGrid();
+    }
+
+    public AdaptiveGrid(boolean[][] initial) {
+        this();
+        if (initial == null) return;
+        for (int row = 0; row < initial.length; row++) {
+            boolean[] cells = initial[row];
+            if (cells == null) continue;
+            for (int col = 0; col < cells.length; col++) {
+                if (cells[col]) set(row, col, true);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if live cells are kept in a dense window
+     */
+    public boolean isDense() {
+        return window != null;
+    }
+
+    @Override
+    public boolean get(int row, int col) {
+        if (window == null) return store.get(row, col);
+        return inWindow(row, col) && window.get(row - originRow, col - originCol);
+    }
+
+    @Override
+    public void set(int row, int col, boolean state) {
+        long before = store.liveCells();
+        if (window == null) {
+            store.set(row, col, state);
+        } else if (inWindow(row, col)) {
+            window.set(row - originRow, col - originCol, state);
+        } else {
+            // cells outside of the window are dead
+            if (!state) return;
+            migrate(row, col);
+            set(row, col, true);
+            return;
+        }
+        if (store.liveCells() != before) hash ^= Cells.hash(row, col);
+        if (++modifications >= CHECK_INTERVAL) {
+            modifications = 0;
+            adapt();
+        }
+    }
+
+    @Override
+    public int neighbors(int row, int col) {
+        if (window == null) return store.neighbors(row, col);
+        if (inWindow(row, col)) return window.neighbors(row - originRow, col - originCol);
+        //@formatter:off
+        int up    = row - 1;
+        int down  = row + 1;
+        int left  = col - 1;
+        int right = col + 1;
+        return value(up,   right) + value(up,   col) + value(up,   left) +
+               value(row,  right) + /* this cell */  + value(row,  left) +
+               value(down, right) + value(down, col) + value(down, left);
+        //@formatter:on
+    }
+
+    private int value(int row, int col) {
+        return get(row, col) ? 1 : 0;
+    }
+
+    @Override
+    public boolean[][] snapshot(int fromRow, int fromColumn, int rows, int columns) {
+        boolean[][] snapshot = new boolean[rows][columns];
+        forEachAlive((row, col) -> {
+            long r = (long) row - fromRow;
+            long c = (long) col - fromColumn;
+            if (r >= 0 && r < rows && c >= 0 && c < columns) snapshot[(int) r][(int) c] = true;
+        });
+        return snapshot;
+    }
+
+    @Override
+    public void clear() {
+        store = new HashGrid();
+        window = null;
+        modifications = 0;
+        hash = 0;
+    }
+
+    @Override
+    public long liveCells() {
+        return store.liveCells();
+    }
+
+    @Override
+    public void forEachAlive(CellOperation operation) {
+        if (window == null) {
+            store.forEachAlive(operation);
+        } else {
+            int fromRow = originRow;
+            int fromCol = originCol;
+            window.forEachAlive((row, col) -> operation.apply(row + fromRow, col + fromCol));
+        }
+    }
+
+    @Override
+    public Bounds bounds() {
+        var bounds = store.bounds();
+        if (window == null || bounds.isEmpty()) return bounds;
+        return new Bounds(bounds.getFromRow() + originRow, bounds.getFromColumn() + originCol,
+                bounds.getToRow() + originRow, bounds.getToColumn() + originCol);
+    }
+
+    @Override
+    public long contentHash() {
+        return hash;
+    }
+
+    @Override
+    public int rowPopulation(int row) {
+        if (window == null) return store.rowPopulation(row);
+        long index = (long) row - originRow;
+        return index >= 0 && index < window.getRows() ? window.rowPopulation((int) index) : 0;
+    }
+
+    @Override
+    public int columnPopulation(int col) {
+        if (window == null) return store.columnPopulation(col);
+        long index = (long) col - originCol;
+        return index >= 0 && index < window.getColumns() ? window.columnPopulation((int) index) : 0;
+    }
+
+    private boolean inWindow(int row, int col) {
+        long r = (long) row - originRow;
+        long c = (long) col - originCol;
+        return r >= 0 && r < window.getRows() && c >= 0 && c < window.getColumns();
+    }
+
+    /**
+     * Moves live cells to the representation that suits current density.
+     */
+    private void adapt() {
+        long live = liveCells();
+        var bounds = bounds();
+        long area = bounds.getRows() * bounds.getColumns();
+        if (window == null) {
+            if (live >= MIN_DENSE_POPULATION && live * DENSE_RATIO >= area) {
+                moveTo(bounds);
+            }
+        } else if (live * SPARSE_RATIO < area) {
+            moveTo(null);
+        } else if (window.getSize() > SHRINK_RATIO * area) {
+            moveTo(bounds);
+        }
+    }
+
+    /**
+     * Makes room for a cell that spawns outside of the dense window.
+     */
+    private void migrate(int row, int col) {
+        var bounds = bounds();
+        var grown = bounds.isEmpty() ? new Bounds(row, col, row, col) : new Bounds(
+                Math.min(bounds.getFromRow(), row), Math.min(bounds.getFromColumn(), col),
+                Math.max(bounds.getToRow(), row), Math.max(bounds.getToColumn(), col));
+        long area = grown.getRows() * grown.getColumns();
+        moveTo((liveCells() + 1) * SPARSE_RATIO < area ? null : grown);
+    }
+
+    /**
+     * @param bounds bounds to cover with a dense window, {@code null} to make the grid sparse
+     */
+    private void moveTo(Bounds bounds) {
+        long marginRows = Math.max(MIN_MARGIN, bounds == null ? 0 : bounds.getRows() / 4);
+        long marginCols = Math.max(MIN_MARGIN, bounds == null ? 0 : bounds.getColumns() / 4);
+        long fromRow = 0;
+        long fromCol = 0;
+        long rows = 0;
+        long cols = 0;
+        if (bounds != null) {
+            fromRow = Math.max(Integer.MIN_VALUE, bounds.getFromRow() - marginRows);
+            fromCol = Math.max(Integer.MIN_VALUE, bounds.getFromColumn() - marginCols);
+            rows = Math.min(Integer.MAX_VALUE, bounds.getToRow() + marginRows) - fromRow + 1;
+            cols = Math.min(Integer.MAX_VALUE, bounds.getToColumn() + marginCols) - fromCol + 1;
+        }
+        Grid target;
+        BitVectorInMemoryGrid dense = null;
+        if (bounds == null || rows > MAX_WINDOW_SIDE || cols > MAX_WINDOW_SIDE) {
+            if (window == null) return;
+            target = new HashGrid();
+        } else {
+            target = dense = new BitVectorInMemoryGrid((int) rows, (int) cols);
+        }
+        int row0 = (int) fromRow;
+        int col0 = (int) fromCol;
+        if (dense != null) {
+            forEachAlive((row, col) -> target.set(row - row0, col - col0, true));
+        } else {
+            forEachAlive((row, col) -> target.set(row, col, true));
+        }
+        store = target;
+        window = dense;
+        originRow = dense != null ? row0 : 0;
+        originCol = dense != null ? col0 : 0;
+    }
+}
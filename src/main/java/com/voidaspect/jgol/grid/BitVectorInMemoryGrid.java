@@ -37,7 +37,86 @@ public final class BitVectorInMemoryGrid extends AbstractFiniteGrid {
         }
         if (cells.get(++col) != state) {
             cells.set(col, state);
-            liveCells += state ? 1 : -1;
+            if (state) {
+                liveCells++;
+                spawned(row - 1, col - 1);
+            } else {
+                liveCells--;
+                died(row - 1, col - 1);
+            }
+        }
+    }
+
+    @Override
+    public void blit(int row, int col, int rows, int columns, long[] bits) {
+        Regions.checkBits(rows, columns, bits);
+        int words = Regions.wordsPerRow(columns);
+        int fromRow = Math.max(row, 0);
+        int toRow = (int) Math.min((long) row + rows, this.rows);
+        int fromCol = Math.max(col, 0);
+        int toCol = (int) Math.min((long) col + columns, cols);
+        if (fromRow >= toRow || fromCol >= toCol) return;
+        // columns of the source that land on the grid
+        int srcFrom = fromCol - col;
+        int srcTo = toCol - col;
+        int lastWord = (srcTo - 1) >>> 6;
+        for (int r = fromRow; r < toRow; r++) {
+            int srcRow = r - row;
+            BitSet cells = grid[r + 1];
+            if (cells != null) {
+                for (int b = cells.nextSetBit(fromCol + 1); b > 0 && b <= toCol; b = cells.nextSetBit(b + 1)) {
+                    if (!Regions.bit(bits, words, srcRow, b - 1 - col)) {
+                        cells.clear(b);
+                        liveCells--;
+                        died(r, b - 1);
+                    }
+                }
+            }
+            int offset = srcRow * words;
+            for (int w = srcFrom >>> 6; w <= lastWord; w++) {
+                long word = bits[offset + w];
+                if (w == srcFrom >>> 6) word &= -1L << srcFrom;
+                if (w == lastWord && (srcTo & 63) != 0) word &= -1L >>> -srcTo;
+                for (; word != 0; word &= word - 1) {
+                    int c = (w << 6) + Long.numberOfTrailingZeros(word) + col;
+                    if (cells == null) {
+                        cells = grid[r + 1] = new BitSet(this.bits);
+                    }
+                    if (!cells.get(c + 1)) {
+                        cells.set(c + 1);
+                        liveCells++;
+                        spawned(r, c);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fill(int fromRow, int fromColumn, int rows, int columns, boolean state) {
+        Regions.checkRegion(rows, columns);
+        int from = Math.max(fromColumn, 0) + 1;
+        int to = (int) Math.min((long) fromColumn + columns, cols) + 1;
+        int toRow = (int) Math.min((long) fromRow + rows, this.rows);
+        if (from >= to) return;
+        for (int r = Math.max(fromRow, 0); r < toRow; r++) {
+            BitSet cells = grid[r + 1];
+            if (state) {
+                if (cells == null) {
+                    cells = grid[r + 1] = new BitSet(bits);
+                }
+                for (int b = cells.nextClearBit(from); b < to; b = cells.nextClearBit(b + 1)) {
+                    liveCells++;
+                    spawned(r, b - 1);
+                }
+                cells.set(from, to);
+            } else if (cells != null) {
+                for (int b = cells.nextSetBit(from); b >= 0 && b < to; b = cells.nextSetBit(b + 1)) {
+                    liveCells--;
+                    died(r, b - 1);
+                }
+                cells.clear(from, to);
+            }
         }
     }
 
@@ -111,6 +190,7 @@ public final class BitVectorInMemoryGrid extends AbstractFiniteGrid {
             }
         }
         liveCells = 0;
+        cleared();
     }
 
     @Override
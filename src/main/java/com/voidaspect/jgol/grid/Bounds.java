@@ -0,0 +1,85 @@
+package com.voidaspect.jgol.grid;
+
+/**
+ * Smallest rectangle that contains every live cell of a {@link Grid}.
+ * <p>Both the starting and the ending indices are inclusive.
+ * Bounds of a grid without live cells are {@link #EMPTY}.</p>
+ */
+public final class Bounds {
+
+    public static final Bounds EMPTY = new Bounds(0, 0, -1, -1);
+
+    private final int fromRow;
+
+    private final int fromColumn;
+
+    private final int toRow;
+
+    private final int toColumn;
+
+    public Bounds(int fromRow, int fromColumn, int toRow, int toColumn) {
+        this.fromRow = fromRow;
+        this.fromColumn = fromColumn;
+        this.toRow = toRow;
+        this.toColumn = toColumn;
+    }
+
+    public int getFromRow() {
+        return fromRow;
+    }
+
+    public int getFromColumn() {
+        return fromColumn;
+    }
+
+    public int getToRow() {
+        return toRow;
+    }
+
+    public int getToColumn() {
+        return toColumn;
+    }
+
+    public long getRows() {
+        return Math.max(0, (long) toRow - fromRow + 1);
+    }
+
+    public long getColumns() {
+        return Math.max(0, (long) toColumn - fromColumn + 1);
+    }
+
+    public boolean isEmpty() {
+        return toRow < fromRow || toColumn < fromColumn;
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= fromRow && row <= toRow && col >= fromColumn && col <= toColumn;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Bounds)) return false;
+        var that = (Bounds) o;
+        return fromRow == that.fromRow &&
+                fromColumn == that.fromColumn &&
+                toRow == that.toRow &&
+                toColumn == that.toColumn;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = fromRow;
+        result = 31 * result + fromColumn;
+        result = 31 * result + toRow;
+        result = 31 * result + toColumn;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty()
+                ? "Bounds{empty}"
+                : "Bounds{(" + fromRow + "," + fromColumn + ")..(" + toRow + "," + toColumn + ")}";
+    }
+}
@@ -0,0 +1,21 @@
+package com.voidaspect.jgol.grid;
+
+/**
+ * Grid that maintains the amount of live neighbors of its cells on every update.
+ */
+public interface CountingGrid extends Grid {
+
+    /**
+     * Applies operation to every cell that may change its state in the next generation:
+     * live cells and dead cells that have at least one live neighbor.
+     * <p>Grid must not be modified until iteration is over.</p>
+     */
+    void forEachCandidate(CandidateOperation operation);
+
+    @FunctionalInterface
+    interface CandidateOperation {
+
+        void apply(int row, int col, boolean alive, int neighbors);
+
+    }
+}
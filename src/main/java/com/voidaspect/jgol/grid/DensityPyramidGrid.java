@@ -0,0 +1,151 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.grid.cell.CellOperation;
+import com.voidaspect.jgol.grid.cell.Cells;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+/**
+ * Grid that keeps a pyramid of live cell counts over the grid it wraps, for zoomed-out views of large universes.
+ * <p>Level {@code k} counts live cells of every {@code 2^k x 2^k} block, where block {@code (r, c)} covers rows
+ * {@code [r * 2^k, (r + 1) * 2^k)} and columns {@code [c * 2^k, (c + 1) * 2^k)}. Counts are updated whenever
+ * a cell spawns or dies, only blocks with live cells are stored, so {@link #densitySnapshot} reads
+ * one count per block instead of every cell of the region.</p>
+ * <p>Changes are detected through the population of the wrapped grid, so it must not be modified directly.
+ * A game built on this grid is progressed cell by cell, without the strategies specific to the wrapped grid.</p>
+ */
+public final class DensityPyramidGrid implements Grid {
+
+    // a block of 2^15 x 2^15 cells still fits the range of int
+    private static final int MAX_LEVELS = 15;
+
+    private final Grid grid;
+
+    // counts of level k are kept at index k - 1
+    private final Long2IntOpenHashMap[] counts;
+
+    /**
+     * @param levels amount of levels above the cells, the largest blocks are {@code 2^levels} cells wide
+     */
+    public DensityPyramidGrid(Grid grid, int levels) {
+        if (levels < 1 || levels > MAX_LEVELS) {
+            throw new IllegalArgumentException("Levels expected to be in [1, " + MAX_LEVELS + "], got " + levels);
+        }
+        this.grid = grid;
+        this.counts = new Long2IntOpenHashMap[levels];
+        for (int level = 0; level < levels; level++) {
+            counts[level] = new Long2IntOpenHashMap();
+        }
+        grid.forEachAlive((row, col) -> update(row, col, 1));
+    }
+
+    public int getLevels() {
+        return counts.length;
+    }
+
+    /**
+     * Counts live cells in blocks of a region of a level.
+     *
+     * @param level        level of blocks, from {@code 1} to {@link #getLevels()}
+     * @param fromBlockRow top row of the region, in blocks of the level
+     * @param fromBlockCol left column of the region, in blocks of the level
+     * @param blockRows    height of the region in blocks
+     * @param blockColumns width of the region in blocks
+     * @return row-major counts of live cells, one per block of the region
+     * @throws IllegalArgumentException if there is no such level or size of the region is negative
+     */
+    public int[] densitySnapshot(int level, int fromBlockRow, int fromBlockCol, int blockRows, int blockColumns) {
+        if (level < 1 || level > counts.length) {
+            throw new IllegalArgumentException("Level expected to be in [1, " + counts.length + "], got " + level);
+        }
+        Regions.checkRegion(blockRows, blockColumns);
+        var blocks = counts[level - 1];
+        int[] image = new int[Math.multiplyExact(blockRows, blockColumns)];
+        if (image.length <= blocks.size()) {
+            for (int r = 0; r < blockRows; r++) {
+                for (int c = 0; c < blockColumns; c++) {
+                    image[r * blockColumns + c] = blocks.get(Cells.pack(fromBlockRow + r, fromBlockCol + c));
+                }
+            }
+        } else {
+            // region is larger than the amount of occupied blocks
+            for (var i = blocks.keySet().iterator(); i.hasNext(); ) {
+                long block = i.nextLong();
+                long r = (long) Cells.unpackRow(block) - fromBlockRow;
+                long c = (long) Cells.unpackCol(block) - fromBlockCol;
+                if (r >= 0 && r < blockRows && c >= 0 && c < blockColumns) {
+                    image[(int) r * blockColumns + (int) c] = blocks.get(block);
+                }
+            }
+        }
+        return image;
+    }
+
+    private void update(int row, int col, int delta) {
+        for (int level = 1; level <= counts.length; level++) {
+            long block = Cells.pack(row >> level, col >> level);
+            var blocks = counts[level - 1];
+            if (blocks.addTo(block, delta) + delta == 0) blocks.remove(block);
+        }
+    }
+
+    @Override
+    public boolean get(int row, int col) {
+        return grid.get(row, col);
+    }
+
+    @Override
+    public void set(int row, int col, boolean state) {
+        long before = grid.liveCells();
+        grid.set(row, col, state);
+        long delta = grid.liveCells() - before;
+        if (delta != 0) update(row, col, (int) delta);
+    }
+
+    @Override
+    public int neighbors(int row, int col) {
+        return grid.neighbors(row, col);
+    }
+
+    @Override
+    public boolean[][] snapshot(int fromRow, int fromColumn, int rows, int columns) {
+        return grid.snapshot(fromRow, fromColumn, rows, columns);
+    }
+
+    @Override
+    public void clear() {
+        grid.clear();
+        for (var blocks : counts) {
+            blocks.clear();
+        }
+    }
+
+    @Override
+    public long liveCells() {
+        return grid.liveCells();
+    }
+
+    @Override
+    public void forEachAlive(CellOperation operation) {
+        grid.forEachAlive(operation);
+    }
+
+    @Override
+    public Bounds bounds() {
+        return grid.bounds();
+    }
+
+    @Override
+    public long contentHash() {
+        return grid.contentHash();
+    }
+
+    @Override
+    public int rowPopulation(int row) {
+        return grid.rowPopulation(row);
+    }
+
+    @Override
+    public int columnPopulation(int col) {
+        return grid.columnPopulation(col);
+    }
+}
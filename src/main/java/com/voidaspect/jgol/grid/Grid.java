@@ -1,6 +1,7 @@
 package com.voidaspect.jgol.grid;
 
 import com.voidaspect.jgol.grid.cell.CellOperation;
+import com.voidaspect.jgol.grid.cell.Cells;
 
 public interface Grid {
 
@@ -18,4 +19,103 @@ public interface Grid {
 
     void forEachAlive(CellOperation operation);
 
+    /**
+     * @return smallest rectangle containing all live cells, {@link Bounds#EMPTY} if there are none
+     */
+    default Bounds bounds() {
+        // from row, from column, to row, to column
+        int[] edges = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+        forEachAlive((row, col) -> {
+            edges[0] = Math.min(edges[0], row);
+            edges[1] = Math.min(edges[1], col);
+            edges[2] = Math.max(edges[2], row);
+            edges[3] = Math.max(edges[3], col);
+        });
+        return edges[0] > edges[2] ? Bounds.EMPTY : new Bounds(edges[0], edges[1], edges[2], edges[3]);
+    }
+
+    /**
+     * Grids of this library keep populations of rows and columns up to date,
+     * the default implementations count them from scratch.
+     *
+     * @return amount of live cells in the row
+     */
+    default int rowPopulation(int row) {
+        int[] count = new int[1];
+        forEachAlive((r, col) -> {
+            if (r == row) count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * @return amount of live cells in the column
+     */
+    default int columnPopulation(int col) {
+        int[] count = new int[1];
+        forEachAlive((row, c) -> {
+            if (c == col) count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Hash of the set of live cells, a XOR of {@link Cells#hash(long, long)} of every live cell.
+     * <p>Grids with equal live cells have equal hashes regardless of their type, so generations can be compared
+     * without snapshots. Grids of this library update the hash with every change of a cell,
+     * the default implementation computes it from scratch.</p>
+     */
+    default long contentHash() {
+        long[] hash = new long[1];
+        forEachAlive((row, col) -> hash[0] ^= Cells.hash(row, col));
+        return hash[0];
+    }
+
+    /**
+     * Sets state of every cell in the array.
+     *
+     * @param cells packed cells, see {@link Cells#pack(int, int)}
+     */
+    default void setAll(long[] cells, boolean state) {
+        for (long cell : cells) {
+            set(Cells.unpackRow(cell), Cells.unpackCol(cell), state);
+        }
+    }
+
+    /**
+     * Copies bit-packed rectangular region to the grid, cells of the region that are not set become dead.
+     * <p>Each row of the region starts with a new word, cell {@code (r, c)} of the region
+     * is bit {@code c % 64} of the word {@code r * ceil(columns / 64) + c / 64}.</p>
+     *
+     * @param row     top row of the region on the grid
+     * @param col     left column of the region on the grid
+     * @param rows    height of the region
+     * @param columns width of the region
+     * @param bits    row-major bit-packed cells of the region
+     * @throws IllegalArgumentException if size is negative or there are not enough bits
+     */
+    default void blit(int row, int col, int rows, int columns, long[] bits) {
+        Regions.checkBits(rows, columns, bits);
+        int words = Regions.wordsPerRow(columns);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                set(row + r, col + c, Regions.bit(bits, words, r, c));
+            }
+        }
+    }
+
+    /**
+     * Sets state of every cell in the rectangular region.
+     *
+     * @throws IllegalArgumentException if size is negative
+     */
+    default void fill(int fromRow, int fromColumn, int rows, int columns, boolean state) {
+        Regions.checkRegion(rows, columns);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                set(fromRow + r, fromColumn + c, state);
+            }
+        }
+    }
+
 }
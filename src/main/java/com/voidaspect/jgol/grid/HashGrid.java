@@ -24,9 +24,9 @@ public final class HashGrid extends AbstractGrid {
     @Override
     public void set(int row, int col, boolean state) {
         if (state) {
-            cells.add(row, col);
+            if (cells.add(row, col)) spawned(row, col);
         } else {
-            cells.remove(row, col);
+            if (cells.remove(row, col)) died(row, col);
         }
     }
 
@@ -50,6 +50,7 @@ public final class HashGrid extends AbstractGrid {
     @Override
     public void clear() {
         cells.clear();
+        cleared();
     }
 
     @Override
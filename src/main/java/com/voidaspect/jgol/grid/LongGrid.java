@@ -0,0 +1,22 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.grid.cell.LongCellOperation;
+
+/**
+ * Grid with 64-bit coordinates, for patterns that travel beyond the range of {@code int}.
+ */
+public interface LongGrid {
+
+    boolean get(long row, long col);
+
+    void set(long row, long col, boolean state);
+
+    int neighbors(long row, long col);
+
+    void forEachAlive(LongCellOperation operation);
+
+    long liveCells();
+
+    void clear();
+
+}
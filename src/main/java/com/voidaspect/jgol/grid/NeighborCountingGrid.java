@@ -2,7 +2,7 @@ package com.voidaspect.jgol.grid;
 
 import java.util.Arrays;
 
-public final class NeighborCountingGrid extends AbstractFiniteGrid {
+public final class NeighborCountingGrid extends AbstractFiniteGrid implements CountingGrid {
 
     private static final byte ALIVE_MASK = 1;
 
@@ -53,9 +53,11 @@ public final class NeighborCountingGrid extends AbstractFiniteGrid {
         if (state) {
             liveCells++;
             update = ALIVE_NEIGHBOR;
+            spawned(row, col);
         } else {
             liveCells--;
             update = -ALIVE_NEIGHBOR;
+            died(row, col);
         }
 
         // up row
@@ -85,6 +87,27 @@ public final class NeighborCountingGrid extends AbstractFiniteGrid {
         return grid[row][col] >>> 1;
     }
 
+    @Override
+    public void forEachCandidate(CandidateOperation operation) {
+        if (liveCells == 0) return;
+        var population = population();
+        // candidates lie at most one cell away from the bounds
+        int fromRow = Math.max(population.fromRow() - 1, 0);
+        int toRow = Math.min(population.toRow() + 1, rows - 1);
+        int fromCol = Math.max(population.fromColumn() - 1, 0);
+        int toCol = Math.min(population.toColumn() + 1, cols - 1);
+        for (int row = fromRow; row <= toRow; row++) {
+            if (rowPopulation(row - 1) + rowPopulation(row) + rowPopulation(row + 1) == 0) continue;
+            byte[] thisRow = grid[row];
+            for (int col = fromCol; col <= toCol; col++) {
+                byte cell = thisRow[col];
+                if (cell != 0) {
+                    operation.apply(row, col, (cell & ALIVE_MASK) != 0, cell >>> 1);
+                }
+            }
+        }
+    }
+
     @Override
     public void clear() {
         byte[] first = grid[0];
@@ -93,6 +116,7 @@ public final class NeighborCountingGrid extends AbstractFiniteGrid {
             System.arraycopy(first, 0, grid[row], 0, cols);
         }
         liveCells = 0;
+        cleared();
     }
 
     @Override
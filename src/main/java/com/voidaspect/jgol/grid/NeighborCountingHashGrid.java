@@ -3,9 +3,11 @@ package com.voidaspect.jgol.grid;
 import com.voidaspect.jgol.grid.cell.CellOperation;
 import com.voidaspect.jgol.grid.cell.Cells;
 import com.voidaspect.jgol.grid.cell.LinkedCellSet;
+import it.unimi.dsi.fastutil.longs.Long2ByteMap;
 import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 
-public final class NeighborCountingHashGrid extends AbstractGrid {
+public final class NeighborCountingHashGrid extends AbstractGrid implements CountingGrid {
 
     private final LinkedCellSet cells;
 
@@ -40,6 +42,12 @@ public final class NeighborCountingHashGrid extends AbstractGrid {
 
         if (!modified) return;
 
+        if (state) {
+            spawned(row, col);
+        } else {
+            died(row, col);
+        }
+
         //@formatter:off
         int up    = row - 1;
         int down  = row + 1;
@@ -65,6 +73,7 @@ public final class NeighborCountingHashGrid extends AbstractGrid {
     public void clear() {
         cells.clear();
         neighbors.clear();
+        cleared();
     }
 
     @Override
@@ -72,6 +81,21 @@ public final class NeighborCountingHashGrid extends AbstractGrid {
         cells.forEach(operation);
     }
 
+    @Override
+    public void forEachCandidate(CandidateOperation operation) {
+        // live cells without neighbors are not in the map
+        cells.forEach((row, col) -> {
+            if (neighbors.get(row, col) == 0) operation.apply(row, col, true, 0);
+        });
+        for (ObjectIterator<Long2ByteMap.Entry> it = neighbors.mapping.long2ByteEntrySet().fastIterator(); it.hasNext(); ) {
+            var entry = it.next();
+            long cell = entry.getLongKey();
+            int row = Cells.unpackRow(cell);
+            int col = Cells.unpackCol(cell);
+            operation.apply(row, col, cells.contains(row, col), entry.getByteValue());
+        }
+    }
+
     private static final class NeighborMap {
 
         final Long2ByteOpenHashMap mapping;
@@ -81,7 +105,9 @@ public final class NeighborCountingHashGrid extends AbstractGrid {
         }
 
         void add(int row, int col, byte neighbors) {
-            mapping.addTo(Cells.pack(row, col), neighbors);
+            long cell = Cells.pack(row, col);
+            // only cells with live neighbors are kept
+            if (mapping.addTo(cell, neighbors) + neighbors == 0) mapping.remove(cell);
         }
 
         byte get(int row, int col) {
@@ -0,0 +1,178 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.grid.cell.CellOperation;
+
+import java.util.Arrays;
+
+/**
+ * Compact variant of {@link NeighborCountingGrid}.
+ * <p>Neighbor counts are packed as 4-bit nibbles, 16 per {@code long}, and live cells are kept as a separate bitmap,
+ * both in flat arrays with every row starting at a new word. That takes 5 bits per cell instead of a byte
+ * and fits 16 counts into a word, which are updated three at a time by adding a nibble mask.</p>
+ * <p>Counts never leave the range {@code [0, 8]}, so masks are added and subtracted without carries between nibbles.</p>
+ */
+public final class PackedNeighborCountingGrid extends AbstractFiniteGrid implements CountingGrid {
+
+    private static final int NIBBLES = 16;
+
+    private static final long NIBBLE = 0xF;
+
+    // counts of the left, this and right cell
+    private static final long ROW = 0x111;
+
+    // counts of the left and right cell
+    private static final long SIDES = 0x101;
+
+    private static final long LAST_NIBBLE = 1L << (Long.SIZE - 4);
+
+    private final long[] counts;
+
+    private final long[] alive;
+
+    private final int countWords;
+
+    private final int aliveWords;
+
+    private long liveCells;
+
+    public PackedNeighborCountingGrid(int rows, int cols) {
+        super(rows, cols);
+        this.countWords = (cols + NIBBLES - 1) / NIBBLES;
+        this.aliveWords = Regions.wordsPerRow(cols);
+        this.counts = new long[Math.multiplyExact(rows, countWords)];
+        this.alive = new long[Math.multiplyExact(rows, aliveWords)];
+    }
+
+    public PackedNeighborCountingGrid(boolean[][] initial, int rows, int cols) {
+        this(rows, cols);
+        fillGrid(initial);
+    }
+
+    @Override
+    public boolean get(int row, int col) {
+        return exists(row, col) && (alive[row * aliveWords + (col >>> 6)] & 1L << col) != 0;
+    }
+
+    @Override
+    public void set(int row, int col, boolean state) {
+        if (!exists(row, col)) return;
+        int at = row * aliveWords + (col >>> 6);
+        long bit = 1L << col;
+        if (((alive[at] & bit) != 0) == state) return;
+
+        alive[at] ^= bit;
+
+        long sign;
+        if (state) {
+            liveCells++;
+            sign = 1;
+            spawned(row, col);
+        } else {
+            liveCells--;
+            sign = -1;
+            died(row, col);
+        }
+
+        if (row > 0) add(row - 1, col, ROW, sign);
+        add(row, col, SIDES, sign);
+        if (row + 1 < rows) add(row + 1, col, ROW, sign);
+    }
+
+    /**
+     * Adds or subtracts mask of three nibbles centered at the column, parts of the mask outside of the row are dropped.
+     */
+    private void add(int row, int col, long mask, long sign) {
+        int at = row * countWords + col / NIBBLES;
+        int nibble = col % NIBBLES;
+        if (nibble == 0) {
+            counts[at] += sign * (mask >>> 4);
+            if (col > 0) counts[at - 1] += sign * ((mask & NIBBLE) * LAST_NIBBLE);
+        } else if (nibble == NIBBLES - 1) {
+            counts[at] += sign * (mask << (Long.SIZE - 8));
+            if (col + 1 < cols) counts[at + 1] += sign * (mask >>> 8);
+        } else {
+            counts[at] += sign * (mask << ((nibble - 1) << 2));
+        }
+    }
+
+    @Override
+    public int neighbors(int row, int col) {
+        if (!exists(row, col)) return 0;
+        return (int) (counts[row * countWords + col / NIBBLES] >>> ((col % NIBBLES) << 2) & NIBBLE);
+    }
+
+    @Override
+    public void forEachCandidate(CandidateOperation operation) {
+        if (liveCells == 0) return;
+        var population = population();
+        // candidates lie at most one cell away from the bounds
+        int fromRow = Math.max(population.fromRow() - 1, 0);
+        int toRow = Math.min(population.toRow() + 1, rows - 1);
+        int fromCol = Math.max(population.fromColumn() - 1, 0);
+        int toCol = Math.min(population.toColumn() + 1, cols - 1);
+        for (int row = fromRow; row <= toRow; row++) {
+            if (rowPopulation(row - 1) + rowPopulation(row) + rowPopulation(row + 1) == 0) continue;
+            int countsAt = row * countWords;
+            int aliveAt = row * aliveWords;
+            for (int w = fromCol / NIBBLES; w <= toCol / NIBBLES; w++) {
+                long word = counts[countsAt + w];
+                // 16 live cells of the word, one bit per nibble
+                long cells = spread(alive[aliveAt + (w >>> 2)] >>> ((w & 3) << 4) & 0xFFFF);
+                for (long nonEmpty = nonZeroNibbles(word) | cells; nonEmpty != 0; nonEmpty &= nonEmpty - 1) {
+                    int shift = Long.numberOfTrailingZeros(nonEmpty);
+                    int col = w * NIBBLES + (shift >>> 2);
+                    if (col < fromCol || col > toCol) continue;
+                    operation.apply(row, col, (cells >>> shift & 1) != 0, (int) (word >>> shift & NIBBLE));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return word with the lowest bit of every nonzero nibble set
+     */
+    private static long nonZeroNibbles(long word) {
+        return (word | word >>> 1 | word >>> 2 | word >>> 3) & 0x1111111111111111L;
+    }
+
+    /**
+     * @return word with bit {@code i} of the 16-bit argument moved to the lowest bit of nibble {@code i}
+     */
+    private static long spread(long bits) {
+        bits = (bits | bits << 24) & 0x000000FF000000FFL;
+        bits = (bits | bits << 12) & 0x000F000F000F000FL;
+        bits = (bits | bits << 6) & 0x0303030303030303L;
+        return (bits | bits << 3) & 0x1111111111111111L;
+    }
+
+    @Override
+    public void forEachAlive(CellOperation operation) {
+        long remaining = liveCells;
+        if (remaining == 0) return;
+        var population = population();
+        int toRow = population.toRow();
+        for (int row = population.fromRow(); row <= toRow; row++) {
+            int at = row * aliveWords;
+            for (int w = 0; w < aliveWords; w++) {
+                for (long word = alive[at + w]; word != 0; word &= word - 1) {
+                    operation.apply(row, (w << 6) + Long.numberOfTrailingZeros(word));
+                    if (--remaining == 0) return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(alive, 0);
+        liveCells = 0;
+        cleared();
+    }
+
+    @Override
+    public long liveCells() {
+        return liveCells;
+    }
+
+}
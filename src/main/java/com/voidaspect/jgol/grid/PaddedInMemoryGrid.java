@@ -37,6 +37,7 @@ public final class PaddedInMemoryGrid extends AbstractFiniteGrid {
                 if (row[j]) {
                     liveCells++;
                     grid[i + PADDING][j + PADDING] = true;
+                    spawned(i, j);
                 }
             }
         }
@@ -50,11 +51,56 @@ public final class PaddedInMemoryGrid extends AbstractFiniteGrid {
     @Override
     public void set(int row, int col, boolean state) {
         if (!exists(row, col)) return;
-        row += PADDING;
-        col += PADDING;
-        if (grid[row][col] != state) {
-            grid[row][col] = state;
-            liveCells += state ? 1 : -1;
+        if (grid[PADDING + row][PADDING + col] != state) {
+            grid[PADDING + row][PADDING + col] = state;
+            if (state) {
+                liveCells++;
+                spawned(row, col);
+            } else {
+                liveCells--;
+                died(row, col);
+            }
+        }
+    }
+
+    @Override
+    public void blit(int row, int col, int rows, int columns, long[] bits) {
+        Regions.checkBits(rows, columns, bits);
+        int words = Regions.wordsPerRow(columns);
+        int fromCol = Math.max(col, 0);
+        int toCol = (int) Math.min((long) col + columns, cols);
+        int toRow = (int) Math.min((long) row + rows, this.rows);
+        for (int r = Math.max(row, 0); r < toRow; r++) {
+            boolean[] cells = grid[PADDING + r];
+            for (int c = fromCol; c < toCol; c++) {
+                update(cells, r, c, Regions.bit(bits, words, r - row, c - col));
+            }
+        }
+    }
+
+    @Override
+    public void fill(int fromRow, int fromColumn, int rows, int columns, boolean state) {
+        Regions.checkRegion(rows, columns);
+        int fromCol = Math.max(fromColumn, 0);
+        int toCol = (int) Math.min((long) fromColumn + columns, cols);
+        int toRow = (int) Math.min((long) fromRow + rows, this.rows);
+        for (int r = Math.max(fromRow, 0); r < toRow; r++) {
+            boolean[] cells = grid[PADDING + r];
+            for (int c = fromCol; c < toCol; c++) {
+                update(cells, r, c, state);
+            }
+        }
+    }
+
+    private void update(boolean[] cells, int row, int col, boolean state) {
+        if (cells[PADDING + col] == state) return;
+        cells[PADDING + col] = state;
+        if (state) {
+            liveCells++;
+            spawned(row, col);
+        } else {
+            liveCells--;
+            died(row, col);
         }
     }
 
@@ -81,6 +127,7 @@ public final class PaddedInMemoryGrid extends AbstractFiniteGrid {
             System.arraycopy(empty, PADDING, grid[i], PADDING, upperColBound);
         }
         liveCells = 0;
+        cleared();
     }
 
     @Override
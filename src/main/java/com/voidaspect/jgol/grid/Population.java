@@ -0,0 +1,258 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.grid.cell.Cells;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+
+import java.util.Arrays;
+
+/**
+ * Incrementally maintained statistics of live cells: per-row and per-column population, the {@link Bounds}
+ * and the {@link Grid#contentHash() hash} of live cells.
+ * <p>Bounds are expanded eagerly when a cell spawns outside of them.
+ * When the last cell of an edge row or column dies, the edge is only marked as stale
+ * and is re-tightened on the next {@link #bounds()} call.</p>
+ * <p>Concurrent calls of {@link #bounds()} and of the edge accessors are allowed as long as the grid is not modified
+ * at the same time: stale edges are re-tightened by one reader at a time and published through a volatile flag.</p>
+ */
+final class Population {
+
+    private final Axis rows;
+
+    private final Axis columns;
+
+    private long size;
+
+    private long hash;
+
+    private volatile Bounds bounds = Bounds.EMPTY;
+
+    private Population(Axis rows, Axis columns) {
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    static Population dense(int rows, int cols) {
+        return new Population(new DenseAxis(rows), new DenseAxis(cols));
+    }
+
+    static Population sparse() {
+        return new Population(new SparseAxis(), new SparseAxis());
+    }
+
+    void spawned(int row, int col) {
+        boolean first = size++ == 0;
+        hash ^= Cells.hash(row, col);
+        if (rows.add(row, first) | columns.add(col, first)) {
+            bounds = null;
+        }
+    }
+
+    void died(int row, int col) {
+        boolean shrunk = rows.remove(row) | columns.remove(col);
+        hash ^= Cells.hash(row, col);
+        if (--size == 0) {
+            bounds = Bounds.EMPTY;
+        } else if (shrunk) {
+            bounds = null;
+        }
+    }
+
+    void clear() {
+        if (size == 0) return;
+        size = 0;
+        hash = 0;
+        rows.clear();
+        columns.clear();
+        bounds = Bounds.EMPTY;
+    }
+
+    Bounds bounds() {
+        Bounds b = bounds;
+        if (b == null) {
+            bounds = b = new Bounds(rows.min(), columns.min(), rows.max(), columns.max());
+        }
+        return b;
+    }
+
+    long hash() {
+        return hash;
+    }
+
+    // edges of the bounds, available without allocating them; undefined when there are no live cells
+
+    int fromRow() {
+        return rows.min();
+    }
+
+    int toRow() {
+        return rows.max();
+    }
+
+    int fromColumn() {
+        return columns.min();
+    }
+
+    int toColumn() {
+        return columns.max();
+    }
+
+    int row(int row) {
+        return rows.count(row);
+    }
+
+    int column(int col) {
+        return columns.count(col);
+    }
+
+    private static abstract class Axis {
+
+        int min;
+
+        int max;
+
+        // min or max may point to an empty index, but never lie inside of the actual extent;
+        // cleared only after min and max are written, so readers that see it cleared see the tight edges
+        volatile boolean stale;
+
+        abstract int count(int index);
+
+        abstract void increment(int index);
+
+        abstract int decrement(int index);
+
+        abstract void retighten();
+
+        abstract void reset();
+
+        final boolean add(int index, boolean first) {
+            increment(index);
+            if (first) {
+                min = max = index;
+                stale = false;
+                return true;
+            }
+            if (index < min) {
+                min = index;
+                return true;
+            }
+            if (index > max) {
+                max = index;
+                return true;
+            }
+            return false;
+        }
+
+        final boolean remove(int index) {
+            if (decrement(index) == 0 && (index == min || index == max)) {
+                stale = true;
+                return true;
+            }
+            return false;
+        }
+
+        final int min() {
+            if (stale) tighten();
+            return min;
+        }
+
+        final int max() {
+            if (stale) tighten();
+            return max;
+        }
+
+        // readers holding a shared lock of the grid may get here at the same time
+        private synchronized void tighten() {
+            if (stale) retighten();
+        }
+
+        final void clear() {
+            reset();
+            min = max = 0;
+            stale = false;
+        }
+    }
+
+    private static final class DenseAxis extends Axis {
+
+        private final int[] counts;
+
+        DenseAxis(int length) {
+            this.counts = new int[length];
+        }
+
+        @Override
+        int count(int index) {
+            return index >= 0 && index < counts.length ? counts[index] : 0;
+        }
+
+        @Override
+        void increment(int index) {
+            counts[index]++;
+        }
+
+        @Override
+        int decrement(int index) {
+            return --counts[index];
+        }
+
+        @Override
+        void retighten() {
+            // stale edges are always outside of the actual extent, so scanning inwards is enough
+            int lo = min;
+            while (counts[lo] == 0) lo++;
+            int hi = max;
+            while (counts[hi] == 0) hi--;
+            min = lo;
+            max = hi;
+            stale = false;
+        }
+
+        @Override
+        void reset() {
+            Arrays.fill(counts, 0);
+        }
+    }
+
+    private static final class SparseAxis extends Axis {
+
+        private final Int2IntOpenHashMap counts = new Int2IntOpenHashMap();
+
+        @Override
+        int count(int index) {
+            return counts.get(index);
+        }
+
+        @Override
+        void increment(int index) {
+            counts.addTo(index, 1);
+        }
+
+        @Override
+        int decrement(int index) {
+            int count = counts.addTo(index, -1) - 1;
+            if (count == 0) counts.remove(index);
+            return count;
+        }
+
+        @Override
+        void retighten() {
+            // only occupied indices are kept, so the scan is bounded by their amount rather than by the extent
+            int lo = Integer.MAX_VALUE;
+            int hi = Integer.MIN_VALUE;
+            for (IntIterator it = counts.keySet().iterator(); it.hasNext(); ) {
+                int index = it.nextInt();
+                if (index < lo) lo = index;
+                if (index > hi) hi = index;
+            }
+            min = lo;
+            max = hi;
+            stale = false;
+        }
+
+        @Override
+        void reset() {
+            counts.clear();
+        }
+    }
+}
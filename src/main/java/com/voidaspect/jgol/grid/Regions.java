@@ -0,0 +1,39 @@
+package com.voidaspect.jgol.grid;
+
+/**
+ * Validation and addressing of rectangular regions used by bulk operations of {@link Grid}.
+ */
+final class Regions {
+
+    private Regions() {
+    }
+
+    static void checkRegion(int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Region size expected to be non-negative, got " + rows + "x" + columns);
+        }
+    }
+
+    static void checkBits(int rows, int columns, long[] bits) {
+        checkRegion(rows, columns);
+        long words = (long) rows * wordsPerRow(columns);
+        if (bits.length < words) {
+            throw new IllegalArgumentException("Region " + rows + "x" + columns + " needs " + words +
+                    " words, got " + bits.length);
+        }
+    }
+
+    /**
+     * @return amount of words occupied by each row of a bit-packed region
+     */
+    static int wordsPerRow(int columns) {
+        return (columns + Long.SIZE - 1) >>> 6;
+    }
+
+    /**
+     * @return state of the cell of a bit-packed region
+     */
+    static boolean bit(long[] bits, int wordsPerRow, int row, int col) {
+        return (bits[row * wordsPerRow + (col >>> 6)] & 1L << col) != 0;
+    }
+}
@@ -0,0 +1,539 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.grid.cell.CellOperation;
+import com.voidaspect.jgol.grid.cell.Cells;
+import com.voidaspect.jgol.grid.cell.LongCellOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Infinite sparse grid with 64-bit coordinates, made of {@code 64x64} tiles that progress as independent tasks.
+ * <p>{@link #advance(long)} runs every tile on a {@link ForkJoinPool} and synchronizes each tile only with
+ * its eight neighbors: a tile computes the next generation as soon as its neighbors have computed the current one,
+ * so distant regions of the pattern may be several generations apart while the grid advances.
+ * Each tile keeps its current and next generation, a neighbor can't run more than one generation ahead of it.</p>
+ * <p>Live cells travel at most one cell per generation, so a pattern can't leave the tiles around its occupied tiles
+ * within {@value #SIDE} generations. Tiles are spawned next to occupied tiles and empty tiles with empty neighbors
+ * are retired only between such epochs, which is the only point where all tiles wait for each other.</p>
+ * <p>{@link #step(LongCellOperation, LongCellOperation)} progresses one generation within the current epoch,
+ * so a game built on the grid re-links tiles only every {@value #SIDE} generations as well.
+ * Each step still waits for all tiles to finish the generation before it returns,
+ * bulk progression without reporting changes should use {@link #advance(long)}.</p>
+ * <p>Like other grids, it must not be accessed while it advances. As a {@link Grid}, it's limited to
+ * the range of {@code int} the same way as {@link TiledGrid}.</p>
+ */
+public final class TileActorGrid implements Grid, LongGrid {
+
+    private static final int SHIFT = 6;
+
+    private static final int SIDE = 1 << SHIFT;
+
+    private static final long[] EMPTY = new long[SIDE];
+
+    //@formatter:off
+    private static final int NORTH_WEST = 0, NORTH = 1, NORTH_EAST = 2,
+                             WEST       = 3,             EAST       = 4,
+                             SOUTH_WEST = 5, SOUTH = 6, SOUTH_EAST = 7;
+    //@formatter:on
+
+    private static final int[] ROW_OFFSETS = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+    private static final int[] COL_OFFSETS = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+    private final ForkJoinPool pool;
+
+    private final List<Tile> tiles = new ArrayList<>();
+
+    // index of a tile in the list plus one
+    private final TileMap index = new TileMap();
+
+    private long generation;
+
+    // tiles are linked for generations before this one, modification of the grid ends the epoch early
+    private long linkedUntil;
+
+    private long liveCells;
+
+    private long hash;
+
+    public TileActorGrid() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TileActorGrid(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public TileActorGrid(boolean[][] initial) {
+        this();
+        if (initial == null) return;
+        for (int row = 0; row < initial.length; row++) {
+            boolean[] cells = initial[row];
+            if (cells == null) continue;
+            for (int col = 0; col < cells.length; col++) {
+                if (cells[col]) set(row, col, true);
+            }
+        }
+    }
+
+    /**
+     * @return amount of tiles that take part in the next generation, occupied or not
+     */
+    public int tileCount() {
+        return tiles.size();
+    }
+
+    @Override
+    public boolean get(long row, long col) {
+        var tile = tile(row >> SHIFT, col >> SHIFT);
+        return tile != null && (tile.current(generation)[(int) (row & SIDE - 1)] & 1L << col) != 0;
+    }
+
+    @Override
+    public void set(long row, long col, boolean state) {
+        long tileRow = row >> SHIFT;
+        long tileCol = col >> SHIFT;
+        var tile = tile(tileRow, tileCol);
+        if (tile == null) {
+            if (!state) return;
+            tile = new Tile(tileRow, tileCol);
+            tiles.add(tile);
+            index.put(tileRow, tileCol, tiles.size());
+        }
+        long[] board = tile.current(generation);
+        int r = (int) (row & SIDE - 1);
+        long bit = 1L << col;
+        if (((board[r] & bit) != 0) == state) return;
+        linkedUntil = generation;
+        board[r] ^= bit;
+        long cellHash = Cells.hash(row, col);
+        tile.hash ^= cellHash;
+        hash ^= cellHash;
+        if (state) {
+            tile.population++;
+            liveCells++;
+        } else {
+            tile.population--;
+            liveCells--;
+        }
+    }
+
+    private Tile tile(long tileRow, long tileCol) {
+        int i = (int) index.get(tileRow, tileCol);
+        return i == 0 ? null : tiles.get(i - 1);
+    }
+
+    @Override
+    public int neighbors(long row, long col) {
+        //@formatter:off
+        long up    = row - 1;
+        long down  = row + 1;
+        long left  = col - 1;
+        long right = col + 1;
+        return value(up,   right) + value(up,   col) + value(up,   left) +
+               value(row,  right) + /* this cell */  + value(row,  left) +
+               value(down, right) + value(down, col) + value(down, left);
+        //@formatter:on
+    }
+
+    private int value(long row, long col) {
+        return get(row, col) ? 1 : 0;
+    }
+
+    @Override
+    public void forEachAlive(LongCellOperation operation) {
+        for (var tile : tiles) {
+            if (tile.population == 0) continue;
+            long[] board = tile.current(generation);
+            for (int r = 0; r < SIDE; r++) {
+                for (long b = board[r]; b != 0; b &= b - 1) {
+                    operation.apply((tile.row << SHIFT) + r, (tile.col << SHIFT) + Long.numberOfTrailingZeros(b));
+                }
+            }
+        }
+    }
+
+    @Override
+    public long liveCells() {
+        return liveCells;
+    }
+
+    @Override
+    public long contentHash() {
+        return hash;
+    }
+
+    @Override
+    public void clear() {
+        linkedUntil = generation;
+        tiles.clear();
+        index.clear();
+        liveCells = 0;
+        hash = 0;
+    }
+
+    /**
+     * Replaces the pattern with its next generation.
+     *
+     * @param spawned called for every cell that becomes alive, may be {@code null}
+     * @param died    called for every cell that dies, may be {@code null}
+     * @return amount of cells that changed their state
+     * @throws RuntimeException thrown by a callback, the grid is then already in the next generation
+     */
+    public long step(LongCellOperation spawned, LongCellOperation died) {
+        if (generation >= linkedUntil) prepare();
+        run(1);
+        long changes = 0;
+        for (var tile : tiles) {
+            long[] board = tile.current(generation);
+            long[] old = tile.current(generation - 1);
+            for (int r = 0; r < SIDE; r++) {
+                changes += report(tile, r, board[r] & ~old[r], spawned);
+                changes += report(tile, r, old[r] & ~board[r], died);
+            }
+        }
+        return changes;
+    }
+
+    private static long report(Tile tile, int r, long cells, LongCellOperation operation) {
+        if (operation != null) {
+            for (long b = cells; b != 0; b &= b - 1) {
+                operation.apply((tile.row << SHIFT) + r, (tile.col << SHIFT) + Long.numberOfTrailingZeros(b));
+            }
+        }
+        return Long.bitCount(cells);
+    }
+
+    /**
+     * Progresses the pattern by given amount of generations.
+     */
+    public void advance(long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generations expected to be non-negative, got " + generations);
+        }
+        while (generations > 0) {
+            int steps = (int) Math.min(generations, SIDE);
+            prepare();
+            run(steps);
+            generations -= steps;
+        }
+    }
+
+    private void run(int steps) {
+        if (!tiles.isEmpty()) new Epoch(steps).run();
+        generation += steps;
+        long population = 0;
+        long contentHash = 0;
+        for (var tile : tiles) {
+            population += tile.population;
+            contentHash ^= tile.hash;
+        }
+        liveCells = population;
+        hash = contentHash;
+    }
+
+    /**
+     * Spawns empty tiles around occupied ones, retires empty tiles without occupied neighbors and links the rest.
+     */
+    private void prepare() {
+        linkedUntil = generation + SIDE;
+        int occupied = tiles.size();
+        for (int i = 0; i < occupied; i++) {
+            var tile = tiles.get(i);
+            if (tile.population == 0) continue;
+            for (int d = 0; d < ROW_OFFSETS.length; d++) {
+                long row = tile.row + ROW_OFFSETS[d];
+                long col = tile.col + COL_OFFSETS[d];
+                if (tile(row, col) == null) {
+                    tiles.add(new Tile(row, col));
+                    index.put(row, col, tiles.size());
+                }
+            }
+        }
+        var kept = new ArrayList<Tile>(tiles.size());
+        for (var tile : tiles) {
+            if (tile.population > 0 || hasOccupiedNeighbor(tile)) kept.add(tile);
+        }
+        tiles.clear();
+        tiles.addAll(kept);
+        index.clear();
+        for (int i = 0; i < tiles.size(); i++) {
+            var tile = tiles.get(i);
+            index.put(tile.row, tile.col, i + 1);
+        }
+        for (var tile : tiles) {
+            int parties = 1;
+            for (int d = 0; d < ROW_OFFSETS.length; d++) {
+                var neighbor = tile(tile.row + ROW_OFFSETS[d], tile.col + COL_OFFSETS[d]);
+                tile.neighbors[d] = neighbor;
+                if (neighbor != null) parties++;
+            }
+            tile.parties = parties;
+            tile.arrivals.set(0, 0);
+            tile.arrivals.set(1, 0);
+        }
+    }
+
+    private boolean hasOccupiedNeighbor(Tile tile) {
+        for (int d = 0; d < ROW_OFFSETS.length; d++) {
+            var neighbor = tile(tile.row + ROW_OFFSETS[d], tile.col + COL_OFFSETS[d]);
+            if (neighbor != null && neighbor.population > 0) return true;
+        }
+        return false;
+    }
+
+    // int view
+
+    @Override
+    public boolean get(int row, int col) {
+        return get((long) row, col);
+    }
+
+    @Override
+    public void set(int row, int col, boolean state) {
+        set((long) row, col, state);
+    }
+
+    @Override
+    public int neighbors(int row, int col) {
+        return neighbors((long) row, col);
+    }
+
+    @Override
+    public boolean[][] snapshot(int fromRow, int fromColumn, int rows, int columns) {
+        boolean[][] snapshot = new boolean[rows][columns];
+        forEachAlive((long row, long col) -> {
+            long r = row - fromRow;
+            long c = col - fromColumn;
+            if (r >= 0 && r < rows && c >= 0 && c < columns) snapshot[(int) r][(int) c] = true;
+        });
+        return snapshot;
+    }
+
+    /**
+     * @throws ArithmeticException if a live cell lies outside of {@code int} range
+     */
+    @Override
+    public void forEachAlive(CellOperation operation) {
+        forEachAlive((long row, long col) -> operation.apply(Math.toIntExact(row), Math.toIntExact(col)));
+    }
+
+    /**
+     * @throws ArithmeticException if a live cell lies outside of {@code int} range
+     */
+    @Override
+    public Bounds bounds() {
+        if (liveCells == 0) return Bounds.EMPTY;
+        long[] edges = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+        forEachAlive((long row, long col) -> {
+            edges[0] = Math.min(edges[0], row);
+            edges[1] = Math.min(edges[1], col);
+            edges[2] = Math.max(edges[2], row);
+            edges[3] = Math.max(edges[3], col);
+        });
+        return new Bounds(Math.toIntExact(edges[0]), Math.toIntExact(edges[1]),
+                Math.toIntExact(edges[2]), Math.toIntExact(edges[3]));
+    }
+
+    @Override
+    public int rowPopulation(int row) {
+        long tileRow = row >> SHIFT;
+        int r = row & SIDE - 1;
+        int population = 0;
+        for (var tile : tiles) {
+            if (tile.row == tileRow) population += Long.bitCount(tile.current(generation)[r]);
+        }
+        return population;
+    }
+
+    @Override
+    public int columnPopulation(int col) {
+        long tileCol = col >> SHIFT;
+        long bit = 1L << col;
+        int population = 0;
+        for (var tile : tiles) {
+            if (tile.col != tileCol) continue;
+            for (long cells : tile.current(generation)) {
+                if ((cells & bit) != 0) population++;
+            }
+        }
+        return population;
+    }
+
+    private static final class Tile {
+
+        final long row;
+
+        final long col;
+
+        // generation g is kept in board g % 2, the other one receives the next generation
+        final long[][] boards = new long[2][SIDE];
+
+        final Tile[] neighbors = new Tile[ROW_OFFSETS.length];
+
+        // arrivals of this tile and its neighbors at the current and the next step of an epoch
+        final AtomicIntegerArray arrivals = new AtomicIntegerArray(2);
+
+        int parties;
+
+        int population;
+
+        // hash of live cells of the tile
+        long hash;
+
+        Tile(long row, long col) {
+            this.row = row;
+            this.col = col;
+        }
+
+        long[] current(long generation) {
+            return boards[(int) (generation & 1)];
+        }
+
+        long[] neighbor(int direction, long generation) {
+            var neighbor = neighbors[direction];
+            return neighbor == null ? EMPTY : neighbor.current(generation);
+        }
+
+        /**
+         * Computes generation {@code generation + 1} from the current generation of this tile and its neighbors.
+         */
+        void step(long generation) {
+            long[] board = current(generation);
+            long[] next = current(generation + 1);
+            long[] n = neighbor(NORTH, generation);
+            long[] s = neighbor(SOUTH, generation);
+            long[] w = neighbor(WEST, generation);
+            long[] e = neighbor(EAST, generation);
+            long[] nw = neighbor(NORTH_WEST, generation);
+            long[] ne = neighbor(NORTH_EAST, generation);
+            long[] sw = neighbor(SOUTH_WEST, generation);
+            long[] se = neighbor(SOUTH_EAST, generation);
+            int count = 0;
+            for (int r = 0; r < SIDE; r++) {
+                //@formatter:off
+                long up    = r > 0        ? board[r - 1] : n[SIDE - 1];
+                long upW   = r > 0        ? w[r - 1]     : nw[SIDE - 1];
+                long upE   = r > 0        ? e[r - 1]     : ne[SIDE - 1];
+                long down  = r < SIDE - 1 ? board[r + 1] : s[0];
+                long downW = r < SIDE - 1 ? w[r + 1]     : sw[0];
+                long downE = r < SIDE - 1 ? e[r + 1]     : se[0];
+                //@formatter:on
+                long cells = board[r];
+                next[r] = next(cells,
+                        fromWest(up, upW), up, fromEast(up, upE),
+                        fromWest(cells, w[r]), fromEast(cells, e[r]),
+                        fromWest(down, downW), down, fromEast(down, downE));
+                count += Long.bitCount(next[r]);
+                for (long b = next[r] ^ cells; b != 0; b &= b - 1) {
+                    hash ^= Cells.hash((row << SHIFT) + r, (col << SHIFT) + Long.numberOfTrailingZeros(b));
+                }
+            }
+            population = count;
+        }
+
+        /**
+         * Sums eight neighbor planes with a carry-save adder tree: ones, twos and a saturating "four or more".
+         *
+         * @return next state of the cells, survival with 2 or 3 neighbors, birth with 3
+         */
+        private static long next(long cells, long a, long b, long c, long d, long e, long f, long g, long h) {
+            long ab = a ^ b;
+            long s1 = ab ^ c;
+            long c1 = a & b | ab & c;
+            long de = d ^ e;
+            long s2 = de ^ f;
+            long c2 = d & e | de & f;
+            long s12 = s1 ^ s2;
+            long s3 = s12 ^ g;
+            long c3 = s1 & s2 | s12 & g;
+            long ones = s3 ^ h;
+            long c4 = s3 & h;
+            long twos = c1 ^ c2 ^ c3 ^ c4;
+            long fours = c1 & c2 | c3 & c4 | (c1 ^ c2) & (c3 ^ c4);
+            return ~fours & twos & (ones | cells);
+        }
+
+        private static long fromWest(long cells, long west) {
+            return cells << 1 | west >>> (SIDE - 1);
+        }
+
+        private static long fromEast(long cells, long east) {
+            return cells >>> 1 | east << (SIDE - 1);
+        }
+    }
+
+    /**
+     * Generations between two points where the set of tiles may change.
+     */
+    private final class Epoch {
+
+        private final long start = generation;
+
+        private final int steps;
+
+        private final AtomicLong remaining;
+
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        private volatile Throwable failure;
+
+        Epoch(int steps) {
+            this.steps = steps;
+            this.remaining = new AtomicLong((long) tiles.size() * steps);
+        }
+
+        void run() {
+            for (var tile : tiles) {
+                pool.execute(() -> step(tile, 0));
+            }
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    finished.await();
+                    break;
+                } catch (InterruptedException e) {
+                    // tiles are being rewritten, the grid can't be left in the middle of an epoch
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            if (failure != null) {
+                // arrivals of the tiles are left in the middle of a step
+                linkedUntil = generation;
+                throw new IllegalStateException("Tile failed to progress", failure);
+            }
+        }
+
+        private void step(Tile tile, int step) {
+            try {
+                tile.step(start + step);
+                arrive(tile, step);
+                for (var neighbor : tile.neighbors) {
+                    if (neighbor != null) arrive(neighbor, step);
+                }
+                if (remaining.decrementAndGet() == 0) finished.countDown();
+            } catch (Throwable e) {
+                failure = e;
+                finished.countDown();
+            }
+        }
+
+        /**
+         * Schedules the next step of a tile once the tile and all its neighbors have completed the step.
+         */
+        private void arrive(Tile tile, int completed) {
+            int slot = completed & 1;
+            if (tile.arrivals.incrementAndGet(slot) < tile.parties) return;
+            // slot is reused two steps later, which needs the next step of this tile to complete first
+            tile.arrivals.set(slot, 0);
+            int next = completed + 1;
+            if (next < steps) pool.execute(() -> step(tile, next));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.voidaspect.jgol.grid;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from a pair of {@code long} tile coordinates to a bitboard.
+ * <p>Coordinates of tiles don't fit into a single {@code long} together, so neither the cell packing
+ * of {@link com.voidaspect.jgol.grid.cell.Cells} nor a primitive map of fastutil can be used as a key.</p>
+ */
+final class TileMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] rows;
+
+    private long[] cols;
+
+    private long[] boards;
+
+    private boolean[] used;
+
+    private int mask;
+
+    private int size;
+
+    TileMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(long row, long col) {
+        for (int i = slot(row, col); used[i]; i = i + 1 & mask) {
+            if (rows[i] == row && cols[i] == col) return boards[i];
+        }
+        return 0;
+    }
+
+    boolean contains(long row, long col) {
+        for (int i = slot(row, col); used[i]; i = i + 1 & mask) {
+            if (rows[i] == row && cols[i] == col) return true;
+        }
+        return false;
+    }
+
+    void put(long row, long col, long board) {
+        int i = slot(row, col);
+        for (; used[i]; i = i + 1 & mask) {
+            if (rows[i] == row && cols[i] == col) {
+                boards[i] = board;
+                return;
+            }
+        }
+        used[i] = true;
+        rows[i] = row;
+        cols[i] = col;
+        boards[i] = board;
+        // load factor is kept at 1/2
+        if (++size > mask >>> 1) allocate(used.length << 1);
+    }
+
+    void remove(long row, long col) {
+        int i = slot(row, col);
+        for (; used[i]; i = i + 1 & mask) {
+            if (rows[i] == row && cols[i] == col) break;
+        }
+        if (!used[i]) return;
+        size--;
+        // entries that follow are shifted back, so that probe sequences stay unbroken
+        for (int gap = i, next = gap + 1 & mask; ; next = next + 1 & mask) {
+            if (!used[next]) {
+                used[gap] = false;
+                return;
+            }
+            int home = slot(rows[next], cols[next]);
+            // entry can fill the gap if its home slot isn't cyclically in (gap, next]
+            if ((next - home & mask) >= (next - gap & mask)) {
+                rows[gap] = rows[next];
+                cols[gap] = cols[next];
+                boards[gap] = boards[next];
+                gap = next;
+            }
+        }
+    }
+
+    /**
+     * Removes all tiles, memory is kept for reuse.
+     */
+    void clear() {
+        if (size == 0) return;
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Map must not be modified while iterating over it.
+     */
+    void forEach(TileOperation operation) {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) operation.apply(rows[i], cols[i], boards[i]);
+        }
+    }
+
+    private int slot(long row, long col) {
+        long hash = (row * 0x9E3779B97F4A7C15L + col) * 0xC2B2AE3D27D4EB4FL;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private void allocate(int capacity) {
+        long[] oldRows = rows;
+        long[] oldCols = cols;
+        long[] oldBoards = boards;
+        boolean[] oldUsed = used;
+        rows = new long[capacity];
+        cols = new long[capacity];
+        boards = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+        if (oldUsed == null) return;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) put(oldRows[i], oldCols[i], oldBoards[i]);
+        }
+    }
+
+    @FunctionalInterface
+    interface TileOperation {
+
+        void apply(long row, long col, long board);
+
+    }
+}
@@ -0,0 +1,338 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.grid.cell.CellOperation;
+import com.voidaspect.jgol.grid.cell.Cells;
+import com.voidaspect.jgol.grid.cell.LongCellOperation;
+
+/**
+ * Infinite sparse grid with 64-bit coordinates, made of {@code 8x8} tiles.
+ * <p>Each tile with live cells is a bitboard, where bit {@code row * 8 + col} is set for a live cell,
+ * stored in a hash map keyed by the pair of tile coordinates. Patterns may travel anywhere in the {@code long} range.</p>
+ * <p>{@link #step(LongCellOperation, LongCellOperation)} computes the next generation a tile at a time with
+ * bitwise operations. As a {@link Grid}, it's limited to the range of {@code int}: methods that report live cells
+ * throw {@link ArithmeticException} instead of wrapping around once the pattern leaves it.
+ * Population of rows and columns is not maintained and is counted on demand.</p>
+ */
+public final class TiledGrid implements Grid, LongGrid {
+
+    private static final int SHIFT = 3;
+
+    private static final int SIDE = 1 << SHIFT;
+
+    private static final long COL_FIRST = 0x0101010101010101L;
+
+    private static final long COL_LAST = 0x8080808080808080L;
+
+    private static final long ROW_FIRST = 0xFFL;
+
+    private static final long ROW_LAST = 0xFFL << 56;
+
+    private final TileMap tiles;
+
+    // scratch map of the next generation, reused by every step
+    private final TileMap next;
+
+    private long liveCells;
+
+    private long hash;
+
+    public TiledGrid() {
+        this.tiles = new TileMap();
+        this.next = new TileMap();
+    }
+
+    public TiledGrid(boolean[][] initial) {
+        this();
+        if (initial == null) return;
+        for (int row = 0; row < initial.length; row++) {
+            boolean[] cells = initial[row];
+            if (cells == null) continue;
+            for (int col = 0; col < cells.length; col++) {
+                if (cells[col]) set(row, col, true);
+            }
+        }
+    }
+
+    @Override
+    public boolean get(long row, long col) {
+        return (tiles.get(row >> SHIFT, col >> SHIFT) & bit(row, col)) != 0;
+    }
+
+    @Override
+    public void set(long row, long col, boolean state) {
+        long tileRow = row >> SHIFT;
+        long tileCol = col >> SHIFT;
+        long board = tiles.get(tileRow, tileCol);
+        long bit = bit(row, col);
+        if (((board & bit) != 0) == state) return;
+        board ^= bit;
+        hash ^= Cells.hash(row, col);
+        if (state) {
+            liveCells++;
+            tiles.put(tileRow, tileCol, board);
+        } else {
+            liveCells--;
+            if (board == 0) {
+                tiles.remove(tileRow, tileCol);
+            } else {
+                tiles.put(tileRow, tileCol, board);
+            }
+        }
+    }
+
+    @Override
+    public int neighbors(long row, long col) {
+        //@formatter:off
+        long up    = row - 1;
+        long down  = row + 1;
+        long left  = col - 1;
+        long right = col + 1;
+        return value(up,   right) + value(up,   col) + value(up,   left) +
+               value(row,  right) + /* this cell */  + value(row,  left) +
+               value(down, right) + value(down, col) + value(down, left);
+        //@formatter:on
+    }
+
+    private int value(long row, long col) {
+        return get(row, col) ? 1 : 0;
+    }
+
+    @Override
+    public void forEachAlive(LongCellOperation operation) {
+        tiles.forEach((tileRow, tileCol, board) -> {
+            for (long b = board; b != 0; b &= b - 1) {
+                int bit = Long.numberOfTrailingZeros(b);
+                operation.apply((tileRow << SHIFT) + (bit >>> SHIFT), (tileCol << SHIFT) + (bit & SIDE - 1));
+            }
+        });
+    }
+
+    @Override
+    public long liveCells() {
+        return liveCells;
+    }
+
+    @Override
+    public long contentHash() {
+        return hash;
+    }
+
+    @Override
+    public void clear() {
+        tiles.clear();
+        liveCells = 0;
+        hash = 0;
+    }
+
+    /**
+     * Replaces the pattern with its next generation.
+     *
+     * @param spawned called for every cell that becomes alive, may be {@code null}
+     * @param died    called for every cell that dies, may be {@code null}
+     * @return amount of cells that changed their state
+     * @throws RuntimeException thrown by a callback, the grid then stays in its current generation
+     */
+    public long step(LongCellOperation spawned, LongCellOperation died) {
+        var current = tiles;
+        var result = next;
+        result.clear();
+        current.forEach((tileRow, tileCol, board) -> {
+            // empty neighbor tiles are evaluated only when the tile's facing edge has live cells
+            //@formatter:off
+            evaluate(current, result, tileRow - 1, tileCol - 1, board & 1L);
+            evaluate(current, result, tileRow - 1, tileCol,     board & ROW_FIRST);
+            evaluate(current, result, tileRow - 1, tileCol + 1, board & 1L << 7);
+            evaluate(current, result, tileRow,     tileCol - 1, board & COL_FIRST);
+            evaluate(current, result, tileRow,     tileCol,     board);
+            evaluate(current, result, tileRow,     tileCol + 1, board & COL_LAST);
+            evaluate(current, result, tileRow + 1, tileCol - 1, board & 1L << 56);
+            evaluate(current, result, tileRow + 1, tileCol,     board & ROW_LAST);
+            evaluate(current, result, tileRow + 1, tileCol + 1, board & 1L << 63);
+            //@formatter:on
+        });
+        long[] changes = new long[2];
+        long[] population = new long[1];
+        long[] hash = {this.hash};
+        result.forEach((tileRow, tileCol, board) -> {
+            long old = current.get(tileRow, tileCol);
+            population[0] += Long.bitCount(board);
+            changes[0] += report(tileRow, tileCol, board & ~old, spawned);
+            changes[1] += report(tileRow, tileCol, old & ~board, died);
+            for (long b = board ^ old; b != 0; b &= b - 1) {
+                int bit = Long.numberOfTrailingZeros(b);
+                hash[0] ^= Cells.hash((tileRow << SHIFT) + (bit >>> SHIFT), (tileCol << SHIFT) + (bit & SIDE - 1));
+            }
+        });
+        // tiles that stayed empty were only kept in the result to avoid evaluating them twice
+        current.clear();
+        result.forEach((tileRow, tileCol, board) -> {
+            if (board != 0) current.put(tileRow, tileCol, board);
+        });
+        liveCells = population[0];
+        this.hash = hash[0];
+        return changes[0] + changes[1];
+    }
+
+    private static long report(long tileRow, long tileCol, long cells, LongCellOperation operation) {
+        if (operation != null) {
+            for (long b = cells; b != 0; b &= b - 1) {
+                int bit = Long.numberOfTrailingZeros(b);
+                operation.apply((tileRow << SHIFT) + (bit >>> SHIFT), (tileCol << SHIFT) + (bit & SIDE - 1));
+            }
+        }
+        return Long.bitCount(cells);
+    }
+
+    private static void evaluate(TileMap current, TileMap result, long tileRow, long tileCol, long edge) {
+        if (result.contains(tileRow, tileCol)) return;
+        long board = current.get(tileRow, tileCol);
+        if (board == 0 && edge == 0) return;
+
+        long n = current.get(tileRow - 1, tileCol);
+        long s = current.get(tileRow + 1, tileCol);
+        long w = current.get(tileRow, tileCol - 1);
+        long e = current.get(tileRow, tileCol + 1);
+        long nw = current.get(tileRow - 1, tileCol - 1);
+        long ne = current.get(tileRow - 1, tileCol + 1);
+        long sw = current.get(tileRow + 1, tileCol - 1);
+        long se = current.get(tileRow + 1, tileCol + 1);
+
+        // every plane holds the state of one of the neighbors of each cell
+        long west = fromWest(board, w);
+        long east = fromEast(board, e);
+        long northWest = fromWest(n, nw);
+        long northEast = fromEast(n, ne);
+        long southWest = fromWest(s, sw);
+        long southEast = fromEast(s, se);
+
+        result.put(tileRow, tileCol, next(board,
+                fromNorth(board, n), fromSouth(board, s), west, east,
+                fromNorth(west, northWest), fromNorth(east, northEast),
+                fromSouth(west, southWest), fromSouth(east, southEast)));
+    }
+
+    /**
+     * Sums eight neighbor planes with a carry-save adder tree: ones, twos and a saturating "four or more".
+     *
+     * @return next state of the cells, survival with 2 or 3 neighbors, birth with 3
+     */
+    private static long next(long cells, long a, long b, long c, long d, long e, long f, long g, long h) {
+        long ab = a ^ b;
+        long s1 = ab ^ c;
+        long c1 = a & b | ab & c;
+        long de = d ^ e;
+        long s2 = de ^ f;
+        long c2 = d & e | de & f;
+        long s12 = s1 ^ s2;
+        long s3 = s12 ^ g;
+        long c3 = s1 & s2 | s12 & g;
+        long ones = s3 ^ h;
+        long c4 = s3 & h;
+        long twos = c1 ^ c2 ^ c3 ^ c4;
+        long fours = c1 & c2 | c3 & c4 | (c1 ^ c2) & (c3 ^ c4);
+        return ~fours & twos & (ones | cells);
+    }
+
+    private static long fromWest(long board, long west) {
+        return (board << 1 & ~COL_FIRST) | (west >>> 7 & COL_FIRST);
+    }
+
+    private static long fromEast(long board, long east) {
+        return (board >>> 1 & ~COL_LAST) | (east << 7 & COL_LAST);
+    }
+
+    private static long fromNorth(long board, long north) {
+        return board << SIDE | north >>> 56;
+    }
+
+    private static long fromSouth(long board, long south) {
+        return board >>> SIDE | south << 56;
+    }
+
+    private static long bit(long row, long col) {
+        return 1L << (((row & SIDE - 1) << SHIFT) + (col & SIDE - 1));
+    }
+
+    // int view
+
+    @Override
+    public boolean get(int row, int col) {
+        return get((long) row, col);
+    }
+
+    @Override
+    public void set(int row, int col, boolean state) {
+        set((long) row, col, state);
+    }
+
+    @Override
+    public int neighbors(int row, int col) {
+        return neighbors((long) row, col);
+    }
+
+    @Override
+    public boolean[][] snapshot(int fromRow, int fromColumn, int rows, int columns) {
+        boolean[][] snapshot = new boolean[rows][columns];
+        forEachAlive((long row, long col) -> {
+            long r = row - fromRow;
+            long c = col - fromColumn;
+            if (r >= 0 && r < rows && c >= 0 && c < columns) snapshot[(int) r][(int) c] = true;
+        });
+        return snapshot;
+    }
+
+    /**
+     * @throws ArithmeticException if a live cell lies outside of {@code int} range
+     */
+    @Override
+    public void forEachAlive(CellOperation operation) {
+        forEachAlive((long row, long col) -> operation.apply(Math.toIntExact(row), Math.toIntExact(col)));
+    }
+
+    /**
+     * @throws ArithmeticException if a live cell lies outside of {@code int} range
+     */
+    @Override
+    public Bounds bounds() {
+        if (liveCells == 0) return Bounds.EMPTY;
+        long[] edges = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+        tiles.forEach((tileRow, tileCol, board) -> {
+            long rowBits = board;
+            long colBits = board | board >>> 32;
+            colBits |= colBits >>> 16;
+            colBits = (colBits | colBits >>> 8) & ROW_FIRST;
+            long top = (tileRow << SHIFT) + (Long.numberOfTrailingZeros(rowBits) >>> SHIFT);
+            long bottom = (tileRow << SHIFT) + (63 - Long.numberOfLeadingZeros(rowBits) >>> SHIFT);
+            long left = (tileCol << SHIFT) + Long.numberOfTrailingZeros(colBits);
+            long right = (tileCol << SHIFT) + 63 - Long.numberOfLeadingZeros(colBits);
+            edges[0] = Math.min(edges[0], top);
+            edges[1] = Math.min(edges[1], left);
+            edges[2] = Math.max(edges[2], bottom);
+            edges[3] = Math.max(edges[3], right);
+        });
+        return new Bounds(Math.toIntExact(edges[0]), Math.toIntExact(edges[1]),
+                Math.toIntExact(edges[2]), Math.toIntExact(edges[3]));
+    }
+
+    @Override
+    public int rowPopulation(int row) {
+        long tileRow = row >> SHIFT;
+        long mask = ROW_FIRST << ((row & SIDE - 1) << SHIFT);
+        int[] population = new int[1];
+        tiles.forEach((r, c, board) -> {
+            if (r == tileRow) population[0] += Long.bitCount(board & mask);
+        });
+        return population[0];
+    }
+
+    @Override
+    public int columnPopulation(int col) {
+        long tileCol = col >> SHIFT;
+        long mask = COL_FIRST << (col & SIDE - 1);
+        int[] population = new int[1];
+        tiles.forEach((r, c, board) -> {
+            if (c == tileCol) population[0] += Long.bitCount(board & mask);
+        });
+        return population[0];
+    }
+}
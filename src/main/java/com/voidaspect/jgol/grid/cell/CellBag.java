@@ -8,6 +8,8 @@ import java.util.Arrays;
  * <ol>
  *     <li>to add cell indices one by one</li>
  *     <li>to perform {@link CellOperation} on all cells</li>
+ *     <li>to sort cells in row-major order</li>
+ *     <li>to be cleared and reused, keeping its capacity</li>
  * </ol>
  */
 public final class CellBag {
@@ -16,6 +18,9 @@ public final class CellBag {
 
     private static final int INITIAL_CAPACITY = 64;
 
+    // flips sign of the packed column, so that signed order of packed cells becomes row-major
+    private static final long COLUMN_SIGN = 0x80000000L;
+
     private long[] cells;
 
     private int size;
@@ -31,7 +36,7 @@ public final class CellBag {
 
     public void add(int row, int col) {
         //region ensure capacity
-        if (size == 0) { // initial allocation
+        if (capacity == 0) { // initial allocation
             capacity = INITIAL_CAPACITY;
             cells = new long[INITIAL_CAPACITY];
         } else if (size == capacity) { // resize on-demand
@@ -51,8 +56,65 @@ public final class CellBag {
         cells[index] = Cells.pack(row, col);
     }
 
+    /**
+     * Removes all cells, capacity is kept.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Shrinks the bag to given capacity, but not below its size.
+     */
+    public void trim(int capacity) {
+        int trimmed = Math.max(capacity, size);
+        if (trimmed >= this.capacity) return;
+        this.capacity = trimmed;
+        cells = trimmed == 0 ? null : Arrays.copyOf(cells, trimmed);
+    }
+
     public int size() {
         return size;
     }
 
+    /**
+     * @return amount of cells the bag can hold without growing
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @param index index of a cell, from 0 inclusive to {@link #size()} exclusive
+     * @return packed cell
+     * @see Cells#pack(int, int)
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return cells[index];
+    }
+
+    /**
+     * Copies packed cells to the array.
+     *
+     * @param target array of at least {@code offset + size()} length
+     * @param offset starting position in the target array
+     */
+    public void copyTo(long[] target, int offset) {
+        if (size == 0) return;
+        System.arraycopy(cells, 0, target, offset, size);
+    }
+
+    /**
+     * Sorts cells by row, then by column.
+     */
+    public void sort() {
+        if (size < 2) return;
+        for (int i = 0; i < size; i++) cells[i] ^= COLUMN_SIGN;
+        Arrays.sort(cells, 0, size);
+        for (int i = 0; i < size; i++) cells[i] ^= COLUMN_SIGN;
+    }
+
 }
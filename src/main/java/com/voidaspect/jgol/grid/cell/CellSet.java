@@ -12,4 +12,12 @@ public final class CellSet extends AbstractCellSet<LongOpenHashSet> {
         super(new LongOpenHashSet(size));
     }
 
+    /**
+     * Shrinks the hash table, so that it's just large enough to hold given amount of cells.
+     * <p>{@link #clear()} keeps the table, this method releases the memory after the set was used for a lot of cells.</p>
+     */
+    public void trim(int size) {
+        cells.trim(size);
+    }
+
 }
@@ -17,4 +17,17 @@ public final class Cells {
         return (int) cell;
     }
 
+    /**
+     * @return well-mixed 64-bit hash of a cell, hash of a set of cells is a XOR of hashes of its cells
+     */
+    public static long hash(long row, long col) {
+        return mix(mix(row) ^ col);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
 }
@@ -0,0 +1,11 @@
+package com.voidaspect.jgol.grid.cell;
+
+/**
+ * {@link CellOperation} for 64-bit coordinates.
+ */
+@FunctionalInterface
+public interface LongCellOperation {
+
+    void apply(long row, long col);
+
+}
@@ -0,0 +1,250 @@
+package com.voidaspect.jgol.host;
+
+import com.voidaspect.jgol.GameOfLife;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Progresses many independent games on a fixed amount of worker threads.
+ * <p>Games wait in a single queue ordered by the time their next generation is due, games due at the same time
+ * are taken in the order they were queued. A worker progresses one generation of the earliest due game
+ * and puts it back, so a slow or fast game never holds a worker for more than a generation
+ * and games fall behind evenly when workers can't keep up with the target rates.
+ * Frozen games only cost a check of {@link GameOfLife#isFrozen()} per due generation.</p>
+ * <p>A game is never progressed by two workers at once, but it is progressed by different threads over time,
+ * so games read or modified outside the host have to be {@link com.voidaspect.jgol.game.GameOfLifeBuilder#setThreadSafe thread-safe}.</p>
+ */
+public final class GameHost implements AutoCloseable {
+
+    private static final Comparator<HostedGame> DUE_ORDER = Comparator
+            .<HostedGame>comparingLong(game -> game.due)
+            .thenComparingLong(game -> game.sequence);
+
+    // keeps due times of delayed games from overflowing
+    private static final Duration MAX_DELAY = Duration.ofDays(365);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    // guarded by lock
+    private final PriorityQueue<HostedGame> queue = new PriorityQueue<>(DUE_ORDER);
+
+    // guarded by lock
+    private long sequence;
+
+    // guarded by lock, removed games still waiting in the queue
+    private int stale;
+
+    // guarded by lock
+    private boolean closed;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final Thread[] workers;
+
+    /**
+     * @param workers amount of worker threads
+     */
+    public GameHost(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Workers expected to be positive, got " + workers);
+        }
+        this.workers = new Thread[workers];
+        for (int i = 0; i < workers; i++) {
+            var worker = new Thread(this::work, "game-host-" + i);
+            worker.setDaemon(true);
+            this.workers[i] = worker;
+            worker.start();
+        }
+    }
+
+    /**
+     * Starts progressing the game, its first generation is due immediately.
+     *
+     * @param generationsPerSecond target rate of the game
+     * @throws IllegalArgumentException if the rate is not positive or too high
+     * @throws IllegalStateException    if the host is closed
+     */
+    public HostedGame host(GameOfLife game, double generationsPerSecond) {
+        return host(game, generationsPerSecond, Duration.ZERO);
+    }
+
+    /**
+     * Starts progressing the game, its first generation is due after the delay.
+     *
+     * @param generationsPerSecond target rate of the game
+     * @param delay                time until the first generation is due
+     * @throws IllegalArgumentException if the rate is not positive or too high, or the delay is negative
+     * @throws IllegalStateException    if the host is closed
+     */
+    public HostedGame host(GameOfLife game, double generationsPerSecond, Duration delay) {
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("Delay expected to be non-negative, got " + delay);
+        }
+        var hosted = new HostedGame(this, Objects.requireNonNull(game), generationsPerSecond);
+        long delayNanos = delay.compareTo(MAX_DELAY) < 0 ? delay.toNanos() : MAX_DELAY.toNanos();
+        lock.lock();
+        try {
+            if (closed) throw new IllegalStateException("Host is closed");
+            size.incrementAndGet();
+            enqueue(hosted, System.nanoTime() + delayNanos);
+        } finally {
+            lock.unlock();
+        }
+        return hosted;
+    }
+
+    /**
+     * @return amount of games hosted
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Stops the workers and waits until they finish their current generations.
+     * Games that are still hosted stay in their current generation.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            queue.clear();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (var worker : workers) {
+            if (worker == Thread.currentThread()) continue;
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removed games are dropped when they reach the head of the queue, the queue is compacted
+     * once they make up half of it, so that removal doesn't scan the queue under the lock every time.
+     */
+    void removed(HostedGame game) {
+        size.decrementAndGet();
+        lock.lock();
+        try {
+            if (!game.queued) return;
+            game.stale = true;
+            if (++stale > queue.size() / 2) {
+                queue.removeIf(this::dequeueRemoved);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return amount of games waiting in the queue
+     */
+    int queued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // guarded by lock
+    private boolean dequeueRemoved(HostedGame game) {
+        if (!game.isRemoved()) return false;
+        game.queued = false;
+        if (game.stale) {
+            game.stale = false;
+            stale--;
+        }
+        return true;
+    }
+
+    // guarded by lock
+    private void enqueue(HostedGame game, long due) {
+        game.due = due;
+        game.sequence = sequence++;
+        game.queued = true;
+        queue.add(game);
+        if (queue.peek() == game) changed.signal();
+    }
+
+    private void work() {
+        while (true) {
+            HostedGame game;
+            lock.lock();
+            try {
+                game = next();
+                if (game == null) return;
+            } finally {
+                lock.unlock();
+            }
+            long period = game.getPeriodNanos();
+            long deadline = game.due + period;
+            if (!game.tick(deadline)) continue;
+            lock.lock();
+            try {
+                if (closed || game.isRemoved()) continue;
+                // a game that fell behind restarts its schedule instead of catching up in a burst
+                enqueue(game, Math.max(deadline, System.nanoTime()));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Waits for the earliest due game, guarded by lock.
+     *
+     * @return game to progress, {@code null} if the host is closed
+     */
+    private HostedGame next() {
+        while (!closed) {
+            var head = queue.peek();
+            if (head == null) {
+                changed.awaitUninterruptibly();
+            } else if (head.isRemoved()) {
+                queue.poll();
+                dequeueRemoved(head);
+            } else {
+                long wait = head.due - System.nanoTime();
+                if (wait <= 0) {
+                    queue.poll();
+                    head.queued = false;
+                    // the next game may be due as well
+                    if (!queue.isEmpty()) changed.signal();
+                    return head;
+                }
+                try {
+                    changed.awaitNanos(wait);
+                } catch (InterruptedException e) {
+                    // workers are stopped by close only
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "GameHost{" +
+                "workers=" + workers.length +
+                ", games=" + size() +
+                '}';
+    }
+}
@@ -0,0 +1,309 @@
+package com.voidaspect.jgol.host;
+
+import com.voidaspect.jgol.GameOfLife;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Progresses a single game at a fixed rate of generations on its own thread.
+ * <p>Generations are due at fixed points in time, so the rate doesn't drift with the time spent progressing.
+ * The thread parks until shortly before a generation is due and spins for the rest of the wait.
+ * When the game falls behind, a tick runs the due generation and at most {@code maxCatchUp} of the missed ones,
+ * other missed generations are dropped and the schedule moves on. Catching up also stops once the tick
+ * has spent its latency budget, so that a {@link com.voidaspect.jgol.game.GameOfLifeBuilder#setThreadSafe thread-safe}
+ * game leaves its lock free for readers for the rest of the period, and the thread yields between
+ * generations of a tick to let waiting readers in. Due generations of a frozen game are skipped
+ * after a single {@link GameOfLife#isFrozen()} check.</p>
+ * <p>An exception or error thrown by the game stops the scheduler and is kept as its {@link #getFailure() failure}.
+ * Statistics can be read from any thread while the scheduler runs.</p>
+ */
+public final class GenerationScheduler implements AutoCloseable {
+
+    // waits shorter than this are spun instead of parked, parking is not precise enough for them
+    private static final long SPIN_NANOS = 100_000;
+
+    // lateness histogram: values below 2^SUB_BITS are exact, larger ones are bucketed
+    // by their highest bit and the next SUB_BITS bits, which is within 1/2^SUB_BITS of the value
+    private static final int SUB_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    private final GameOfLife game;
+
+    private final long periodNanos;
+
+    private final int maxCatchUp;
+
+    private final long budgetNanos;
+
+    private final Thread thread;
+
+    private final AtomicLongArray lateness = new AtomicLongArray(BUCKETS);
+
+    private volatile boolean closed;
+
+    private volatile Throwable failure;
+
+    private volatile long ticks;
+
+    private volatile long generations;
+
+    private volatile long droppedGenerations;
+
+    private volatile long frozenGenerations;
+
+    private volatile long totalLatenessNanos;
+
+    private volatile long maxLatenessNanos;
+
+    private volatile long maxTickNanos;
+
+    /**
+     * Schedules the game with catch-up of up to 2 generations per tick and budget of half a period.
+     */
+    public GenerationScheduler(GameOfLife game, double generationsPerSecond) {
+        this(game, generationsPerSecond, 2, Duration.ofNanos(periodNanos(generationsPerSecond) / 2));
+    }
+
+    /**
+     * @param generationsPerSecond target rate, at most one generation per microsecond
+     * @param maxCatchUp           amount of missed generations a tick may run in addition to the due one
+     * @param latencyBudget        time after which a tick stops catching up, the due generation is always run
+     * @throws IllegalArgumentException if the rate is not positive or too high, or catch-up or budget are negative
+     */
+    public GenerationScheduler(GameOfLife game, double generationsPerSecond, int maxCatchUp, Duration latencyBudget) {
+        if (maxCatchUp < 0) {
+            throw new IllegalArgumentException("Max catch-up expected to be non-negative, got " + maxCatchUp);
+        }
+        if (latencyBudget.isNegative()) {
+            throw new IllegalArgumentException("Latency budget expected to be non-negative, got " + latencyBudget);
+        }
+        this.game = Objects.requireNonNull(game);
+        this.periodNanos = periodNanos(generationsPerSecond);
+        this.maxCatchUp = maxCatchUp;
+        this.budgetNanos = latencyBudget.toNanos();
+        this.thread = new Thread(this::run, "generation-scheduler");
+        thread.setDaemon(true);
+    }
+
+    private static long periodNanos(double generationsPerSecond) {
+        if (!(generationsPerSecond > 0 && generationsPerSecond <= 1e6)) {
+            throw new IllegalArgumentException("Rate expected to be in (0, 1e6] generations per second, got "
+                    + generationsPerSecond);
+        }
+        return Math.round(1e9 / generationsPerSecond);
+    }
+
+    /**
+     * Starts progressing the game, the first generation is due immediately.
+     *
+     * @throws IllegalStateException if the scheduler was already started
+     */
+    public void start() {
+        if (thread.getState() != Thread.State.NEW) throw new IllegalStateException("Scheduler is already started");
+        thread.start();
+    }
+
+    /**
+     * Stops the scheduler and waits until the current tick finishes.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        if (thread.getState() == Thread.State.NEW || thread == Thread.currentThread()) return;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            schedule();
+        } catch (RuntimeException | Error e) {
+            // the game is left in the generation that failed, the thread ends instead of dying with the failure
+            failure = e;
+            closed = true;
+        }
+    }
+
+    private void schedule() {
+        long due = System.nanoTime();
+        while (!closed) {
+            long now = waitUntil(due);
+            if (closed) return;
+            long late = now - due;
+            recordLateness(late);
+            // the generation of this tick and the ones missed since
+            long pending = 1 + late / periodNanos;
+            due += pending * periodNanos;
+            if (game.isFrozen()) {
+                frozenGenerations += pending;
+                ticks++;
+                continue;
+            }
+            long run = 0;
+            long limit = Math.min(pending, 1L + maxCatchUp);
+            while (true) {
+                game.progress();
+                run++;
+                if (run == limit || System.nanoTime() - now >= budgetNanos || closed) break;
+                if (game.isFrozen()) {
+                    frozenGenerations += pending - run;
+                    pending = run;
+                    break;
+                }
+                // lets readers of a thread-safe game take the lock released by the generation
+                Thread.yield();
+            }
+            long tick = System.nanoTime() - now;
+            if (tick > maxTickNanos) maxTickNanos = tick;
+            generations += run;
+            droppedGenerations += pending - run;
+            ticks++;
+        }
+    }
+
+    /**
+     * @return current time, not before the deadline unless the scheduler is closed
+     */
+    private long waitUntil(long deadline) {
+        long now;
+        while ((now = System.nanoTime()) < deadline && !closed) {
+            long remaining = deadline - now;
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        return now;
+    }
+
+    private void recordLateness(long late) {
+        totalLatenessNanos += late;
+        if (late > maxLatenessNanos) maxLatenessNanos = late;
+        lateness.incrementAndGet(bucket(late));
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int high = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (high - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (high - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // largest value of a bucket
+    private static long bucketLimit(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int high = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long limit = ((SUB_BUCKETS + sub + 1) << (high - SUB_BITS)) - 1;
+        return limit < 0 ? Long.MAX_VALUE : limit;
+    }
+
+    public boolean isRunning() {
+        return thread.isAlive() && !closed;
+    }
+
+    public GameOfLife getGame() {
+        return game;
+    }
+
+    /**
+     * @return exception or error thrown by the game, which stopped the scheduler, or {@code null}
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public double getRate() {
+        return 1e9 / periodNanos;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return amount of generations progressed
+     */
+    public long getGenerations() {
+        return generations;
+    }
+
+    /**
+     * @return amount of due generations dropped because the game was behind by more than the catch-up limit or budget
+     */
+    public long getDroppedGenerations() {
+        return droppedGenerations;
+    }
+
+    /**
+     * @return amount of due generations skipped because the game was frozen
+     */
+    public long getFrozenGenerations() {
+        return frozenGenerations;
+    }
+
+    /**
+     * @return longest time a tick started after it was due, in nanoseconds
+     */
+    public long getMaxLatenessNanos() {
+        return maxLatenessNanos;
+    }
+
+    public double getMeanLatenessNanos() {
+        long ticks = this.ticks;
+        return ticks == 0 ? 0 : (double) totalLatenessNanos / ticks;
+    }
+
+    /**
+     * @param percentile from {@code 0} to {@code 1}
+     * @return time by which the given share of ticks started after they were due, within 1/8 of the exact value
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long getLatenessPercentileNanos(double percentile) {
+        if (!(percentile >= 0 && percentile <= 1)) {
+            throw new IllegalArgumentException("Percentile expected to be in [0, 1], got " + percentile);
+        }
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += lateness.get(i);
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += lateness.get(i);
+            if (seen >= rank) return Math.min(bucketLimit(i), maxLatenessNanos);
+        }
+        return 0;
+    }
+
+    /**
+     * @return longest time spent progressing the game in a single tick, in nanoseconds
+     */
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationScheduler{" +
+                "rate=" + getRate() +
+                ", ticks=" + ticks +
+                ", generations=" + generations +
+                ", droppedGenerations=" + droppedGenerations +
+                ", frozenGenerations=" + frozenGenerations +
+                ", maxLatenessNanos=" + maxLatenessNanos +
+                ", failure=" + failure +
+                '}';
+    }
+}
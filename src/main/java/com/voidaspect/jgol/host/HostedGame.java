@@ -0,0 +1,166 @@
+package com.voidaspect.jgol.host;
+
+import com.voidaspect.jgol.GameOfLife;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Game progressed by a {@link GameHost} at a target rate of generations.
+ * <p>Every generation is due one period after the previous one and has to be finished
+ * before the next one is due, otherwise it misses its deadline. A game that falls behind
+ * is not progressed in bursts to catch up, its schedule restarts from the current time instead.</p>
+ * <p>Statistics are updated by the host and can be read from any thread.</p>
+ */
+public final class HostedGame {
+
+    private final GameHost host;
+
+    private final GameOfLife game;
+
+    private volatile long periodNanos;
+
+    private volatile long generations;
+
+    private volatile long frozenTicks;
+
+    private volatile long missedDeadlines;
+
+    private volatile long maxLatenessNanos;
+
+    private volatile Throwable failure;
+
+    private final AtomicBoolean removed = new AtomicBoolean();
+
+    // guarded by the queue lock of the host
+    long due;
+
+    // guarded by the queue lock of the host, orders games that are due at the same time
+    long sequence;
+
+    // guarded by the queue lock of the host
+    boolean queued;
+
+    // guarded by the queue lock of the host, removed while queued and counted by the host
+    boolean stale;
+
+    HostedGame(GameHost host, GameOfLife game, double generationsPerSecond) {
+        this.host = host;
+        this.game = game;
+        setRate(generationsPerSecond);
+    }
+
+    public GameOfLife getGame() {
+        return game;
+    }
+
+    public double getRate() {
+        return 1e9 / periodNanos;
+    }
+
+    /**
+     * Changes the target rate, starting with the generation after the next one.
+     *
+     * @param generationsPerSecond target rate, at most one generation per nanosecond
+     * @throws IllegalArgumentException if the rate is not positive or too high
+     */
+    public void setRate(double generationsPerSecond) {
+        if (!(generationsPerSecond > 0 && generationsPerSecond <= 1e9)) {
+            throw new IllegalArgumentException("Rate expected to be in (0, 1e9] generations per second, got "
+                    + generationsPerSecond);
+        }
+        this.periodNanos = Math.max(1, Math.round(1e9 / generationsPerSecond));
+    }
+
+    long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    /**
+     * @return amount of generations progressed by the host
+     */
+    public long getGenerations() {
+        return generations;
+    }
+
+    /**
+     * @return amount of due generations skipped because the game was frozen
+     */
+    public long getFrozenTicks() {
+        return frozenTicks;
+    }
+
+    /**
+     * @return amount of generations finished after their deadline
+     */
+    public long getMissedDeadlines() {
+        return missedDeadlines;
+    }
+
+    /**
+     * @return longest delay between the deadline and the end of a generation, in nanoseconds
+     */
+    public long getMaxLatenessNanos() {
+        return maxLatenessNanos;
+    }
+
+    /**
+     * @return exception or error thrown by the game, which removed it from the host, or {@code null}
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public boolean isRemoved() {
+        return removed.get();
+    }
+
+    /**
+     * Stops progressing the game, a generation already in progress is finished.
+     */
+    public void remove() {
+        if (removed.compareAndSet(false, true)) host.removed(this);
+    }
+
+    /**
+     * Progresses the game by one generation unless it's frozen, called by one worker at a time.
+     *
+     * @return {@code false} if the game failed and was removed
+     */
+    boolean tick(long deadline) {
+        try {
+            if (game.isFrozen()) {
+                frozenTicks++;
+                return true;
+            }
+            game.progress();
+            generations++;
+        } catch (RuntimeException | LinkageError | AssertionError e) {
+            // the worker moves on to other games instead of dying with this one
+            failure = e;
+            remove();
+            return false;
+        } catch (VirtualMachineError e) {
+            // the JVM may be left unusable, so the worker doesn't go on
+            failure = e;
+            remove();
+            throw e;
+        }
+        long lateness = System.nanoTime() - deadline;
+        if (lateness > 0) {
+            missedDeadlines++;
+            if (lateness > maxLatenessNanos) maxLatenessNanos = lateness;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "HostedGame{" +
+                "rate=" + getRate() +
+                ", generations=" + generations +
+                ", frozenTicks=" + frozenTicks +
+                ", missedDeadlines=" + missedDeadlines +
+                ", removed=" + isRemoved() +
+                '}';
+    }
+}
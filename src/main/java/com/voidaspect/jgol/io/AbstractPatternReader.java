@@ -0,0 +1,88 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+abstract class AbstractPatternReader implements PatternReader {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    static final int EOF = -1;
+
+    private final ByteBuffer buffer;
+
+    private ReadableByteChannel channel;
+
+    private long line;
+
+    AbstractPatternReader(int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size expected >= 1, got " + bufferSize);
+        }
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    @Override
+    public final void read(ReadableByteChannel channel, Grid grid, int row, int col) throws IOException {
+        this.channel = channel;
+        this.line = 1;
+        buffer.clear().flip();
+        try {
+            parse(grid, row, col);
+        } finally {
+            this.channel = null;
+        }
+    }
+
+    abstract void parse(Grid grid, int row, int col) throws IOException;
+
+    final int next() throws IOException {
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            buffer.flip();
+            if (read < 0) return EOF;
+        }
+        byte b = buffer.get();
+        if (b == '\n') line++;
+        return b & 0xff;
+    }
+
+    /**
+     * Skips remaining characters of the current line, including line terminator.
+     *
+     * @return {@link #EOF} if there are no more lines, {@code '\n'} otherwise
+     */
+    final int skipLine() throws IOException {
+        int c;
+        do {
+            c = next();
+        } while (c != '\n' && c != EOF);
+        return c;
+    }
+
+    final PatternFormatException malformed(String message) {
+        return new PatternFormatException(message + " at line " + line);
+    }
+
+    final PatternFormatException unexpected(int c) {
+        return c == EOF
+                ? malformed("unexpected end of pattern")
+                : malformed("unexpected character '" + (char) c + "'");
+    }
+
+    static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    static boolean isBlank(int c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+}
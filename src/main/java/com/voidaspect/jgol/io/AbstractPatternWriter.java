@@ -0,0 +1,104 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.cell.CellBag;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+abstract class AbstractPatternWriter implements PatternWriter {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ByteBuffer buffer;
+
+    private final byte[] digits = new byte[20];
+
+    private WritableByteChannel channel;
+
+    AbstractPatternWriter(int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size expected >= 1, got " + bufferSize);
+        }
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    @Override
+    public final void write(Grid grid, WritableByteChannel channel) throws IOException {
+        this.channel = channel;
+        buffer.clear();
+        try {
+            format(grid);
+            drain();
+        } catch (UncheckedIOException e) {
+            // cells are streamed from CellOperation, which can't throw checked exceptions
+            throw e.getCause();
+        } finally {
+            this.channel = null;
+        }
+    }
+
+    abstract void format(Grid grid);
+
+    final void put(char c) {
+        if (!buffer.hasRemaining()) drain();
+        buffer.put((byte) c);
+    }
+
+    final void put(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            put(s.charAt(i));
+        }
+    }
+
+    final void put(long n) {
+        if (n < 0) {
+            put('-');
+        } else {
+            n = -n;
+        }
+        // accumulate negative to handle Long.MIN_VALUE
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' - n % 10);
+            n /= 10;
+        } while (n != 0);
+        while (length > 0) {
+            put((char) digits[--length]);
+        }
+    }
+
+    static int digits(long n) {
+        int length = 1;
+        while (n >= 10) {
+            n /= 10;
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * @return live cells of the grid in row-major order
+     */
+    static CellBag sortedCells(Grid grid) {
+        var cells = new CellBag();
+        grid.forEachAlive(cells::add);
+        cells.sort();
+        return cells;
+    }
+
+    private void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+}
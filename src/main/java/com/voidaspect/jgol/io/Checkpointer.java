@@ -0,0 +1,549 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.Capturable;
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.game.GridCapture;
+import com.voidaspect.jgol.grid.Bounds;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.cell.CellBag;
+import com.voidaspect.jgol.grid.cell.Cells;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Persists state of a {@link GameOfLife} - its live cells and frozen state - to a binary file.
+ * <p>First checkpoint, as well as every {@link #fullCheckpoint}, atomically replaces the file with a base record.
+ * Base record of a dense pattern is a raw bit-plane of its {@link Grid#bounds() bounds},
+ * sparse pattern is written as a sorted list of packed cells.
+ * Every subsequent {@link #checkpoint} appends a delta record with the cells that changed since the last checkpoint.</p>
+ * <p>Each record is checksummed and committed only after it is fully written,
+ * so {@link #restore} recovers the last complete checkpoint even if the process crashed in the middle of writing.</p>
+ * <p>Games that are {@link Capturable} can be checkpointed {@link #checkpointInBackground in background},
+ * while they keep progressing.</p>
+ * <p>Checkpointer is not thread-safe.</p>
+ */
+public final class Checkpointer implements Closeable {
+
+    private static final int MAGIC = 0x4A474F4C; // JGOL
+
+    private static final byte VERSION = 1;
+
+    private static final int FILE_HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+
+    private static final byte DENSE = 1;
+
+    private static final byte SPARSE = 2;
+
+    private static final byte DELTA = 3;
+
+    // kind, frozen, body length, body checksum
+    private static final int RECORD_HEADER_SIZE = Byte.BYTES + Byte.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final long INCOMPLETE = -1;
+
+    // bit-plane is chosen when it is smaller than the list of packed cells
+    private static final int DENSITY_THRESHOLD = Long.SIZE;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final long COLUMN_SIGN = 0x80000000L;
+
+    private final Path file;
+
+    private final ChannelOpener opener;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private final CRC32 checksum = new CRC32();
+
+    private FileChannel channel;
+
+    private long bodyLength;
+
+    private boolean inBody;
+
+    private CellBag previous;
+
+    public Checkpointer(Path file) {
+        this(file, FileChannel::open);
+    }
+
+    Checkpointer(Path file, ChannelOpener opener) {
+        this.file = file;
+        this.opener = opener;
+    }
+
+    /**
+     * Writes a delta record, or a base record if there is no previous checkpoint.
+     *
+     * @throws IOException if file can't be written
+     */
+    public void checkpoint(GameOfLife game) throws IOException {
+        checkpoint(game.grid(), game.isFrozen());
+    }
+
+    /**
+     * Writes a delta record, or a base record if there is no previous checkpoint, from the captured state.
+     *
+     * @throws IOException if file can't be written
+     */
+    public void checkpoint(GridCapture capture) throws IOException {
+        checkpoint(capture.grid(), capture.isFrozen());
+    }
+
+    /**
+     * Captures the game and writes its {@link #checkpoint} on the given executor.
+     * <p>Capture is closed once the checkpoint is written.
+     * Checkpointer must not be used until the returned future is completed.</p>
+     *
+     * @throws IllegalArgumentException if game is not {@link Capturable}
+     */
+    public CompletableFuture<Void> checkpointInBackground(GameOfLife game, Executor executor) {
+        if (!(game instanceof Capturable)) {
+            throw new IllegalArgumentException("Game is not capturable, build it with setThreadSafe(true)");
+        }
+        var capture = ((Capturable) game).capture();
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try (capture) {
+                    checkpoint(capture);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            capture.close();
+            throw e;
+        }
+    }
+
+    private void checkpoint(Grid grid, boolean frozen) throws IOException {
+        if (channel == null) {
+            fullCheckpoint(grid, frozen);
+            return;
+        }
+        var current = sortedCells(grid);
+        long position = channel.position();
+        try {
+            beginRecord(DELTA, frozen);
+            int changed = countChanges(previous, current);
+            putLong(changed);
+            writeChanges(previous, current);
+            commitRecord(position);
+        } catch (IOException | RuntimeException e) {
+            discardRecord(position, e);
+            throw e;
+        }
+        previous = current;
+    }
+
+    /**
+     * Cuts a failed record off the file, so that later deltas are not appended after it and lost on restore.
+     * If the file can't be cut, the next checkpoint starts a new file with a base record.
+     */
+    private void discardRecord(long position, Exception failure) {
+        buffer.clear();
+        inBody = false;
+        try {
+            channel.truncate(position);
+            channel.position(position);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+            try {
+                close();
+            } catch (IOException closeFailure) {
+                failure.addSuppressed(closeFailure);
+            }
+        }
+    }
+
+    /**
+     * Atomically replaces checkpoint file with a new base record.
+     *
+     * @throws IOException if file can't be written
+     */
+    public void fullCheckpoint(GameOfLife game) throws IOException {
+        fullCheckpoint(game.grid(), game.isFrozen());
+    }
+
+    private void fullCheckpoint(Grid grid, boolean frozen) throws IOException {
+        close();
+        var current = sortedCells(grid);
+        var bounds = boundsOf(current);
+
+        var temp = file.resolveSibling(file.getFileName() + ".tmp");
+        channel = opener.open(temp, CREATE, WRITE, TRUNCATE_EXISTING);
+        try {
+            buffer.clear();
+            buffer.putInt(MAGIC).put(VERSION);
+            if (isDense(current.size(), bounds)) {
+                long position = beginRecord(DENSE, frozen);
+                writeBitPlane(current, bounds);
+                commitRecord(position);
+            } else {
+                long position = beginRecord(SPARSE, frozen);
+                putLong(current.size());
+                for (int i = 0; i < current.size(); i++) putLong(current.get(i));
+                commitRecord(position);
+            }
+            channel.close();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // positional writes are not reliable in append mode, so the channel is positioned explicitly
+            channel = opener.open(file, WRITE);
+            channel.position(channel.size());
+            previous = current;
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        previous = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Replaces state of the game with the last complete checkpoint.
+     *
+     * @throws IOException if file can't be read or has no complete base record
+     */
+    public static void restore(Path file, GameOfLife game) throws IOException {
+        try (var channel = FileChannel.open(file, READ)) {
+            new Restore(channel, game).run();
+        }
+    }
+
+    // opens channels of the checkpoint file, tests replace it to inject failures
+    @FunctionalInterface
+    interface ChannelOpener {
+
+        FileChannel open(Path path, OpenOption... options) throws IOException;
+
+    }
+
+    //region writing
+
+    private long beginRecord(byte kind, boolean frozen) throws IOException {
+        flush();
+        long position = channel.position();
+        buffer.put(kind).put(frozen ? (byte) 1 : 0).putLong(INCOMPLETE).putInt(0);
+        flush();
+        checksum.reset();
+        bodyLength = 0;
+        inBody = true;
+        return position;
+    }
+
+    private void commitRecord(long position) throws IOException {
+        flush();
+        inBody = false;
+        // header is patched only after the body is written, so torn records are recognized on restore
+        var header = ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+                .putLong(bodyLength)
+                .putInt((int) checksum.getValue())
+                .flip();
+        long at = position + Byte.BYTES + Byte.BYTES;
+        while (header.hasRemaining()) {
+            at += channel.write(header, at);
+        }
+        channel.force(false);
+    }
+
+    private void writeBitPlane(CellBag cells, Bounds bounds) throws IOException {
+        int rows = (int) bounds.getRows();
+        int cols = (int) bounds.getColumns();
+        putInt(bounds.getFromRow());
+        putInt(bounds.getFromColumn());
+        putInt(rows);
+        putInt(cols);
+        // cells are sorted in row-major order, same as bits of the plane
+        long word = 0;
+        long wordIndex = 0;
+        for (int i = 0; i < cells.size(); i++) {
+            long cell = cells.get(i);
+            long bit = (long) (Cells.unpackRow(cell) - bounds.getFromRow()) * cols +
+                    (Cells.unpackCol(cell) - bounds.getFromColumn());
+            long index = bit / Long.SIZE;
+            for (; wordIndex < index; wordIndex++) {
+                putLong(word);
+                word = 0;
+            }
+            word |= 1L << (bit % Long.SIZE);
+        }
+        long words = words(rows, cols);
+        for (; wordIndex < words; wordIndex++) {
+            putLong(word);
+            word = 0;
+        }
+    }
+
+    /**
+     * Writes cells that are present in only one of the sorted bags.
+     */
+    private void writeChanges(CellBag previous, CellBag current) throws IOException {
+        int i = 0;
+        int j = 0;
+        while (i < previous.size() || j < current.size()) {
+            int cmp = compare(previous, i, current, j);
+            if (cmp < 0) {
+                putLong(previous.get(i++));
+            } else if (cmp > 0) {
+                putLong(current.get(j++));
+            } else {
+                i++;
+                j++;
+            }
+        }
+    }
+
+    private void putInt(int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) flush();
+        buffer.putInt(value);
+    }
+
+    private void putLong(long value) throws IOException {
+        if (buffer.remaining() < Long.BYTES) flush();
+        buffer.putLong(value);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        if (inBody) {
+            bodyLength += buffer.remaining();
+            checksum.update(buffer.duplicate());
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    //endregion
+
+    private static CellBag sortedCells(Grid grid) {
+        var cells = new CellBag();
+        grid.forEachAlive(cells::add);
+        cells.sort();
+        return cells;
+    }
+
+    private static Bounds boundsOf(CellBag sorted) {
+        int size = sorted.size();
+        if (size == 0) return Bounds.EMPTY;
+        int fromCol = Integer.MAX_VALUE;
+        int toCol = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            int col = Cells.unpackCol(sorted.get(i));
+            if (col < fromCol) fromCol = col;
+            if (col > toCol) toCol = col;
+        }
+        return new Bounds(Cells.unpackRow(sorted.get(0)), fromCol, Cells.unpackRow(sorted.get(size - 1)), toCol);
+    }
+
+    private static boolean isDense(long cells, Bounds bounds) {
+        if (bounds.isEmpty() || bounds.getRows() > Integer.MAX_VALUE || bounds.getColumns() > Integer.MAX_VALUE) {
+            return false;
+        }
+        long area = bounds.getRows() * bounds.getColumns();
+        return area / DENSITY_THRESHOLD < cells;
+    }
+
+    private static long words(long rows, long cols) {
+        return (rows * cols + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private static int countChanges(CellBag previous, CellBag current) {
+        int i = 0;
+        int j = 0;
+        int changes = 0;
+        while (i < previous.size() || j < current.size()) {
+            int cmp = compare(previous, i, current, j);
+            if (cmp < 0) {
+                i++;
+                changes++;
+            } else if (cmp > 0) {
+                j++;
+                changes++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Compares cells in row-major order, exhausted bag is greater than any cell.
+     */
+    private static int compare(CellBag a, int i, CellBag b, int j) {
+        if (i == a.size()) return 1;
+        if (j == b.size()) return -1;
+        return Long.compare(a.get(i) ^ COLUMN_SIGN, b.get(j) ^ COLUMN_SIGN);
+    }
+
+    private static final class Restore {
+
+        private final FileChannel channel;
+
+        private final GameOfLife game;
+
+        private final Grid grid;
+
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private final CRC32 checksum = new CRC32();
+
+        Restore(FileChannel channel, GameOfLife game) {
+            this.channel = channel;
+            this.game = game;
+            this.grid = game.grid();
+        }
+
+        void run() throws IOException {
+            var header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            if (!readFully(header, 0) || header.flip().getInt() != MAGIC) {
+                throw new IOException("not a checkpoint file");
+            }
+            byte version = header.get();
+            if (version != VERSION) {
+                throw new IOException("unsupported checkpoint version " + version);
+            }
+
+            long position = FILE_HEADER_SIZE;
+            boolean restored = false;
+            boolean frozen = false;
+            var recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            while (readFully(recordHeader.clear(), position)) {
+                recordHeader.flip();
+                byte kind = recordHeader.get();
+                boolean recordFrozen = recordHeader.get() != 0;
+                long length = recordHeader.getLong();
+                int crc = recordHeader.getInt();
+                long body = position + RECORD_HEADER_SIZE;
+                if (length == INCOMPLETE || body + length > channel.size() || !verify(body, length, crc)) break;
+                // checked before the grid is cleared, so that an unreadable file leaves the game intact
+                if (kind != DENSE && kind != SPARSE && kind != DELTA) {
+                    throw new IOException("unknown checkpoint record " + kind);
+                }
+                if (kind != DELTA) {
+                    grid.clear();
+                } else if (!restored) {
+                    break;
+                }
+                apply(kind, body);
+                restored = true;
+                frozen = recordFrozen;
+                position = body + length;
+            }
+            if (!restored) {
+                throw new IOException("checkpoint file has no complete base record");
+            }
+            if (frozen) {
+                game.freeze();
+            } else {
+                game.unfreeze();
+            }
+        }
+
+        private boolean verify(long position, long length, int crc) throws IOException {
+            checksum.reset();
+            long end = position + length;
+            while (position < end) {
+                buffer.clear();
+                if (end - position < buffer.capacity()) buffer.limit((int) (end - position));
+                if (!readFully(buffer, position)) return false;
+                position += buffer.flip().remaining();
+                checksum.update(buffer);
+            }
+            return (int) checksum.getValue() == crc;
+        }
+
+        private void apply(byte kind, long position) throws IOException {
+            channel.position(position);
+            buffer.clear().flip();
+            switch (kind) {
+                case DENSE: {
+                    int fromRow = getInt();
+                    int fromCol = getInt();
+                    int rows = getInt();
+                    int cols = getInt();
+                    long words = words(rows, cols);
+                    for (long w = 0; w < words; w++) {
+                        for (long word = getLong(); word != 0; word &= word - 1) {
+                            long bit = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                            grid.set(fromRow + (int) (bit / cols), fromCol + (int) (bit % cols), true);
+                        }
+                    }
+                    break;
+                }
+                case SPARSE: {
+                    for (long i = getLong(); i > 0; i--) {
+                        long cell = getLong();
+                        grid.set(Cells.unpackRow(cell), Cells.unpackCol(cell), true);
+                    }
+                    break;
+                }
+                case DELTA: {
+                    for (long i = getLong(); i > 0; i--) {
+                        long cell = getLong();
+                        int row = Cells.unpackRow(cell);
+                        int col = Cells.unpackCol(cell);
+                        grid.set(row, col, !grid.get(row, col));
+                    }
+                    break;
+                }
+                default:
+                    throw new IOException("unknown checkpoint record " + kind);
+            }
+        }
+
+        private int getInt() throws IOException {
+            fill(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        private long getLong() throws IOException {
+            fill(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        private void fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) throw new IOException("unexpected end of checkpoint");
+            }
+            buffer.flip();
+        }
+
+        private boolean readFully(ByteBuffer target, long position) throws IOException {
+            while (target.hasRemaining()) {
+                int read = channel.read(target, position);
+                if (read < 0) return false;
+                position += read;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+
+import java.io.IOException;
+
+/**
+ * Reader of the <a href="https://www.conwaylife.com/wiki/Life_1.06">Life 1.06</a> patterns.
+ * <p>Each line holds {@code x y} coordinates of a live cell, where {@code x} is a column and {@code y} is a row.
+ * Lines starting with {@code #} are skipped.</p>
+ */
+public final class Life106Reader extends AbstractPatternReader {
+
+    private int last;
+
+    public Life106Reader() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public Life106Reader(int bufferSize) {
+        super(bufferSize);
+    }
+
+    @Override
+    void parse(Grid grid, int row, int col) throws IOException {
+        for (int c = next(); c != EOF; c = next()) {
+            if (isBlank(c) || c == '\n') continue;
+            if (c == '#') {
+                if (skipLine() == EOF) return;
+                continue;
+            }
+            int x = parseInt(c);
+            int y = parseInt(skipBlanks(last));
+            grid.set(row + y, col + x, true);
+            c = skipBlanks(last);
+            if (c == EOF) return;
+            if (c != '\n') throw unexpected(c);
+        }
+    }
+
+    private int skipBlanks(int c) throws IOException {
+        while (isBlank(c)) c = next();
+        return c;
+    }
+
+    /**
+     * Parses a number starting with the given character. Character following the number is stored in {@link #last}.
+     */
+    private int parseInt(int c) throws IOException {
+        boolean negative = c == '-';
+        if (negative || c == '+') c = next();
+        if (!isDigit(c)) throw unexpected(c);
+        long value = 0;
+        for (; isDigit(c); c = next()) {
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE + 1L) throw malformed("coordinate is out of range");
+        }
+        last = c;
+        if (negative) value = -value;
+        if (value > Integer.MAX_VALUE) throw malformed("coordinate is out of range");
+        return (int) value;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+
+/**
+ * Writer of the <a href="https://www.conwaylife.com/wiki/Life_1.06">Life 1.06</a> patterns.
+ * <p>Cells are written with absolute coordinates in the order of {@link Grid#forEachAlive}.</p>
+ */
+public final class Life106Writer extends AbstractPatternWriter {
+
+    public Life106Writer() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public Life106Writer(int bufferSize) {
+        super(bufferSize);
+    }
+
+    @Override
+    void format(Grid grid) {
+        put("#Life 1.06\n");
+        grid.forEachAlive((row, col) -> {
+            put(col);
+            put(' ');
+            put(row);
+            put('\n');
+        });
+    }
+
+}
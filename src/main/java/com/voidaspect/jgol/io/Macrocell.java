@@ -0,0 +1,246 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.cell.CellOperation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable node of a quadtree, as stored in Golly's <a href="https://www.conwaylife.com/wiki/Macrocell">macrocell</a> files.
+ * <p>Node of level {@code k} is a square of {@code 2^k x 2^k} cells.
+ * Nodes of level {@value #LEAF_LEVEL} are leaves that hold an {@code 8x8} bitboard,
+ * other nodes consist of four quadrants of the level {@code k - 1}, {@code null} quadrant is empty.</p>
+ * <p>Equal subtrees are shared, which is why a pattern with an enormous extent can be kept in memory
+ * and saved in a few kilobytes, while expanding it into a grid may not be possible at all.</p>
+ */
+public final class Macrocell {
+
+    public static final int LEAF_LEVEL = 3;
+
+    public static final int MAX_LEVEL = 62;
+
+    static final int LEAF_SIZE = 1 << LEAF_LEVEL;
+
+    private final int level;
+
+    private final long bits;
+
+    private final Macrocell nw;
+
+    private final Macrocell ne;
+
+    private final Macrocell sw;
+
+    private final Macrocell se;
+
+    private final long population;
+
+    // extent of live cells relative to the top left corner, first is greater than last for empty nodes
+    private final long firstRow;
+
+    private final long lastRow;
+
+    private final long firstCol;
+
+    private final long lastCol;
+
+    private final int hash;
+
+    private Macrocell(int level, long bits, Macrocell nw, Macrocell ne, Macrocell sw, Macrocell se) {
+        this.level = level;
+        this.bits = bits;
+        this.nw = nw;
+        this.ne = ne;
+        this.sw = sw;
+        this.se = se;
+        this.population = level == LEAF_LEVEL
+                ? Long.bitCount(bits)
+                : sum(sum(population(nw), population(ne)), sum(population(sw), population(se)));
+        this.hash = level == LEAF_LEVEL
+                ? Long.hashCode(bits)
+                : 31 * (31 * (31 * (31 * level + identity(nw)) + identity(ne)) + identity(sw)) + identity(se);
+        long firstRow = Long.MAX_VALUE;
+        long lastRow = Long.MIN_VALUE;
+        long firstCol = Long.MAX_VALUE;
+        long lastCol = Long.MIN_VALUE;
+        if (level == LEAF_LEVEL && bits != 0) {
+            int cols = (int) (bits | bits >>> 32);
+            cols |= cols >>> 16;
+            cols = (cols | cols >>> 8) & 0xFF;
+            firstRow = Long.numberOfTrailingZeros(bits) >>> LEAF_LEVEL;
+            lastRow = (63 - Long.numberOfLeadingZeros(bits)) >>> LEAF_LEVEL;
+            firstCol = Integer.numberOfTrailingZeros(cols);
+            lastCol = 31 - Integer.numberOfLeadingZeros(cols);
+        } else if (level > LEAF_LEVEL) {
+            long half = 1L << (level - 1);
+            for (int q = 0; q < 4; q++) {
+                var quadrant = q == 0 ? nw : q == 1 ? ne : q == 2 ? sw : se;
+                if (quadrant == null || quadrant.population == 0) continue;
+                long row = (q >>> 1) * half;
+                long col = (q & 1) * half;
+                firstRow = Math.min(firstRow, row + quadrant.firstRow);
+                lastRow = Math.max(lastRow, row + quadrant.lastRow);
+                firstCol = Math.min(firstCol, col + quadrant.firstCol);
+                lastCol = Math.max(lastCol, col + quadrant.lastCol);
+            }
+        }
+        this.firstRow = firstRow;
+        this.lastRow = lastRow;
+        this.firstCol = firstCol;
+        this.lastCol = lastCol;
+    }
+
+    /**
+     * @param bits row-major {@code 8x8} bitboard, bit {@code row * 8 + col} is set for live cells
+     */
+    static Macrocell leaf(long bits) {
+        return new Macrocell(LEAF_LEVEL, bits, null, null, null, null);
+    }
+
+    static Macrocell node(int level, Macrocell nw, Macrocell ne, Macrocell sw, Macrocell se) {
+        if (level <= LEAF_LEVEL || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Level expected in range (" + LEAF_LEVEL + "," + MAX_LEVEL + "], got " + level);
+        }
+        checkQuadrant(level, nw);
+        checkQuadrant(level, ne);
+        checkQuadrant(level, sw);
+        checkQuadrant(level, se);
+        return new Macrocell(level, 0, nw, ne, sw, se);
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return length of the node's side
+     */
+    public long getSize() {
+        return 1L << level;
+    }
+
+    /**
+     * @return amount of live cells, saturated at {@link Long#MAX_VALUE}
+     */
+    public long getPopulation() {
+        return population;
+    }
+
+    /**
+     * Applies operation to every live cell of the node.
+     *
+     * @param row row of the node's top left corner
+     * @param col column of the node's top left corner
+     * @throws ArithmeticException if a live cell lies outside of {@code int} range
+     */
+    public void forEachAlive(long row, long col, CellOperation operation) {
+        if (population == 0) return;
+        if (level == LEAF_LEVEL) {
+            for (long b = bits; b != 0; b &= b - 1) {
+                int bit = Long.numberOfTrailingZeros(b);
+                operation.apply(Math.toIntExact(row + (bit >>> LEAF_LEVEL)), Math.toIntExact(col + (bit & LEAF_SIZE - 1)));
+            }
+            return;
+        }
+        long half = 1L << (level - 1);
+        if (nw != null) nw.forEachAlive(row, col, operation);
+        if (ne != null) ne.forEachAlive(row, col + half, operation);
+        if (sw != null) sw.forEachAlive(row + half, col, operation);
+        if (se != null) se.forEachAlive(row + half, col + half, operation);
+    }
+
+    /**
+     * @param row row of the node's top left corner
+     * @param col column of the node's top left corner
+     * @return whether all live cells of the node lie within {@code int} range
+     */
+    public boolean fitsInt(long row, long col) {
+        return population == 0 || fitsInt(row + firstRow) && fitsInt(row + lastRow)
+                && fitsInt(col + firstCol) && fitsInt(col + lastCol);
+    }
+
+    private static boolean fitsInt(long value) {
+        return value == (int) value;
+    }
+
+    long bits() {
+        return bits;
+    }
+
+    Macrocell nw() {
+        return nw;
+    }
+
+    Macrocell ne() {
+        return ne;
+    }
+
+    Macrocell sw() {
+        return sw;
+    }
+
+    Macrocell se() {
+        return se;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Macrocell)) return false;
+        var that = (Macrocell) o;
+        // quadrants are canonical, so they are compared by identity
+        return level == that.level && bits == that.bits && hash == that.hash &&
+                nw == that.nw && ne == that.ne && sw == that.sw && se == that.se;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "Macrocell{level=" + level + ", population=" + population + "}";
+    }
+
+    private static void checkQuadrant(int level, Macrocell quadrant) {
+        if (quadrant != null && quadrant.level != level - 1) {
+            throw new IllegalArgumentException("Quadrant of level " + level + " expected to be of level " +
+                    (level - 1) + ", got " + quadrant.level);
+        }
+    }
+
+    private static long population(Macrocell node) {
+        return node == null ? 0 : node.population;
+    }
+
+    private static long sum(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static int identity(Macrocell node) {
+        return System.identityHashCode(node);
+    }
+
+    /**
+     * Table of canonical nodes, ensures that equal subtrees are represented by the same instance.
+     */
+    static final class Canon {
+
+        private final Map<Macrocell, Macrocell> nodes = new HashMap<>();
+
+        Macrocell leaf(long bits) {
+            return intern(Macrocell.leaf(bits));
+        }
+
+        Macrocell node(int level, Macrocell nw, Macrocell ne, Macrocell sw, Macrocell se) {
+            return intern(Macrocell.node(level, nw, ne, sw, se));
+        }
+
+        private Macrocell intern(Macrocell node) {
+            var canonical = nodes.putIfAbsent(node, node);
+            return canonical != null ? canonical : node;
+        }
+    }
+}
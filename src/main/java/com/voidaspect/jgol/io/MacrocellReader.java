@@ -0,0 +1,141 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader of Golly's <a href="https://www.conwaylife.com/wiki/Macrocell">macrocell</a> patterns.
+ * <p>{@link #parse} loads a pattern as a {@link Macrocell} tree without expanding it,
+ * {@link #read} sets its live cells on a {@link Grid}.
+ * As in Golly, the center of the root node is placed at the origin.</p>
+ */
+public final class MacrocellReader extends AbstractPatternReader {
+
+    private static final String HEADER = "[M2]";
+
+    private final StringBuilder line = new StringBuilder();
+
+    private final List<Macrocell> nodes = new ArrayList<>();
+
+    private Macrocell root;
+
+    public MacrocellReader() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public MacrocellReader(int bufferSize) {
+        super(bufferSize);
+    }
+
+    /**
+     * @return root node of the pattern
+     * @throws PatternFormatException if pattern is malformed
+     * @throws IOException            if channel can't be read
+     */
+    public Macrocell parse(ReadableByteChannel channel) throws IOException {
+        try {
+            read(channel, null);
+            return root;
+        } finally {
+            root = null;
+        }
+    }
+
+    @Override
+    void parse(Grid grid, int row, int col) throws IOException {
+        root = parseRoot();
+        if (grid == null) return;
+        long half = root.getSize() / 2;
+        // checked before any cell is set, so that the grid is left as it was
+        if (!root.fitsInt(row - half, col - half)) throw malformed("pattern does not fit into grid coordinates");
+        root.forEachAlive(row - half, col - half, (r, c) -> grid.set(r, c, true));
+    }
+
+    private Macrocell parseRoot() throws IOException {
+        nodes.clear();
+        nodes.add(null); // index 0 stands for an empty node
+        var canon = new Macrocell.Canon();
+        if (!nextLine() || !line.toString().startsWith(HEADER)) {
+            throw malformed("macrocell header " + HEADER + " expected");
+        }
+        while (nextLine()) {
+            if (line.length() == 0) continue;
+            char first = line.charAt(0);
+            if (first == '#') {
+                checkRule();
+            } else if (first == '.' || first == '*' || first == '$') {
+                nodes.add(canon.leaf(parseLeaf()));
+            } else if (isDigit(first)) {
+                nodes.add(parseNode(canon));
+            } else {
+                throw unexpected(first);
+            }
+        }
+        if (nodes.size() == 1) throw malformed("pattern has no nodes");
+        var root = nodes.get(nodes.size() - 1);
+        nodes.clear();
+        return root;
+    }
+
+    private long parseLeaf() throws PatternFormatException {
+        long bits = 0;
+        int r = 0;
+        int c = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '$') {
+                r++;
+                c = 0;
+                continue;
+            }
+            if (r >= Macrocell.LEAF_SIZE || c >= Macrocell.LEAF_SIZE) throw malformed("leaf is larger than 8x8");
+            if (ch == '*') {
+                bits |= 1L << (r * Macrocell.LEAF_SIZE + c);
+            } else if (ch != '.') {
+                throw unexpected(ch);
+            }
+            c++;
+        }
+        return bits;
+    }
+
+    private Macrocell parseNode(Macrocell.Canon canon) throws PatternFormatException {
+        var fields = line.toString().trim().split("\\s+");
+        if (fields.length != 5) throw malformed("node expected to have level and 4 quadrants");
+        try {
+            int level = Integer.parseInt(fields[0]);
+            return canon.node(level, quadrant(fields[1]), quadrant(fields[2]), quadrant(fields[3]), quadrant(fields[4]));
+        } catch (IllegalArgumentException e) {
+            throw malformed(e.getMessage());
+        }
+    }
+
+    private Macrocell quadrant(String field) throws PatternFormatException {
+        int index = Integer.parseInt(field);
+        if (index < 0 || index >= nodes.size()) throw malformed("reference to undefined node " + index);
+        return nodes.get(index);
+    }
+
+    private void checkRule() throws PatternFormatException {
+        if (line.length() < 2 || line.charAt(1) != 'R') return;
+        var rule = line.substring(2).trim();
+        if (!rule.equalsIgnoreCase("B3/S23") && !rule.equals("23/3")) {
+            throw malformed("unsupported rule " + rule);
+        }
+    }
+
+    private boolean nextLine() throws IOException {
+        line.setLength(0);
+        int c = next();
+        if (c == EOF) return false;
+        for (; c != '\n' && c != EOF; c = next()) {
+            if (c != '\r') line.append((char) c);
+        }
+        return true;
+    }
+
+}
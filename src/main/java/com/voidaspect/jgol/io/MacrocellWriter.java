@@ -0,0 +1,158 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.cell.Cells;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Writer of Golly's <a href="https://www.conwaylife.com/wiki/Macrocell">macrocell</a> patterns.
+ * <p>Live cells of a {@link Grid} are folded into a quadtree bottom-up, equal subtrees are written only once.
+ * As in Golly, the center of the root node is placed at the origin, so coordinates of cells are preserved.</p>
+ */
+public final class MacrocellWriter extends AbstractPatternWriter {
+
+    private static final int MIN_ROOT_LEVEL = Macrocell.LEAF_LEVEL + 1;
+
+    // root of this level holds all int coordinates
+    private static final int MAX_ROOT_LEVEL = Integer.SIZE;
+
+    private final Map<Macrocell, Integer> indices = new IdentityHashMap<>();
+
+    private Macrocell root;
+
+    public MacrocellWriter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public MacrocellWriter(int bufferSize) {
+        super(bufferSize);
+    }
+
+    /**
+     * Writes macrocell tree as is.
+     *
+     * @throws IOException if channel can't be written
+     */
+    public void write(Macrocell root, WritableByteChannel channel) throws IOException {
+        this.root = root;
+        try {
+            write((Grid) null, channel);
+        } finally {
+            this.root = null;
+        }
+    }
+
+    @Override
+    void format(Grid grid) {
+        var tree = grid != null ? fold(grid) : root;
+        put("[M2] (jgol)\n#R B3/S23\n");
+        indices.clear();
+        node(tree);
+        indices.clear();
+    }
+
+    /**
+     * Writes quadrants before the node itself.
+     *
+     * @return index of the written node
+     */
+    private int node(Macrocell node) {
+        if (node == null) return 0;
+        var index = indices.get(node);
+        if (index != null) return index;
+        if (node.getLevel() == Macrocell.LEAF_LEVEL) {
+            leaf(node.bits());
+        } else {
+            int nw = node(node.nw());
+            int ne = node(node.ne());
+            int sw = node(node.sw());
+            int se = node(node.se());
+            put(node.getLevel());
+            put(' ');
+            put(nw);
+            put(' ');
+            put(ne);
+            put(' ');
+            put(sw);
+            put(' ');
+            put(se);
+            put('\n');
+        }
+        index = indices.size() + 1;
+        indices.put(node, index);
+        return index;
+    }
+
+    private void leaf(long bits) {
+        // trailing dead cells and trailing empty rows are omitted
+        do {
+            for (long row = bits & 0xff; row != 0; row >>>= 1) {
+                put((row & 1) != 0 ? '*' : '.');
+            }
+            put('$');
+            bits >>>= Macrocell.LEAF_SIZE;
+        } while (bits != 0);
+        put('\n');
+    }
+
+    /**
+     * @return root of the smallest tree, centered at the origin, that holds all live cells
+     */
+    static Macrocell fold(Grid grid) {
+        var canon = new Macrocell.Canon();
+        var bounds = grid.bounds();
+        int level = MIN_ROOT_LEVEL;
+        if (!bounds.isEmpty()) {
+            long extent = Math.max(
+                    Math.max(-(long) bounds.getFromRow(), bounds.getToRow() + 1L),
+                    Math.max(-(long) bounds.getFromColumn(), bounds.getToColumn() + 1L));
+            while (level < MAX_ROOT_LEVEL && 1L << (level - 1) < extent) level++;
+        }
+        long half = 1L << (level - 1);
+
+        // leaves are keyed by their position, shifted to make it non-negative
+        var leaves = new Long2LongOpenHashMap();
+        grid.forEachAlive((row, col) -> {
+            long r = row + half;
+            long c = col + half;
+            long key = Cells.pack((int) (r >>> Macrocell.LEAF_LEVEL), (int) (c >>> Macrocell.LEAF_LEVEL));
+            long bit = 1L << ((r & Macrocell.LEAF_SIZE - 1) * Macrocell.LEAF_SIZE + (c & Macrocell.LEAF_SIZE - 1));
+            leaves.put(key, leaves.get(key) | bit);
+        });
+
+        var nodes = new Long2ObjectOpenHashMap<Macrocell>(leaves.size());
+        for (LongIterator it = leaves.keySet().iterator(); it.hasNext(); ) {
+            long key = it.nextLong();
+            nodes.put(key, canon.leaf(leaves.get(key)));
+        }
+        if (nodes.isEmpty()) return canon.node(level, null, null, null, null);
+
+        for (int l = Macrocell.LEAF_LEVEL + 1; l <= level; l++) {
+            var quadrants = new Long2ObjectOpenHashMap<Macrocell[]>(nodes.size());
+            for (LongIterator it = nodes.keySet().iterator(); it.hasNext(); ) {
+                long key = it.nextLong();
+                int r = Cells.unpackRow(key);
+                int c = Cells.unpackCol(key);
+                long parent = Cells.pack(r >>> 1, c >>> 1);
+                var children = quadrants.get(parent);
+                if (children == null) quadrants.put(parent, children = new Macrocell[4]);
+                children[(r & 1) << 1 | c & 1] = nodes.get(key);
+            }
+            nodes.clear();
+            for (LongIterator it = quadrants.keySet().iterator(); it.hasNext(); ) {
+                long key = it.nextLong();
+                var q = quadrants.get(key);
+                nodes.put(key, canon.node(l, q[0], q[1], q[2], q[3]));
+            }
+        }
+        return nodes.get(0L);
+    }
+
+}
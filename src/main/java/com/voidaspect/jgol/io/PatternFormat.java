@@ -0,0 +1,55 @@
+package com.voidaspect.jgol.io;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Supported pattern file formats.
+ */
+public enum PatternFormat {
+
+    RLE(RleReader::new, RleWriter::new, "rle"),
+
+    PLAINTEXT(PlaintextReader::new, PlaintextWriter::new, "cells", "txt"),
+
+    LIFE_1_06(Life106Reader::new, Life106Writer::new, "lif", "life"),
+
+    MACROCELL(MacrocellReader::new, MacrocellWriter::new, "mc");
+
+    private final Supplier<PatternReader> readers;
+
+    private final Supplier<PatternWriter> writers;
+
+    private final List<String> extensions;
+
+    PatternFormat(Supplier<PatternReader> readers, Supplier<PatternWriter> writers, String... extensions) {
+        this.readers = readers;
+        this.writers = writers;
+        this.extensions = List.of(extensions);
+    }
+
+    public PatternReader reader() {
+        return readers.get();
+    }
+
+    public PatternWriter writer() {
+        return writers.get();
+    }
+
+    public List<String> getExtensions() {
+        return extensions;
+    }
+
+    public static Optional<PatternFormat> forFileName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) return Optional.empty();
+        var extension = fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        for (var format : values()) {
+            if (format.extensions.contains(extension)) return Optional.of(format);
+        }
+        return Optional.empty();
+    }
+
+}
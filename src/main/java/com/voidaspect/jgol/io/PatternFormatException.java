@@ -0,0 +1,13 @@
+package com.voidaspect.jgol.io;
+
+import java.io.IOException;
+
+public class PatternFormatException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PatternFormatException(String message) {
+        super(message);
+    }
+
+}
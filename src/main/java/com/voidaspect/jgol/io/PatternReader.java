@@ -0,0 +1,29 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Parses a pattern from a channel and sets its live cells directly on a {@link Grid}.
+ * <p>Dead cells of the pattern are not written, so the target region is expected to be empty.
+ * Implementations reuse internal buffers between calls and are not thread-safe.</p>
+ */
+public interface PatternReader {
+
+    default void read(ReadableByteChannel channel, Grid grid) throws IOException {
+        read(channel, grid, 0, 0);
+    }
+
+    /**
+     * @param channel source of the pattern, it is not closed after reading
+     * @param grid    target grid
+     * @param row     row offset of the pattern on the grid
+     * @param col     column offset of the pattern on the grid
+     * @throws PatternFormatException if pattern is malformed
+     * @throws IOException            if channel can't be read
+     */
+    void read(ReadableByteChannel channel, Grid grid, int row, int col) throws IOException;
+
+}
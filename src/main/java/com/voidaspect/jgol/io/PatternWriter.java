@@ -0,0 +1,21 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes live cells of a {@link Grid} to a channel as a pattern.
+ * <p>Implementations reuse internal buffers between calls and are not thread-safe.</p>
+ */
+public interface PatternWriter {
+
+    /**
+     * @param grid    source grid
+     * @param channel target of the pattern, it is not closed after writing
+     * @throws IOException if channel can't be written
+     */
+    void write(Grid grid, WritableByteChannel channel) throws IOException;
+
+}
@@ -0,0 +1,51 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+
+import java.io.IOException;
+
+/**
+ * Reader of the <a href="https://www.conwaylife.com/wiki/Plaintext">plaintext</a> patterns.
+ * <p>Lines starting with {@code !} are comments, {@code .} is a dead cell, {@code O} or {@code *} is a live cell.</p>
+ */
+public final class PlaintextReader extends AbstractPatternReader {
+
+    public PlaintextReader() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public PlaintextReader(int bufferSize) {
+        super(bufferSize);
+    }
+
+    @Override
+    void parse(Grid grid, int row, int col) throws IOException {
+        int r = row;
+        int cl = col;
+        boolean lineStart = true;
+        for (int c = next(); c != EOF; c = next()) {
+            if (lineStart && c == '!') {
+                if (skipLine() == EOF) return;
+                continue;
+            }
+            lineStart = false;
+            switch (c) {
+                case '\n':
+                    r++;
+                    cl = col;
+                    lineStart = true;
+                    break;
+                case '.':
+                    cl++;
+                    break;
+                case 'O':
+                case '*':
+                    grid.set(r, cl++, true);
+                    break;
+                default:
+                    if (!isBlank(c)) throw unexpected(c);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.cell.Cells;
+
+/**
+ * Writer of the <a href="https://www.conwaylife.com/wiki/Plaintext">plaintext</a> patterns.
+ * <p>Pattern is written relative to the top left corner of the grid's {@link Grid#bounds() bounds},
+ * trailing dead cells of each row are omitted.</p>
+ */
+public final class PlaintextWriter extends AbstractPatternWriter {
+
+    public PlaintextWriter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public PlaintextWriter(int bufferSize) {
+        super(bufferSize);
+    }
+
+    @Override
+    void format(Grid grid) {
+        var bounds = grid.bounds();
+        var cells = sortedCells(grid);
+        long row = bounds.getFromRow();
+        long col = bounds.getFromColumn();
+        for (int i = 0, size = cells.size(); i < size; i++) {
+            long cell = cells.get(i);
+            int r = Cells.unpackRow(cell);
+            int c = Cells.unpackCol(cell);
+            for (; row < r; row++) {
+                put('\n');
+                col = bounds.getFromColumn();
+            }
+            for (; col < c; col++) {
+                put('.');
+            }
+            put('O');
+            col++;
+        }
+        if (cells.size() > 0) put('\n');
+    }
+
+}
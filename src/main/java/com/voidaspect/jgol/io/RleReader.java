@@ -0,0 +1,99 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+
+import java.io.IOException;
+
+/**
+ * Reader of the <a href="https://www.conwaylife.com/wiki/Run_Length_Encoded">run length encoded</a> patterns.
+ * <p>Header line is optional, but if it specifies a rule, it must be Conway's Life.
+ * Any tag other than {@code b} or {@code .} is treated as a live cell.</p>
+ */
+public final class RleReader extends AbstractPatternReader {
+
+    private final StringBuilder header = new StringBuilder();
+
+    public RleReader() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public RleReader(int bufferSize) {
+        super(bufferSize);
+    }
+
+    @Override
+    void parse(Grid grid, int row, int col) throws IOException {
+        int c = skipHeader();
+        int r = row;
+        int cl = col;
+        int run = 0;
+        for (; c != EOF; c = next()) {
+            if (isDigit(c)) {
+                run = run * 10 + (c - '0');
+                if (run < 0) throw malformed("run length is too big");
+                continue;
+            }
+            if (isBlank(c) || c == '\n') {
+                if (run != 0) throw unexpected(c);
+                continue;
+            }
+            int length = Math.max(run, 1);
+            run = 0;
+            switch (c) {
+                case '!':
+                    return;
+                case '$':
+                    r += length;
+                    cl = col;
+                    break;
+                case 'b':
+                case '.':
+                    cl += length;
+                    break;
+                default:
+                    if (c < 'A' || c > 'z' || (c > 'Z' && c < 'a')) throw unexpected(c);
+                    for (int i = 0; i < length; i++) {
+                        grid.set(r, cl++, true);
+                    }
+            }
+        }
+        throw unexpected(EOF);
+    }
+
+    /**
+     * Skips comments and header line.
+     *
+     * @return first character of the pattern body
+     */
+    private int skipHeader() throws IOException {
+        int c = next();
+        while (true) {
+            while (isBlank(c) || c == '\n') c = next();
+            if (c == '#') {
+                skipLine();
+                c = next();
+            } else if (c == 'x') {
+                header.setLength(0);
+                for (c = next(); c != '\n' && c != EOF; c = next()) {
+                    if (!isBlank(c)) header.append((char) c);
+                }
+                checkRule();
+                return next();
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private void checkRule() throws PatternFormatException {
+        int start = header.indexOf("rule=");
+        if (start < 0) return;
+        start += "rule=".length();
+        int end = header.indexOf(",", start);
+        var rule = header.substring(start, end < 0 ? header.length() : end);
+        if (!rule.equalsIgnoreCase("B3/S23") && !rule.equals("23/3")) {
+            throw malformed("unsupported rule " + rule);
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.cell.Cells;
+
+/**
+ * Writer of the <a href="https://www.conwaylife.com/wiki/Run_Length_Encoded">run length encoded</a> patterns.
+ * <p>Pattern is written relative to the top left corner of the grid's {@link Grid#bounds() bounds}.
+ * Live cells are sorted in row-major order before writing, grid itself is never copied.</p>
+ */
+public final class RleWriter extends AbstractPatternWriter {
+
+    private static final int MAX_LINE_LENGTH = 70;
+
+    private char tag;
+
+    private long run;
+
+    private int lineLength;
+
+    public RleWriter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public RleWriter(int bufferSize) {
+        super(bufferSize);
+    }
+
+    @Override
+    void format(Grid grid) {
+        var bounds = grid.bounds();
+        put("x = ");
+        put(bounds.getColumns());
+        put(", y = ");
+        put(bounds.getRows());
+        put(", rule = B3/S23\n");
+
+        tag = 0;
+        run = 0;
+        lineLength = 0;
+
+        var cells = sortedCells(grid);
+        long row = bounds.getFromRow();
+        long col = bounds.getFromColumn();
+        for (int i = 0, size = cells.size(); i < size; i++) {
+            long cell = cells.get(i);
+            int r = Cells.unpackRow(cell);
+            int c = Cells.unpackCol(cell);
+            if (r > row) {
+                append('$', r - row);
+                row = r;
+                col = bounds.getFromColumn();
+            }
+            if (c > col) {
+                append('b', c - col);
+            }
+            append('o', 1);
+            col = c + 1L;
+        }
+        flushRun();
+        token("!");
+        put('\n');
+    }
+
+    private void append(char t, long length) {
+        if (t != tag) {
+            flushRun();
+            tag = t;
+        }
+        run += length;
+    }
+
+    private void flushRun() {
+        if (run == 0) return;
+        int length = run == 1 ? 1 : digits(run) + 1;
+        if (lineLength + length > MAX_LINE_LENGTH) {
+            put('\n');
+            lineLength = 0;
+        }
+        if (run > 1) put(run);
+        put(tag);
+        lineLength += length;
+        run = 0;
+    }
+
+    private void token(String token) {
+        if (lineLength + token.length() > MAX_LINE_LENGTH) {
+            put('\n');
+            lineLength = 0;
+        }
+        put(token);
+        lineLength += token.length();
+    }
+
+}
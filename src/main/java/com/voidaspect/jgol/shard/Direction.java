@@ -0,0 +1,38 @@
+package com.voidaspect.jgol.shard;
+
+/**
+ * Side of a shard that borders another shard.
+ */
+public enum Direction {
+
+    NORTH(-1, 0),
+    SOUTH(1, 0),
+    WEST(0, -1),
+    EAST(0, 1);
+
+    private final int rowOffset;
+
+    private final int columnOffset;
+
+    Direction(int rowOffset, int columnOffset) {
+        this.rowOffset = rowOffset;
+        this.columnOffset = columnOffset;
+    }
+
+    int rowOffset() {
+        return rowOffset;
+    }
+
+    int columnOffset() {
+        return columnOffset;
+    }
+
+    public Direction opposite() {
+        switch (this) {
+            case NORTH: return SOUTH;
+            case SOUTH: return NORTH;
+            case WEST: return EAST;
+            default: return WEST;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.voidaspect.jgol.shard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Connection between two adjacent shards that carries their border cells.
+ */
+public interface HaloLink extends Closeable {
+
+    /**
+     * Sends all remaining bytes of the buffer.
+     */
+    void send(ByteBuffer buffer) throws IOException;
+
+    /**
+     * Blocks until the remaining bytes of the buffer are received.
+     */
+    void receive(ByteBuffer buffer) throws IOException;
+
+}
@@ -0,0 +1,181 @@
+package com.voidaspect.jgol.shard;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link HaloLink} between processes on the same host, backed by a memory-mapped file.
+ * <p>File holds two single-producer single-consumer rings of {@value #SLOTS} slots, one for each direction.
+ * Every ring has a pair of sequence numbers: the sender copies a message into the next slot and publishes it
+ * by advancing {@code written}, the receiver copies it out and frees the slot by advancing {@code read}.
+ * Messages are never copied through the kernel, waiting side spins briefly and then parks with a growing backoff.</p>
+ * <p>Both ends have to open the same, initially missing or empty, file with the same message size
+ * and opposite {@code first} flags.</p>
+ */
+public final class MappedHaloLink implements HaloLink {
+
+    private static final int SLOTS = 4;
+
+    // sequence numbers live on separate cache lines, so that the sides don't invalidate each other's writes
+    private static final int LINE = 64;
+
+    private static final int HEADER = 4 * LINE;
+
+    private static final int SPINS = 256;
+
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private static final VarHandle SEQUENCE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer memory;
+
+    private final int messageSize;
+
+    private final long timeoutNanos;
+
+    private final int sentAt;
+
+    private final int sentReadAt;
+
+    private final int receivedAt;
+
+    private final int receivedReadAt;
+
+    private final ByteBuffer[] outgoing = new ByteBuffer[SLOTS];
+
+    private final ByteBuffer[] incoming = new ByteBuffer[SLOTS];
+
+    private long sent;
+
+    private long received;
+
+    private MappedHaloLink(FileChannel channel, MappedByteBuffer memory, boolean first, int messageSize, long timeoutNanos) {
+        this.channel = channel;
+        this.memory = memory;
+        this.messageSize = messageSize;
+        this.timeoutNanos = timeoutNanos;
+        int out = first ? 0 : 1;
+        int in = 1 - out;
+        this.sentAt = out * 2 * LINE;
+        this.sentReadAt = sentAt + LINE;
+        this.receivedAt = in * 2 * LINE;
+        this.receivedReadAt = receivedAt + LINE;
+        int slotSize = (int) slotSize(messageSize);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            outgoing[slot] = slice(memory, HEADER + (out * SLOTS + slot) * slotSize, slotSize);
+            incoming[slot] = slice(memory, HEADER + (in * SLOTS + slot) * slotSize, slotSize);
+        }
+        // a reopened link continues where the previous one stopped
+        this.sent = (long) SEQUENCE.getAcquire(memory, sentAt);
+        this.received = (long) SEQUENCE.getAcquire(memory, receivedReadAt);
+    }
+
+    /**
+     * Opens one end of a link, creating the file if it doesn't exist.
+     *
+     * @param first       {@code true} on one end of the link, {@code false} on the other
+     * @param messageSize maximum amount of bytes in a message
+     * @param timeout     how long to wait for the other end before failing
+     */
+    public static MappedHaloLink open(Path file, boolean first, int messageSize, Duration timeout) throws IOException {
+        if (messageSize < 1) {
+            throw new IllegalArgumentException("Message size expected to be positive, got " + messageSize);
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout expected to be positive, got " + timeout);
+        }
+        long size = HEADER + 2L * SLOTS * slotSize(messageSize);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Message size " + messageSize + " is too large");
+        }
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            var memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new MappedHaloLink(channel, memory, first, messageSize, timeout.toNanos());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the buffer has more remaining bytes than the message size
+     */
+    @Override
+    public void send(ByteBuffer buffer) throws IOException {
+        int length = buffer.remaining();
+        if (length > messageSize) {
+            throw new IllegalArgumentException("Message of " + length + " bytes exceeds " + messageSize);
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        for (int attempt = 0; sent - (long) SEQUENCE.getAcquire(memory, sentReadAt) >= SLOTS; attempt++) {
+            await(attempt, deadline);
+        }
+        var slot = outgoing[(int) (sent % SLOTS)];
+        slot.clear();
+        slot.putLong(length).put(buffer);
+        SEQUENCE.setRelease(memory, sentAt, ++sent);
+    }
+
+    /**
+     * @throws IOException if the received message doesn't match the remaining bytes of the buffer
+     */
+    @Override
+    public void receive(ByteBuffer buffer) throws IOException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        for (int attempt = 0; (long) SEQUENCE.getAcquire(memory, receivedAt) <= received; attempt++) {
+            await(attempt, deadline);
+        }
+        var slot = incoming[(int) (received % SLOTS)];
+        slot.clear();
+        int length = (int) slot.getLong();
+        if (length != buffer.remaining()) {
+            throw new IOException("Expected message of " + buffer.remaining() + " bytes, got " + length);
+        }
+        buffer.put(slot.limit(Long.BYTES + length));
+        SEQUENCE.setRelease(memory, receivedReadAt, ++received);
+    }
+
+    private void await(int attempt, long deadline) throws IOException {
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - deadline >= 0) {
+            throw new IOException("Peer didn't respond in " + Duration.ofNanos(timeoutNanos));
+        }
+        LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1L << Math.min(attempt - SPINS, 20)));
+        if (Thread.interrupted()) {
+            throw new InterruptedIOException("Interrupted while waiting for peer");
+        }
+    }
+
+    /**
+     * Closes the file, mapping itself is released when the link is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static long slotSize(int messageSize) {
+        return Long.BYTES + ((messageSize + Long.BYTES - 1L) & -Long.BYTES);
+    }
+
+    private static ByteBuffer slice(ByteBuffer memory, int offset, int length) {
+        return memory.duplicate().position(offset).limit(offset + length).slice().order(memory.order());
+    }
+}
@@ -0,0 +1,60 @@
+package com.voidaspect.jgol.shard;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+
+/**
+ * Framing of the messages exchanged by shards and their coordinator.
+ */
+final class Messages {
+
+    private Messages() {
+    }
+
+    static void write(ByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    static void read(ByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) throw new EOFException("Channel closed by peer");
+        }
+    }
+
+    static ByteBuffer read(ByteChannel channel, int size) throws IOException {
+        var buffer = ByteBuffer.allocate(size);
+        read(channel, buffer);
+        return buffer.flip();
+    }
+
+    /**
+     * Writes address as length of the raw IP address, its bytes and a port; {@code null} is written as zero length.
+     */
+    static void putAddress(ByteBuffer buffer, InetSocketAddress address) {
+        if (address == null) {
+            buffer.put((byte) 0);
+            return;
+        }
+        byte[] ip = address.getAddress().getAddress();
+        buffer.put((byte) ip.length).put(ip).putInt(address.getPort());
+    }
+
+    static InetSocketAddress readAddress(ByteChannel channel) throws IOException {
+        int length = read(channel, 1).get();
+        if (length == 0) return null;
+        var buffer = read(channel, length + Integer.BYTES);
+        byte[] ip = new byte[length];
+        buffer.get(ip);
+        return new InetSocketAddress(InetAddress.getByAddress(ip), buffer.getInt());
+    }
+
+    static int addressSize(InetSocketAddress address) {
+        return address == null ? 1 : 1 + address.getAddress().getAddress().length + Integer.BYTES;
+    }
+}
@@ -0,0 +1,153 @@
+package com.voidaspect.jgol.shard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Drives {@link ShardNode shards} of a universe that {@link ShardNode#join joined} it
+ * and aggregates their population and frozen state.
+ * <p>Coordinator only exchanges commands and reports with the shards, halo cells flow between shards directly.</p>
+ */
+public final class ShardCoordinator implements Closeable {
+
+    private final ShardLayout layout;
+
+    private final ServerSocketChannel server;
+
+    private final SocketChannel[] shards;
+
+    private final ByteBuffer report = ByteBuffer.allocate(3 * Long.BYTES);
+
+    public ShardCoordinator(ShardLayout layout, InetSocketAddress address) throws IOException {
+        this.layout = layout;
+        this.server = ServerSocketChannel.open().bind(address);
+        this.shards = new SocketChannel[layout.getShardCount()];
+    }
+
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    /**
+     * Waits until every shard of the layout joins, then sends each shard the addresses of its neighbors.
+     */
+    public void awaitShards() throws IOException {
+        var addresses = new InetSocketAddress[shards.length];
+        for (int joined = 0; joined < shards.length; joined++) {
+            var channel = server.accept();
+            int index = Messages.read(channel, Integer.BYTES).getInt();
+            if (index < 0 || index >= shards.length || shards[index] != null) {
+                channel.close();
+                throw new IOException("Unexpected shard " + index + " of " + shards.length);
+            }
+            shards[index] = channel;
+            addresses[index] = Messages.readAddress(channel);
+        }
+        for (int index = 0; index < shards.length; index++) {
+            var shard = layout.shard(index);
+            var neighbors = new InetSocketAddress[Direction.values().length];
+            int size = 0;
+            for (var direction : Direction.values()) {
+                int neighbor = shard.neighbor(direction);
+                neighbors[direction.ordinal()] = neighbor >= 0 ? addresses[neighbor] : null;
+                size += Messages.addressSize(neighbors[direction.ordinal()]);
+            }
+            var message = ByteBuffer.allocate(size);
+            for (var neighbor : neighbors) {
+                Messages.putAddress(message, neighbor);
+            }
+            Messages.write(shards[index], message.flip());
+        }
+    }
+
+    /**
+     * Progresses every shard by given amount of generations.
+     *
+     * @return state of the universe after the last generation
+     */
+    public Status progress(int generations) throws IOException {
+        if (generations < 1) {
+            throw new IllegalArgumentException("Generations expected to be positive, got " + generations);
+        }
+        var command = ByteBuffer.allocate(Integer.BYTES);
+        for (var shard : shards) {
+            Messages.write(shard, command.clear().putInt(generations).flip());
+        }
+        long generation = -1;
+        long population = 0;
+        boolean frozen = true;
+        for (var shard : shards) {
+            report.clear();
+            Messages.read(shard, report);
+            report.flip();
+            long shardGeneration = report.getLong();
+            if (generation >= 0 && shardGeneration != generation) {
+                throw new IOException("Shards are out of step: generation " + shardGeneration + " after " + generation);
+            }
+            generation = shardGeneration;
+            population += report.getLong();
+            frozen &= report.getLong() == 0;
+        }
+        return new Status(generation, population, frozen);
+    }
+
+    /**
+     * Shuts the shards down.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            var shutdown = ByteBuffer.allocate(Integer.BYTES);
+            for (var shard : shards) {
+                if (shard == null || !shard.isOpen()) continue;
+                try (shard) {
+                    Messages.write(shard, shutdown.clear().putInt(0).flip());
+                }
+            }
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * State of the whole universe.
+     */
+    public static final class Status {
+
+        private final long generation;
+
+        private final long population;
+
+        private final boolean frozen;
+
+        Status(long generation, long population, boolean frozen) {
+            this.generation = generation;
+            this.population = population;
+            this.frozen = frozen;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        public long getPopulation() {
+            return population;
+        }
+
+        /**
+         * @return {@code true} if no cell of the universe changed in the last generation
+         */
+        public boolean isFrozen() {
+            return frozen;
+        }
+
+        @Override
+        public String toString() {
+            return "Status{generation=" + generation + ", population=" + population + ", frozen=" + frozen + "}";
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.voidaspect.jgol.shard;
+
+/**
+ * Partition of a finite universe into a matrix of rectangular shards of nearly equal size.
+ * <p>Shards are indexed in row-major order. Cells outside of the universe are dead.</p>
+ */
+public final class ShardLayout {
+
+    private final int rows;
+
+    private final int columns;
+
+    private final int shardRows;
+
+    private final int shardColumns;
+
+    /**
+     * @param rows         rows of the universe
+     * @param columns      columns of the universe
+     * @param shardRows    amount of shards along the rows
+     * @param shardColumns amount of shards along the columns
+     */
+    public ShardLayout(int rows, int columns, int shardRows, int shardColumns) {
+        if (rows < 1 || columns < 1) {
+            throw new IllegalArgumentException("Universe size expected to be positive, got " + rows + "x" + columns);
+        }
+        if (shardRows < 1 || shardColumns < 1 || shardRows > rows || shardColumns > columns) {
+            throw new IllegalArgumentException("Universe " + rows + "x" + columns + " can't be split into " +
+                    shardRows + "x" + shardColumns + " shards");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.shardRows = shardRows;
+        this.shardColumns = shardColumns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getShardCount() {
+        return shardRows * shardColumns;
+    }
+
+    public Shard shard(int index) {
+        if (index < 0 || index >= getShardCount()) {
+            throw new IllegalArgumentException("Shard index expected in range [0," + getShardCount() + "), got " + index);
+        }
+        return new Shard(index);
+    }
+
+    /**
+     * @return index of the shard that owns the cell, {@code -1} if the cell is outside of the universe
+     */
+    public int shardOf(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= columns) return -1;
+        // inverse of the split, corrected for rounding
+        int shardRow = (int) ((long) row * shardRows / rows);
+        while (split(shardRow + 1, rows, shardRows) <= row) shardRow++;
+        int shardCol = (int) ((long) col * shardColumns / columns);
+        while (split(shardCol + 1, columns, shardColumns) <= col) shardCol++;
+        return shardRow * shardColumns + shardCol;
+    }
+
+    private static int split(int part, int length, int parts) {
+        return (int) ((long) part * length / parts);
+    }
+
+    /**
+     * Rectangular region of the universe.
+     */
+    public final class Shard {
+
+        private final int index;
+
+        private final int shardRow;
+
+        private final int shardColumn;
+
+        private Shard(int index) {
+            this.index = index;
+            this.shardRow = index / shardColumns;
+            this.shardColumn = index % shardColumns;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getFromRow() {
+            return split(shardRow, rows, shardRows);
+        }
+
+        public int getFromColumn() {
+            return split(shardColumn, columns, shardColumns);
+        }
+
+        public int getRows() {
+            return split(shardRow + 1, rows, shardRows) - getFromRow();
+        }
+
+        public int getColumns() {
+            return split(shardColumn + 1, columns, shardColumns) - getFromColumn();
+        }
+
+        /**
+         * @return index of the adjacent shard, {@code -1} if the side borders the edge of the universe
+         */
+        public int neighbor(Direction direction) {
+            int row = shardRow + direction.rowOffset();
+            int col = shardColumn + direction.columnOffset();
+            if (row < 0 || row >= shardRows || col < 0 || col >= shardColumns) return -1;
+            return row * shardColumns + col;
+        }
+
+        public boolean contains(int row, int col) {
+            return row >= getFromRow() && row - getFromRow() < getRows() &&
+                    col >= getFromColumn() && col - getFromColumn() < getColumns();
+        }
+
+        /**
+         * Halo exchange alternates the order of sending and receiving between adjacent shards,
+         * so that two shards never wait for each other to receive.
+         */
+        boolean sendsFirst(Direction direction) {
+            return (direction.rowOffset() != 0 ? shardRow : shardColumn) % 2 == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Shard{index=" + index + ", rows=[" + getFromRow() + "," + (getFromRow() + getRows()) +
+                    "), columns=[" + getFromColumn() + "," + (getFromColumn() + getColumns()) + ")}";
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.voidaspect.jgol.shard;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.FiniteGrid;
+import com.voidaspect.jgol.listener.ProgressListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Simulates one shard of a {@link ShardLayout partitioned} universe, normally one per process.
+ * <p>Shard is kept in a grid that is larger than the shard by a ring of halo cells,
+ * which mirror the border cells of adjacent shards. Before every generation the halo is refreshed:
+ * border rows are exchanged with the northern and southern neighbors, then border columns, including the corners
+ * that have just arrived, with the western and eastern ones, so diagonal neighbors are never contacted directly.
+ * Halo on the edges of the universe is kept dead.</p>
+ * <p>{@link #join} connects the shard to its neighbors and a {@link ShardCoordinator} over TCP,
+ * shards of the same host can exchange the halo through shared memory with {@link #linkMapped},
+ * other transports can be plugged in with {@link #link}.</p>
+ */
+public final class ShardNode implements Closeable {
+
+    private static final int HALO = 1;
+
+    private final ShardLayout.Shard shard;
+
+    private final FiniteGrid grid;
+
+    private final GameOfLife game;
+
+    private final int rows;
+
+    private final int columns;
+
+    private final HaloLink[] links = new HaloLink[Direction.values().length];
+
+    // outgoing border and incoming halo cells, bit-packed
+    private final long[] rowBits;
+
+    private final long[] haloRowBits;
+
+    private final long[] columnBits;
+
+    private final long[] haloColumnBits;
+
+    // column as a region of one cell per row, see Grid#blit
+    private final long[] columnCells;
+
+    private final ByteBuffer rowBuffer;
+
+    private final ByteBuffer columnBuffer;
+
+    private final InteriorChanges changes = new InteriorChanges();
+
+    private long generation;
+
+    /**
+     * @param grid grid of the shard's size plus a halo cell on each side
+     */
+    public ShardNode(ShardLayout layout, int index, FiniteGrid grid) {
+        this.shard = layout.shard(index);
+        this.rows = shard.getRows();
+        this.columns = shard.getColumns();
+        if (grid.getRows() != rows + 2 * HALO || grid.getColumns() != columns + 2 * HALO) {
+            throw new IllegalArgumentException("Grid of " + shard + " expected to be " + (rows + 2 * HALO) + "x" +
+                    (columns + 2 * HALO) + ", got " + grid.getRows() + "x" + grid.getColumns());
+        }
+        this.grid = grid;
+        this.game = GameOfLife.builder(grid).build();
+        this.rowBits = new long[words(columns)];
+        this.haloRowBits = new long[rowBits.length];
+        this.columnBits = new long[words(rows + 2 * HALO)];
+        this.haloColumnBits = new long[columnBits.length];
+        this.columnCells = new long[rows + 2 * HALO];
+        this.rowBuffer = ByteBuffer.allocateDirect(rowBits.length * Long.BYTES);
+        this.columnBuffer = ByteBuffer.allocateDirect(columnBits.length * Long.BYTES);
+    }
+
+    public ShardLayout.Shard getShard() {
+        return shard;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Sets state of a cell of the universe, cells of other shards are ignored.
+     */
+    public void set(int row, int col, boolean state) {
+        if (shard.contains(row, col)) {
+            game.grid().set(row - shard.getFromRow() + HALO, col - shard.getFromColumn() + HALO, state);
+        }
+    }
+
+    /**
+     * @return state of a cell of the universe, {@code false} for cells of other shards
+     */
+    public boolean get(int row, int col) {
+        return shard.contains(row, col) && grid.get(row - shard.getFromRow() + HALO, col - shard.getFromColumn() + HALO);
+    }
+
+    /**
+     * @return amount of live cells in the shard, halo excluded
+     */
+    public long population() {
+        int bottom = rows + HALO;
+        int right = columns + HALO;
+        long halo = grid.rowPopulation(0) + grid.rowPopulation(bottom) +
+                grid.columnPopulation(0) + grid.columnPopulation(right) -
+                value(0, 0) - value(0, right) - value(bottom, 0) - value(bottom, right);
+        return grid.liveCells() - halo;
+    }
+
+    private int value(int row, int col) {
+        return grid.get(row, col) ? 1 : 0;
+    }
+
+    /**
+     * @return live cells of the shard, halo excluded
+     */
+    public boolean[][] snapshot() {
+        return grid.snapshot(HALO, HALO, rows, columns);
+    }
+
+    /**
+     * Connects a side of the shard to the adjacent shard.
+     *
+     * @throws IllegalArgumentException if the side borders the edge of the universe
+     */
+    public void link(Direction direction, HaloLink link) {
+        if (shard.neighbor(direction) < 0) {
+            throw new IllegalArgumentException(shard + " has no neighbor on the " + direction + " side");
+        }
+        links[direction.ordinal()] = link;
+    }
+
+    /**
+     * Connects every side of the shard that has an adjacent shard with a {@link MappedHaloLink}.
+     * <p>Link between shards {@code a < b} is kept in file {@code halo-a-b.ring} of the directory,
+     * which should be empty when the universe starts.</p>
+     */
+    public void linkMapped(Path directory, Duration timeout) throws IOException {
+        for (var direction : Direction.values()) {
+            int neighbor = shard.neighbor(direction);
+            if (neighbor < 0) continue;
+            int index = shard.getIndex();
+            var file = directory.resolve("halo-" + Math.min(index, neighbor) + "-" + Math.max(index, neighbor) + ".ring");
+            var buffer = direction == Direction.NORTH || direction == Direction.SOUTH ? rowBuffer : columnBuffer;
+            link(direction, MappedHaloLink.open(file, index < neighbor, buffer.capacity(), timeout));
+        }
+    }
+
+    /**
+     * Exchanges the halo with adjacent shards and progresses the shard by one generation.
+     *
+     * @return amount of cells of the shard that changed their state
+     */
+    public long step() throws IOException {
+        exchangeRows(Direction.NORTH, HALO, 0);
+        exchangeRows(Direction.SOUTH, rows, rows + HALO);
+        exchangeColumns(Direction.WEST, HALO, 0);
+        exchangeColumns(Direction.EAST, columns, columns + HALO);
+        changes.count = 0;
+        game.progress(changes);
+        generation++;
+        return changes.count;
+    }
+
+    private void exchangeRows(Direction direction, int border, int halo) throws IOException {
+        var link = link(direction);
+        var target = game.grid();
+        if (link == null) {
+            target.fill(halo, 0, 1, columns + 2 * HALO, false);
+            return;
+        }
+        Arrays.fill(rowBits, 0);
+        for (int col = 0; col < columns; col++) {
+            if (grid.get(border, col + HALO)) rowBits[col >>> 6] |= 1L << col;
+        }
+        exchange(shard.sendsFirst(direction), link, rowBuffer, rowBits, haloRowBits);
+        target.blit(halo, HALO, 1, columns, haloRowBits);
+    }
+
+    private void exchangeColumns(Direction direction, int border, int halo) throws IOException {
+        var link = link(direction);
+        var target = game.grid();
+        if (link == null) {
+            target.fill(0, halo, rows + 2 * HALO, 1, false);
+            return;
+        }
+        Arrays.fill(columnBits, 0);
+        for (int row = 0; row < columnCells.length; row++) {
+            if (grid.get(row, border)) columnBits[row >>> 6] |= 1L << row;
+        }
+        exchange(shard.sendsFirst(direction), link, columnBuffer, columnBits, haloColumnBits);
+        for (int row = 0; row < columnCells.length; row++) {
+            columnCells[row] = haloColumnBits[row >>> 6] >>> row & 1;
+        }
+        target.blit(0, halo, columnCells.length, 1, columnCells);
+    }
+
+    private HaloLink link(Direction direction) {
+        var link = links[direction.ordinal()];
+        if (link == null && shard.neighbor(direction) >= 0) {
+            throw new IllegalStateException(shard + " is not linked on the " + direction + " side");
+        }
+        return link;
+    }
+
+    private static void exchange(boolean sendFirst, HaloLink link, ByteBuffer buffer,
+                                 long[] outgoing, long[] incoming) throws IOException {
+        if (sendFirst) {
+            send(link, buffer, outgoing);
+            receive(link, buffer, incoming);
+        } else {
+            receive(link, buffer, incoming);
+            send(link, buffer, outgoing);
+        }
+    }
+
+    private static void send(HaloLink link, ByteBuffer buffer, long[] bits) throws IOException {
+        buffer.clear();
+        buffer.asLongBuffer().put(bits);
+        link.send(buffer);
+    }
+
+    private static void receive(HaloLink link, ByteBuffer buffer, long[] bits) throws IOException {
+        buffer.clear();
+        link.receive(buffer);
+        buffer.flip();
+        buffer.asLongBuffer().get(bits);
+    }
+
+    /**
+     * Joins the universe: registers with the coordinator, connects to adjacent shards over TCP
+     * and progresses the shard on coordinator's commands until it shuts down.
+     * <p>Sides that are already {@link #link linked} are not connected, adjacent shards are expected to have linked them too.</p>
+     */
+    public void join(InetSocketAddress coordinator) throws IOException {
+        try (var control = SocketChannel.open(coordinator);
+             var server = ServerSocketChannel.open()) {
+            var host = ((InetSocketAddress) control.getLocalAddress()).getAddress();
+            server.bind(new InetSocketAddress(host, 0));
+            var address = (InetSocketAddress) server.getLocalAddress();
+
+            var hello = ByteBuffer.allocate(Integer.BYTES + Messages.addressSize(address));
+            hello.putInt(shard.getIndex());
+            Messages.putAddress(hello, address);
+            Messages.write(control, hello.flip());
+
+            var neighbors = new InetSocketAddress[Direction.values().length];
+            for (var direction : Direction.values()) {
+                neighbors[direction.ordinal()] = Messages.readAddress(control);
+            }
+            // shards connect to their southern and eastern neighbors and accept the northern and western ones
+            for (var direction : new Direction[]{Direction.SOUTH, Direction.EAST}) {
+                var neighbor = neighbors[direction.ordinal()];
+                if (neighbor == null || links[direction.ordinal()] != null) continue;
+                var channel = SocketChannel.open(neighbor);
+                Messages.write(channel, ByteBuffer.allocate(Integer.BYTES).putInt(shard.getIndex()).flip());
+                link(direction, new SocketHaloLink(channel));
+            }
+            // neighbors may connect in any order, so the sides are told apart by index
+            int accepted = 0;
+            for (var direction : new Direction[]{Direction.NORTH, Direction.WEST}) {
+                if (neighbors[direction.ordinal()] != null && links[direction.ordinal()] == null) accepted++;
+            }
+            for (; accepted > 0; accepted--) {
+                var channel = server.accept();
+                int index = Messages.read(channel, Integer.BYTES).getInt();
+                var from = index == shard.neighbor(Direction.NORTH) ? Direction.NORTH : Direction.WEST;
+                if (links[from.ordinal()] != null) {
+                    channel.close();
+                    throw new IOException(shard + " is already linked on the " + from + " side");
+                }
+                link(from, new SocketHaloLink(channel));
+            }
+            serve(control);
+        }
+    }
+
+    private void serve(SocketChannel control) throws IOException {
+        var report = ByteBuffer.allocate(3 * Long.BYTES);
+        while (true) {
+            int generations = Messages.read(control, Integer.BYTES).getInt();
+            if (generations <= 0) return;
+            long lastChanges = 0;
+            for (int i = 0; i < generations; i++) {
+                lastChanges = step();
+            }
+            report.clear();
+            report.putLong(generation).putLong(population()).putLong(lastChanges);
+            Messages.write(control, report.flip());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (int i = 0; i < links.length; i++) {
+            if (links[i] == null) continue;
+            try {
+                links[i].close();
+            } catch (IOException e) {
+                if (failure == null) failure = e; else failure.addSuppressed(e);
+            }
+            links[i] = null;
+        }
+        if (failure != null) throw failure;
+    }
+
+    private static int words(int cells) {
+        return (cells + Long.SIZE - 1) >>> 6;
+    }
+
+    /**
+     * Counts changes of the shard's own cells, halo changes are overwritten by the next exchange.
+     */
+    private final class InteriorChanges implements ProgressListener {
+
+        long count;
+
+        @Override
+        public void onProgressStart() {
+        }
+
+        @Override
+        public void onCellSpawned(int row, int col) {
+            count(row, col);
+        }
+
+        @Override
+        public void onCellDied(int row, int col) {
+            count(row, col);
+        }
+
+        private void count(int row, int col) {
+            if (row >= HALO && row <= rows && col >= HALO && col <= columns) count++;
+        }
+
+        @Override
+        public void onProgressFinish() {
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.voidaspect.jgol.shard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * {@link HaloLink} over a blocking socket channel.
+ */
+final class SocketHaloLink implements HaloLink {
+
+    private final SocketChannel channel;
+
+    SocketHaloLink(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        channel.configureBlocking(true);
+        channel.socket().setTcpNoDelay(true);
+    }
+
+    @Override
+    public void send(ByteBuffer buffer) throws IOException {
+        Messages.write(channel, buffer);
+    }
+
+    @Override
+    public void receive(ByteBuffer buffer) throws IOException {
+        Messages.read(channel, buffer);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
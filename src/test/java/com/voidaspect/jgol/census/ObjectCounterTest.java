@@ -0,0 +1,85 @@
+package com.voidaspect.jgol.census;
+
+import com.voidaspect.jgol.grid.HashGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectCounterTest {
+
+    @Test
+    void shouldCountObjectsRegardlessOfPlacementAndOrientation() {
+        var grid = new HashGrid();
+        // blocks
+        put(grid, 0, 0, "oo", "oo");
+        put(grid, -40, 100, "oo", "oo");
+        // blinker in both phases
+        put(grid, 20, 0, "ooo");
+        put(grid, 20, 20, "o", "o", "o");
+        // glider rotated by a quarter turn and mirrored
+        put(grid, 50, 50, ".o.", "..o", "ooo");
+        put(grid, 50, 80, "o..", "o.o", "oo.");
+        put(grid, 80, 50, ".o.", "o..", "ooo");
+        // toad is not split into halves
+        put(grid, 100, 0, ".ooo", "ooo.");
+        // beehive
+        put(grid, 120, 0, ".oo.", "o..o", ".oo.");
+
+        var counter = new ObjectCounter(15);
+        counter.count(grid);
+        Map<String, Long> objects = new HashMap<>();
+        counter.addTo(objects);
+
+        // names of other shapes depend on the orientation chosen as canonical
+        assertEquals(5, objects.size(), objects.toString());
+        assertEquals(Long.valueOf(2), objects.get("2o$2o!"));
+        assertEquals(List.of(1L, 1L, 2L, 2L, 3L), objects.values().stream().sorted().collect(Collectors.toList()));
+
+        // objects of the next grid are added to the same counts
+        grid.clear();
+        put(grid, 5, 5, "oo", "oo");
+        counter.count(grid);
+        objects.clear();
+        counter.addTo(objects);
+        assertEquals(Long.valueOf(3), objects.get("2o$2o!"));
+    }
+
+    @Test
+    void shouldCountPhasesOfOscillatorsAndSpaceshipsAsOneObject() {
+        var grid = new HashGrid();
+        // toad in both phases
+        put(grid, 0, 0, ".ooo", "ooo.");
+        put(grid, 0, 20, "..o.", "o..o", "o..o", ".o..");
+        // glider in all four phases
+        put(grid, 20, 0, ".o.", "..o", "ooo");
+        put(grid, 20, 20, "o.o", ".oo", ".o.");
+        put(grid, 20, 40, "..o", "o.o", ".oo");
+        put(grid, 20, 60, "o..", ".oo", "oo.");
+        // still life and a shape that dies out are counted as found
+        put(grid, 40, 0, "oo", "oo");
+        put(grid, 40, 20, "o");
+
+        var counter = new ObjectCounter(15);
+        counter.count(grid);
+        Map<String, Long> objects = new HashMap<>();
+        counter.addTo(objects);
+
+        assertEquals(4, objects.size(), objects.toString());
+        assertEquals(Long.valueOf(1), objects.get("2o$2o!"));
+        assertEquals(Long.valueOf(1), objects.get("o!"));
+        assertEquals(List.of(1L, 1L, 2L, 4L), objects.values().stream().sorted().collect(Collectors.toList()));
+    }
+
+    private static void put(HashGrid grid, int row, int col, String... pattern) {
+        for (int r = 0; r < pattern.length; r++) {
+            for (int c = 0; c < pattern[r].length(); c++) {
+                if (pattern[r].charAt(c) == 'o') grid.set(row + r, col + c, true);
+            }
+        }
+    }
+}
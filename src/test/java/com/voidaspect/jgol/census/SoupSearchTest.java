@@ -0,0 +1,52 @@
+package com.voidaspect.jgol.census;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoupSearchTest {
+
+    @Test
+    void shouldCollectSameCensusWithAnyParallelism() throws InterruptedException {
+        var search = new SoupSearch(12, 1000);
+
+        var sequential = search.search(42, 100, 1);
+        var parallel = search.search(42, 100, 3);
+
+        assertEquals(sequential.getObjects(), parallel.getObjects());
+        assertEquals(sequential.getUnstabilized(), parallel.getUnstabilized());
+        assertEquals(100, parallel.getSoups());
+        // block is the most common object, blinker is among the most common ones
+        assertEquals("2o$2o!", parallel.getObjects().keySet().iterator().next(), parallel.toString());
+        assertTrue(parallel.count("3o!") + parallel.count("o$o$o!") > 0, parallel.toString());
+        assertTrue(parallel.getUnstabilized() < 30, parallel.toString());
+    }
+
+    @Test
+    void shouldGenerateDisjointSoupsForAdjacentSeeds() {
+        Set<List<Long>> soups = new HashSet<>();
+        for (long seed = 0; seed <= 1; seed++) {
+            for (long soup = 0; soup < 100; soup++) {
+                long[] bits = new long[4];
+                SoupSearch.fill(bits, seed, soup);
+                assertTrue(soups.add(Arrays.stream(bits).boxed().collect(Collectors.toList())),
+                        "seed " + seed + " repeats a soup at " + soup);
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SoupSearch(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SoupSearch(16, 0));
+        var search = new SoupSearch(16, 10);
+        assertThrows(IllegalArgumentException.class, () -> search.search(1, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> search.search(1, 1, 0));
+    }
+}
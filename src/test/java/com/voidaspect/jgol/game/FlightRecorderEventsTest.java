@@ -0,0 +1,129 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.grid.TiledGrid;
+import com.voidaspect.jgol.listener.ProgressListener;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    private static final boolean[][] BLINKER = {
+            {false, false, false},
+            {true, true, true},
+            {false, false, false}
+    };
+
+    @Test
+    void shouldRecordGenerations() throws IOException {
+        var game = GameOfLife.builder(new HashGrid(BLINKER)).build();
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            recording.enable(GenerationEvent.class);
+            recording.start();
+            game.progress();
+            game.progress();
+            recording.stop();
+            events = events(recording, "com.voidaspect.jgol.Generation");
+        }
+
+        assertEquals(2, events.size());
+        var event = events.get(0);
+        assertEquals(3, event.getLong("population"));
+        assertEquals(4, event.getLong("updates"));
+        assertFalse(event.getBoolean("frozen"));
+    }
+
+    @Test
+    void shouldRecordTiledGenerationsOutsideOfIntRange() throws IOException {
+        var grid = new TiledGrid();
+        // vertical phase of the blinker leaves the int range
+        for (int col = 0; col < 3; col++) grid.set((long) Integer.MAX_VALUE, col, true);
+        var game = GameOfLife.builder(grid).build();
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            recording.enable(GenerationEvent.class);
+            recording.start();
+            game.progress();
+            recording.stop();
+            events = events(recording, "com.voidaspect.jgol.Generation");
+        }
+
+        assertEquals(1, events.size());
+        assertEquals(4, events.get(0).getLong("updates"));
+        assertTrue(grid.get(Integer.MAX_VALUE + 1L, 1));
+
+        // cells reported to a listener don't fit into int, the grid stays in its generation
+        assertThrows(ArithmeticException.class, () -> game.progress(new ProgressListener() {
+            @Override
+            public void onProgressStart() {
+            }
+
+            @Override
+            public void onCellSpawned(int row, int col) {
+            }
+
+            @Override
+            public void onCellDied(int row, int col) {
+            }
+
+            @Override
+            public void onProgressFinish() {
+            }
+        }));
+        assertTrue(grid.get(Integer.MAX_VALUE + 1L, 1));
+        assertFalse(grid.get((long) Integer.MAX_VALUE, 0));
+    }
+
+    @Test
+    void shouldRecordLockWaits() throws IOException {
+        var game = GameOfLife.builder(new HashGrid(BLINKER)).setThreadSafe(true).build();
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            recording.enable(LockWaitEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            game.progress();
+            game.grid().set(5, 5, true);
+            recording.stop();
+            events = events(recording, "com.voidaspect.jgol.LockWait");
+        }
+
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(event -> LockWaitEvent.WRITE.equals(event.getString("mode"))));
+    }
+
+    @Test
+    void shouldBeDisabledByDefault() throws IOException {
+        var game = GameOfLife.builder(new HashGrid(BLINKER)).setThreadSafe(true).build();
+        try (var recording = new Recording()) {
+            recording.start();
+            game.progress();
+            recording.stop();
+            assertTrue(events(recording, "com.voidaspect.jgol.Generation").isEmpty());
+            assertTrue(events(recording, "com.voidaspect.jgol.LockWait").isEmpty());
+        }
+    }
+
+    private static List<RecordedEvent> events(Recording recording, String name) throws IOException {
+        var file = Files.createTempFile("jgol", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(name))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -41,5 +41,13 @@ class GameOfLifeBuilderTest {
         assertEquals(Life.class, builder.build().getClass());
     }
 
+    @Test
+    void historyBudgetShouldNotBeNegative() {
+        var builder = new GameOfLifeBuilder(grid);
+        assertEquals(0, builder.getHistoryBudget());
+        assertEquals(1024, builder.setHistoryBudget(1024).getHistoryBudget());
+        assertThrows(IllegalArgumentException.class, () -> builder.setHistoryBudget(-1));
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.grid.NeighborCountingHashGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationMetricsTest {
+
+    @Test
+    void shouldReportGenerationStats() {
+        var reported = new ArrayList<GenerationStats>();
+        var game = GameOfLife.builder(new HashGrid(new boolean[][]{
+                {false, false, false},
+                {true, true, true},
+                {false, false, false}
+        })).setMetrics(reported::add).build();
+
+        game.progress();
+
+        assertEquals(1, reported.size());
+        var stats = reported.get(0);
+        assertEquals(3, stats.getCellsEvaluated());
+        assertEquals(2, stats.getSpawned());
+        assertEquals(2, stats.getDied());
+        // 12 dead cells around the blinker are visited 7 + 6 + 7 times
+        assertEquals(12, stats.getDeadNeighborsVisited());
+        assertEquals(20, stats.getCellSetProbes());
+        // both bags are allocated
+        assertEquals(2, stats.getScratchGrowth());
+        assertTrue(stats.getScratchCapacity() > 0);
+        assertTrue(stats.getEvaluateNanos() >= 0);
+        assertTrue(stats.getUpdateNanos() >= 0);
+
+        game.progress();
+        assertEquals(2, reported.size());
+        assertEquals(3, reported.get(1).getCellsEvaluated());
+    }
+
+    @Test
+    void shouldCountVisitedSetGrowth() {
+        var reported = new ArrayList<GenerationStats>();
+        var grid = new HashGrid();
+        for (int i = 0; i < 100; i++) grid.set(0, i * 4, true);
+        var game = GameOfLife.builder(grid).setMetrics(reported::add).build();
+
+        game.progress();
+
+        var stats = reported.get(0);
+        assertEquals(100, stats.getCellsEvaluated());
+        assertEquals(100, stats.getDied());
+        assertEquals(0, stats.getSpawned());
+        // died bag grows to 64, 96 and 144 cells, 800 distinct dead cells grow the table from 16 to 2048
+        assertEquals(800, stats.getDeadNeighborsVisited());
+        // isolated cells share no neighbors
+        assertEquals(800, stats.getCellSetProbes());
+        assertEquals(3 + 7, stats.getScratchGrowth());
+    }
+
+    @Test
+    void shouldReuseScratchBuffers() {
+        var reported = new ArrayList<GenerationStats>();
+        var game = GameOfLife.builder(new HashGrid(new boolean[][]{
+                {false, false, false},
+                {true, true, true},
+                {false, false, false}
+        })).setMetrics(reported::add).build();
+
+        for (int i = 0; i < 10; i++) game.progress();
+
+        long capacity = reported.get(0).getScratchCapacity();
+        for (var stats : reported.subList(1, reported.size())) {
+            assertEquals(0, stats.getScratchGrowth());
+            assertEquals(capacity, stats.getScratchCapacity());
+        }
+    }
+
+    @Test
+    void shouldTrimScratchBuffersAfterPopulationCrash() {
+        var reported = new ArrayList<GenerationStats>();
+        var grid = new HashGrid();
+        // lonely cells die off at once, blinker keeps the game going
+        for (int i = 0; i < 2000; i++) grid.set(10, i * 4, true);
+        grid.set(0, 1, true);
+        grid.set(0, 2, true);
+        grid.set(0, 3, true);
+        var game = GameOfLife.builder(grid).setMetrics(reported::add).build();
+
+        for (int i = 0; i < 10; i++) game.progress();
+
+        long peak = reported.get(0).getScratchCapacity();
+        assertEquals(peak, reported.get(2).getScratchCapacity());
+        assertTrue(reported.get(9).getScratchCapacity() < peak / 100);
+        assertEquals(3, game.grid().liveCells());
+    }
+
+    @Test
+    void shouldReportCandidatesOfNeighborCountingGrid() {
+        var reported = new ArrayList<GenerationStats>();
+        var builder = GameOfLife.builder(new NeighborCountingHashGrid(new boolean[][]{
+                {false, false, false},
+                {true, true, true},
+                {false, false, false}
+        })).setMetrics(reported::add);
+        // metrics don't change the algorithm
+        assertTrue(builder.chooseProgressStrategy() instanceof NeighborCountProgressStrategy);
+        var game = builder.build();
+
+        game.progress();
+
+        var stats = reported.get(0);
+        // 3 live cells and 12 dead cells next to them
+        assertEquals(15, stats.getCellsEvaluated());
+        assertEquals(0, stats.getDeadNeighborsVisited());
+        assertEquals(0, stats.getCellSetProbes());
+        assertEquals(2, stats.getSpawned());
+        assertEquals(2, stats.getDied());
+        assertEquals(2, stats.getScratchGrowth());
+        assertEquals(128, stats.getScratchCapacity());
+        assertTrue(stats.getEvaluateNanos() >= 0);
+        assertTrue(stats.getUpdateNanos() >= 0);
+
+        game.progress();
+        assertEquals(0, reported.get(1).getScratchGrowth());
+        assertEquals(15, reported.get(1).getCellsEvaluated());
+    }
+
+    @Test
+    void shouldNotCollectByDefault() {
+        assertNull(new GameOfLifeBuilder(new HashGrid()).getMetrics());
+    }
+}
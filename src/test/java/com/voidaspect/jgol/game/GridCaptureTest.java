@@ -0,0 +1,100 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.Capturable;
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.HashGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridCaptureTest {
+
+    private static final boolean[][] GLIDER = {
+            {false, true, false},
+            {false, false, true},
+            {true, true, true}
+    };
+
+    @Test
+    void shouldCapturePointInTimeState() {
+        var game = GameOfLife.builder(new HashGrid(GLIDER)).setThreadSafe(true).build();
+        var reference = GameOfLife.builder(new HashGrid(GLIDER)).build();
+
+        try (var capture = ((Capturable) game).capture()) {
+            assertThrows(IllegalStateException.class, ((Capturable) game)::capture);
+            for (int i = 0; i < 8; i++) {
+                game.progress();
+                reference.progress();
+            }
+            assertArrayEquals(GLIDER, capture.grid().snapshot(0, 0, 3, 3));
+            assertFalse(capture.isFrozen());
+            assertThrows(UnsupportedOperationException.class, () -> capture.grid().set(0, 0, true));
+            assertGrid(reference.grid(), game.grid());
+        }
+
+        assertGrid(reference.grid(), game.grid());
+        for (int i = 0; i < 8; i++) {
+            game.progress();
+            reference.progress();
+        }
+        assertGrid(reference.grid(), game.grid());
+    }
+
+    @Test
+    void shouldRejectAccessAfterClose() {
+        var game = GameOfLife.builder(new HashGrid(GLIDER)).setThreadSafe(true).build();
+        var capture = ((Capturable) game).capture();
+        capture.close();
+        capture.close();
+
+        assertThrows(IllegalStateException.class, () -> capture.grid().get(0, 1));
+        ((Capturable) game).capture().close();
+    }
+
+    @Test
+    void shouldReleaseOnceWhenClosedConcurrently() {
+        var game = GameOfLife.builder(new HashGrid(GLIDER)).setThreadSafe(true).build();
+        var reference = GameOfLife.builder(new HashGrid(GLIDER)).build();
+        for (int i = 0; i < 50; i++) {
+            var capture = ((Capturable) game).capture();
+            game.progress();
+            reference.progress();
+            var closes = new CompletableFuture<?>[4];
+            for (int j = 0; j < closes.length; j++) {
+                closes[j] = CompletableFuture.runAsync(capture::close);
+            }
+            CompletableFuture.allOf(closes).join();
+            assertGrid(reference.grid(), game.grid());
+        }
+    }
+
+    @Test
+    void shouldReadCaptureWhileGameProgresses() {
+        var game = GameOfLife.builder(new HashGrid(GLIDER)).setThreadSafe(true).build();
+        for (int i = 0; i < 5; i++) {
+            try (var capture = ((Capturable) game).capture()) {
+                long expected = capture.grid().liveCells();
+                var reader = CompletableFuture.supplyAsync(() -> {
+                    long[] cells = new long[1];
+                    for (int j = 0; j < 100; j++) {
+                        cells[0] = 0;
+                        capture.grid().forEachAlive((row, col) -> cells[0]++);
+                        if (cells[0] != expected) return cells[0];
+                    }
+                    return cells[0];
+                });
+                for (int j = 0; j < 20; j++) game.progress();
+                assertEquals(expected, (long) reader.join());
+            }
+        }
+        assertEquals(5, game.grid().liveCells());
+    }
+
+    private static void assertGrid(Grid expected, Grid actual) {
+        assertEquals(expected.liveCells(), actual.liveCells());
+        expected.forEachAlive((row, col) -> assertTrue(actual.get(row, col), "missing cell " + row + "," + col));
+    }
+}
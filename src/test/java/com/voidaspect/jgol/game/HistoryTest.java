@@ -0,0 +1,163 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.grid.NeighborCountingGrid;
+import com.voidaspect.jgol.grid.TiledGrid;
+import com.voidaspect.jgol.grid.cell.CellBag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryTest {
+
+    // R-pentomino
+    private static final boolean[][] PATTERN = {
+            {false, true, true},
+            {true, true, false},
+            {false, true, false}
+    };
+
+    @Test
+    void shouldRewindToPreviousGenerations() {
+        var game = GameOfLife.builder(new NeighborCountingGrid(64, 64))
+                .setHistoryBudget(1 << 20)
+                .build();
+        var reference = GameOfLife.builder(new NeighborCountingGrid(64, 64)).build();
+        place(game);
+        place(reference);
+
+        var generations = new boolean[21][][];
+        generations[0] = reference.grid().snapshot(0, 0, 64, 64);
+        for (int i = 1; i <= 20; i++) {
+            game.progress();
+            reference.progress();
+            generations[i] = reference.grid().snapshot(0, 0, 64, 64);
+        }
+
+        assertEquals(5, game.rewind(5));
+        assertArrayEquals(generations[15], game.grid().snapshot(0, 0, 64, 64));
+
+        game.progress();
+        assertArrayEquals(generations[16], game.grid().snapshot(0, 0, 64, 64));
+
+        assertEquals(16, game.rewind(100));
+        assertArrayEquals(generations[0], game.grid().snapshot(0, 0, 64, 64));
+        assertEquals(0, game.rewind(1));
+        assertThrows(IllegalArgumentException.class, () -> game.rewind(-1));
+    }
+
+    @Test
+    void shouldRewindAcrossEndOfRing() {
+        // a few generations of the pattern fit, so the ring wraps around many times
+        var game = GameOfLife.builder(new NeighborCountingGrid(64, 64))
+                .setHistoryBudget(100 * Long.BYTES)
+                .build();
+        var reference = GameOfLife.builder(new NeighborCountingGrid(64, 64)).build();
+        place(game);
+        place(reference);
+
+        var generations = new boolean[41][][];
+        generations[0] = reference.grid().snapshot(0, 0, 64, 64);
+        for (int i = 1; i <= 40; i++) {
+            game.progress();
+            reference.progress();
+            generations[i] = reference.grid().snapshot(0, 0, 64, 64);
+        }
+
+        int rewound = game.rewind(40);
+        assertTrue(rewound > 1 && rewound < 40, "rewound " + rewound);
+        assertArrayEquals(generations[40 - rewound], game.grid().snapshot(0, 0, 64, 64));
+    }
+
+    @Test
+    void shouldRewindTiledGridOutsideOfIntRange() {
+        var grid = new TiledGrid();
+        long row = 5_000_000_000L;
+        long col = -5_000_000_000L;
+        // glider moving towards larger rows and columns
+        long[][] glider = {{row, col + 1}, {row + 1, col + 2}, {row + 2, col}, {row + 2, col + 1}, {row + 2, col + 2}};
+        for (long[] cell : glider) grid.set(cell[0], cell[1], true);
+        var stats = new ArrayList<GenerationStats>();
+        var builder = GameOfLife.builder(grid).setHistoryBudget(1 << 16).setMetrics(stats::add);
+        // tiles are still stepped as a whole
+        assertTrue(builder.chooseProgressStrategy() instanceof TiledProgressStrategy);
+        var game = builder.build();
+
+        for (int i = 0; i < 8; i++) game.progress();
+        assertTrue(grid.get(row + 2, col + 3));
+        assertEquals(8, stats.size());
+        assertEquals(2, stats.get(0).getSpawned());
+        assertEquals(2, stats.get(0).getDied());
+
+        assertEquals(8, game.rewind(8));
+        assertEquals(5, grid.liveCells());
+        for (long[] cell : glider) assertTrue(grid.get(cell[0], cell[1]));
+        assertEquals(0, game.rewind(1));
+    }
+
+    @Test
+    void shouldUnfreezeRewoundGame() {
+        var game = GameOfLife.builder(new HashGrid(new boolean[][]{
+                {true, true, false},
+                {true, false, false}
+        })).setHistoryBudget(1024).setThreadSafe(true).build();
+
+        game.progress();
+        game.progress();
+        assertTrue(game.isFrozen());
+        assertEquals(4, game.grid().liveCells());
+
+        assertEquals(2, game.rewind(2));
+        assertFalse(game.isFrozen());
+        assertEquals(3, game.grid().liveCells());
+    }
+
+    @Test
+    void shouldDiscardHistoryOnExternalChange() {
+        var game = GameOfLife.builder(new HashGrid(PATTERN)).setHistoryBudget(1024).build();
+        game.progress();
+        game.progress();
+
+        game.grid().set(-10, -10, true);
+        assertEquals(0, game.rewind(1));
+    }
+
+    @Test
+    void shouldNotRewindWithoutHistory() {
+        var game = GameOfLife.builder(new HashGrid(PATTERN)).build();
+        game.progress();
+        assertEquals(0, game.rewind(1));
+    }
+
+    @Test
+    void shouldStayWithinBudget() {
+        // deltas of 4 cells framed by their length
+        var history = new History(3 * (2 + 4) * Long.BYTES);
+        var delta = new CellBag();
+        for (int i = 0; i < 4; i++) delta.add(i, i);
+        var empty = new CellBag();
+
+        for (int i = 0; i < 5; i++) history.record(delta, empty);
+        assertEquals(3, history.size());
+        assertEquals(3 * (2 + 4) * Long.BYTES, history.bytes());
+
+        var huge = new CellBag();
+        for (int i = 0; i < 100; i++) huge.add(i, -i);
+        history.record(huge, empty);
+        assertEquals(0, history.size());
+        assertEquals(0, history.bytes());
+
+        assertThrows(IllegalArgumentException.class, () -> new History(0));
+    }
+
+    private static void place(GameOfLife game) {
+        for (int row = 0; row < PATTERN.length; row++) {
+            for (int col = 0; col < PATTERN[row].length; col++) {
+                if (PATTERN[row][col]) game.grid().set(row + 30, col + 30, true);
+            }
+        }
+    }
+}
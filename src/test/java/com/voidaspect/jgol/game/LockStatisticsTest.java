@@ -0,0 +1,141 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.Bounds;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.grid.cell.CellOperation;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockStatisticsTest {
+
+    @Test
+    void shouldCountWriteLocksAndOptimisticReadFailures() throws Exception {
+        var stats = new LockStatistics();
+        var grid = new InterferingGrid(new HashGrid());
+        var game = GameOfLife.builder(grid)
+                .setThreadSafe(true)
+                .setLockStatistics(stats)
+                .build();
+
+        game.progress();
+        assertEquals(1, stats.getWriteLocks());
+        assertEquals(0, stats.getOptimisticReadFailures());
+
+        // concurrent write in the middle of an optimistic read
+        grid.interference = () -> {
+            var writer = new Thread(() -> game.grid().clear());
+            writer.start();
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        assertFalse(game.grid().get(0, 0));
+
+        assertEquals(1, stats.getOptimisticReadFailures());
+        assertEquals(1, stats.getReadLockFallbacks());
+        assertEquals(0, stats.getFailedUpgrades());
+        assertEquals(2, stats.getWriteLocks());
+        assertTrue(stats.getWriteLockHoldNanos() >= stats.getMaxWriteLockHoldNanos());
+
+        stats.reset();
+        assertEquals(0, stats.getWriteLocks());
+        assertEquals(0, stats.getOptimisticReadFailures());
+        assertEquals(0, stats.getWriteLockHoldNanos());
+    }
+
+    @Test
+    void shouldRegisterMBean() throws Exception {
+        var stats = new LockStatistics();
+        var game = GameOfLife.builder(new HashGrid())
+                .setThreadSafe(true)
+                .setLockStatistics(stats)
+                .build();
+        game.grid().set(0, 0, true);
+
+        var name = stats.register("test");
+        var server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(1L, server.getAttribute(name, "WriteLocks"));
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertEquals(0L, server.getAttribute(name, "WriteLocks"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    /**
+     * Runs interference once, on the next read of a cell.
+     */
+    private static final class InterferingGrid implements Grid {
+
+        private final Grid inner;
+
+        volatile Runnable interference;
+
+        InterferingGrid(Grid inner) {
+            this.inner = inner;
+        }
+
+        @Override
+        public boolean get(int row, int col) {
+            var action = interference;
+            if (action != null) {
+                interference = null;
+                action.run();
+            }
+            return inner.get(row, col);
+        }
+
+        @Override
+        public void set(int row, int col, boolean state) {
+            inner.set(row, col, state);
+        }
+
+        @Override
+        public int neighbors(int row, int col) {
+            return inner.neighbors(row, col);
+        }
+
+        @Override
+        public boolean[][] snapshot(int fromRow, int fromColumn, int rows, int columns) {
+            return inner.snapshot(fromRow, fromColumn, rows, columns);
+        }
+
+        @Override
+        public void clear() {
+            inner.clear();
+        }
+
+        @Override
+        public long liveCells() {
+            return inner.liveCells();
+        }
+
+        @Override
+        public void forEachAlive(CellOperation operation) {
+            inner.forEachAlive(operation);
+        }
+
+        @Override
+        public Bounds bounds() {
+            return inner.bounds();
+        }
+
+        @Override
+        public int rowPopulation(int row) {
+            return inner.rowPopulation(row);
+        }
+
+        @Override
+        public int columnPopulation(int col) {
+            return inner.columnPopulation(col);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.grid.NeighborCountingGrid;
+import com.voidaspect.jgol.grid.NeighborCountingHashGrid;
+import com.voidaspect.jgol.grid.PackedNeighborCountingGrid;
+import com.voidaspect.jgol.grid.PaddedInMemoryGrid;
+import com.voidaspect.jgol.listener.ProgressListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NeighborCountProgressStrategyTest {
+
+    private static final int SIZE = 48;
+
+    @Test
+    void shouldProgressBlinker() {
+        var grid = new NeighborCountingHashGrid(new boolean[][]{
+                {false, false, false},
+                {true, true, true},
+                {false, false, false}
+        });
+        var strategy = new NeighborCountProgressStrategy();
+
+        strategy.progress(grid, ProgressListener.NOOP);
+
+        assertArrayEquals(new boolean[][]{
+                {false, true, false},
+                {false, true, false},
+                {false, true, false}
+        }, grid.snapshot(0, 0, 3, 3));
+        assertEquals(3, grid.liveCells());
+        assertFalse(strategy.isFrozen());
+    }
+
+    @Test
+    void shouldMatchAllAtOnceStrategy() {
+        var soup = soup();
+        var expected = new HashGrid(soup);
+        var finite = new NeighborCountingGrid(soup, SIZE, SIZE);
+        var packed = new PackedNeighborCountingGrid(soup, SIZE, SIZE);
+        var infinite = new NeighborCountingHashGrid(soup);
+        var reference = new AllAtOnceProgressStrategy();
+        var strategy = new NeighborCountProgressStrategy();
+
+        for (int i = 0; i < 50; i++) {
+            reference.progress(expected, ProgressListener.NOOP);
+            strategy.progress(infinite, ProgressListener.NOOP);
+            assertEquals(expected.liveCells(), infinite.liveCells());
+            assertEquals(expected.bounds(), infinite.bounds());
+            assertArrayEquals(snapshot(expected), snapshot(infinite));
+        }
+
+        var bounded = new PaddedInMemoryGrid(soup, SIZE, SIZE);
+        for (int i = 0; i < 50; i++) {
+            reference.progress(bounded, ProgressListener.NOOP);
+            strategy.progress(finite, ProgressListener.NOOP);
+            strategy.progress(packed, ProgressListener.NOOP);
+            assertArrayEquals(bounded.snapshot(), finite.snapshot());
+            assertArrayEquals(bounded.snapshot(), packed.snapshot());
+        }
+        assertNotEquals(0, finite.liveCells());
+    }
+
+    @Test
+    void shouldFallBackForOtherGrids() {
+        var grid = new HashGrid(soup());
+        var expected = new HashGrid(soup());
+        var strategy = new NeighborCountProgressStrategy();
+        var reference = new AllAtOnceProgressStrategy();
+
+        for (int i = 0; i < 10; i++) {
+            strategy.progress(grid, ProgressListener.NOOP);
+            reference.progress(expected, ProgressListener.NOOP);
+        }
+
+        assertArrayEquals(snapshot(expected), snapshot(grid));
+    }
+
+    @Test
+    void shouldRewindCountingGrid() {
+        var soup = soup();
+        var grid = new NeighborCountingGrid(soup, SIZE, SIZE);
+        var strategy = new NeighborCountProgressStrategy(new History(1 << 20), null);
+
+        for (int i = 0; i < 5; i++) strategy.progress(grid, ProgressListener.NOOP);
+
+        assertEquals(5, strategy.rewind(grid, 10));
+        assertArrayEquals(soup, grid.snapshot());
+        assertThrows(IllegalArgumentException.class, () -> strategy.rewind(grid, -1));
+    }
+
+    @Test
+    void shouldFreezeStillLife() {
+        var grid = new NeighborCountingGrid(new boolean[][]{
+                {true, true},
+                {true, true}
+        }, 4, 4);
+        var strategy = new NeighborCountProgressStrategy();
+
+        strategy.progress(grid, ProgressListener.NOOP);
+
+        assertTrue(strategy.isFrozen());
+        assertEquals(4, grid.liveCells());
+    }
+
+    private static boolean[][] soup() {
+        var random = new Random(42);
+        var soup = new boolean[SIZE][SIZE];
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                soup[row][col] = random.nextInt(3) == 0;
+            }
+        }
+        return soup;
+    }
+
+    private static boolean[][] snapshot(Grid grid) {
+        return grid.snapshot(-60, -60, SIZE + 120, SIZE + 120);
+    }
+}
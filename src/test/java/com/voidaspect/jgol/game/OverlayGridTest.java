@@ -0,0 +1,80 @@
+package com.voidaspect.jgol.game;
+
+import com.voidaspect.jgol.grid.BitVectorInMemoryGrid;
+import com.voidaspect.jgol.grid.Bounds;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.GridTest;
+import com.voidaspect.jgol.grid.HashGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverlayGridTest extends GridTest {
+
+    @Test
+    void shouldKeepBaseIntact() {
+        var base = new HashGrid(new boolean[][]{
+                {true, true, false},
+                {false, true, false}
+        });
+        var overlay = new OverlayGrid(base);
+
+        overlay.set(0, 0, false);
+        overlay.set(2, 2, true);
+        overlay.set(0, 1, false);
+        overlay.set(0, 1, true);
+
+        assertFalse(overlay.get(0, 0));
+        assertTrue(overlay.get(0, 1));
+        assertTrue(overlay.get(2, 2));
+        assertEquals(3, overlay.liveCells());
+        assertEquals(new Bounds(0, 1, 2, 2), overlay.bounds());
+        assertEquals(3, overlay.neighbors(1, 2));
+
+        assertTrue(base.get(0, 0));
+        assertFalse(base.get(2, 2));
+        assertEquals(3, base.liveCells());
+
+        assertSame(base, overlay.mergeInto());
+        assertFalse(base.get(0, 0));
+        assertTrue(base.get(0, 1));
+        assertTrue(base.get(2, 2));
+        assertEquals(3, base.liveCells());
+    }
+
+    @Test
+    void shouldHideClearedBase() {
+        var base = new HashGrid(new boolean[][]{
+                {true, true},
+                {true, true}
+        });
+        var overlay = new OverlayGrid(base);
+
+        overlay.clear();
+        overlay.set(1, 1, true);
+
+        assertEquals(1, overlay.liveCells());
+        assertEquals(1, overlay.rowPopulation(1));
+        assertEquals(0, overlay.rowPopulation(0));
+        assertEquals(4, base.liveCells());
+
+        overlay.mergeInto();
+        assertEquals(1, base.liveCells());
+        assertTrue(base.get(1, 1));
+    }
+
+    @Test
+    void shouldIgnoreCellsOutsideOfFiniteBase() {
+        var overlay = new OverlayGrid(new BitVectorInMemoryGrid(2, 2));
+
+        overlay.set(5, 5, true);
+
+        assertFalse(overlay.get(5, 5));
+        assertEquals(0, overlay.liveCells());
+    }
+
+    @Override
+    protected Grid grid(boolean[][] initial) {
+        return new OverlayGrid(new HashGrid(initial));
+    }
+}
@@ -0,0 +1,122 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.GameOfLife;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveGridTest extends GridTest {
+
+    @Override
+    protected Grid grid(boolean[][] initial) {
+        return new AdaptiveGrid(initial);
+    }
+
+    @Test
+    void shouldBecomeDenseAndSparseAgain() {
+        var grid = new AdaptiveGrid();
+        assertFalse(grid.isDense());
+
+        soup(grid, 100, 3);
+        assertTrue(grid.isDense());
+        long live = grid.liveCells();
+        var bounds = grid.bounds();
+        assertEquals(new Bounds(100, 100, 199, 199), bounds);
+        assertEquals(live, grid.liveCells());
+
+        // a distant cell still fits in the window
+        grid.set(400, 400, true);
+        assertTrue(grid.isDense());
+        assertTrue(grid.get(400, 400));
+        assertEquals(live + 1, grid.liveCells());
+
+        // distant cells make the pattern sparse
+        grid.set(-100_000, 100_000, true);
+        assertFalse(grid.isDense());
+        assertTrue(grid.get(-100_000, 100_000));
+        assertTrue(grid.get(400, 400));
+        assertEquals(live + 2, grid.liveCells());
+        assertEquals(new Bounds(-100_000, 100, 400, 100_000), grid.bounds());
+    }
+
+    @Test
+    void shouldNotMigrateBetweenThresholds() {
+        var grid = new AdaptiveGrid();
+        soup(grid, 0, 3);
+        assertTrue(grid.isDense());
+
+        // density drops below the dense threshold, but stays above the sparse one
+        for (int row = 0; row < 100; row++) {
+            for (int col = 0; col < 100; col++) {
+                grid.set(row, col, (row * 100 + col) % 64 == 0);
+            }
+        }
+        for (int i = 0; i < 2 * AdaptiveGrid.CHECK_INTERVAL; i++) grid.set(0, 1, i % 2 == 0);
+        assertTrue(grid.liveCells() * AdaptiveGrid.DENSE_RATIO < 100 * 100);
+        assertTrue(grid.isDense());
+
+        var sparse = new AdaptiveGrid();
+        for (int row = 0; row < 100; row++) {
+            for (int col = 0; col < 100; col++) {
+                sparse.set(row, col, (row * 100 + col) % 64 == 0);
+            }
+        }
+        assertFalse(sparse.isDense());
+    }
+
+    @Test
+    void shouldCountNeighborsOnWindowEdges() {
+        var grid = new AdaptiveGrid();
+        soup(grid, 0, 2);
+        assertTrue(grid.isDense());
+        var expected = new HashGrid();
+        grid.forEachAlive((row, col) -> expected.set(row, col, true));
+
+        for (int row = -40; row < 140; row++) {
+            for (int col = -40; col < 140; col++) {
+                assertEquals(expected.neighbors(row, col), grid.neighbors(row, col));
+                assertEquals(expected.get(row, col), grid.get(row, col));
+            }
+        }
+        assertEquals(expected.rowPopulation(50), grid.rowPopulation(50));
+        assertEquals(expected.columnPopulation(99), grid.columnPopulation(99));
+        assertEquals(0, grid.rowPopulation(Integer.MIN_VALUE));
+        assertArrayEquals(expected.snapshot(-5, -5, 110, 110), grid.snapshot(-5, -5, 110, 110));
+
+        grid.clear();
+        assertFalse(grid.isDense());
+        assertEquals(0, grid.liveCells());
+    }
+
+    @Test
+    void shouldProgressLikeHashGrid() {
+        var random = new Random(11);
+        var initial = new boolean[64][64];
+        for (boolean[] row : initial) {
+            for (int col = 0; col < row.length; col++) row[col] = random.nextBoolean();
+        }
+        var adaptive = GameOfLife.builder(new AdaptiveGrid(initial)).build();
+        var expected = GameOfLife.builder(new HashGrid(initial)).build();
+
+        for (int i = 0; i < 300; i++) {
+            adaptive.progress();
+            expected.progress();
+            assertEquals(expected.grid().liveCells(), adaptive.grid().liveCells());
+        }
+        var bounds = expected.grid().bounds();
+        assertEquals(bounds, adaptive.grid().bounds());
+        assertArrayEquals(expected.grid().snapshot(bounds.getFromRow(), bounds.getFromColumn(), (int) bounds.getRows(), (int) bounds.getColumns()),
+                adaptive.grid().snapshot(bounds.getFromRow(), bounds.getFromColumn(), (int) bounds.getRows(), (int) bounds.getColumns()));
+    }
+
+    private static void soup(Grid grid, int from, int every) {
+        var random = new Random(5);
+        for (int row = from; row < from + 100; row++) {
+            for (int col = from; col < from + 100; col++) {
+                grid.set(row, col, random.nextInt(every) == 0 || row == from || col == from || row == from + 99 || col == from + 99);
+            }
+        }
+    }
+}
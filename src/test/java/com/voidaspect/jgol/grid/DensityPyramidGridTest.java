@@ -0,0 +1,87 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.GameOfLife;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DensityPyramidGridTest extends GridTest {
+
+    @Override
+    protected Grid grid(boolean[][] initial) {
+        return new DensityPyramidGrid(new HashGrid(initial), 3);
+    }
+
+    @Test
+    void shouldCountBlocksOfEvolvingPattern() {
+        var random = new Random(37);
+        var grid = new DensityPyramidGrid(new HashGrid(), 4);
+        for (int row = -50; row < 50; row++) {
+            for (int col = -70; col < 30; col++) {
+                if (random.nextInt(3) == 0) grid.set(row, col, true);
+            }
+        }
+        var game = GameOfLife.builder(grid).build();
+
+        for (int i = 0; i < 60; i++) {
+            game.progress();
+            if (i % 20 == 19) {
+                for (int level = 1; level <= 4; level++) {
+                    assertCounts(grid, level, -150, -150, 300, 300);
+                }
+            }
+        }
+        // images of a few blocks and of regions much larger than the pattern
+        assertCounts(grid, 3, -2, -2, 3, 4);
+        assertCounts(grid, 1, -1000, -1000, 2000, 2000);
+    }
+
+    @Test
+    void shouldCountInitialCellsAndDirectModifications() {
+        var grid = new DensityPyramidGrid(new BitVectorInMemoryGrid(new boolean[][]{
+                {true, true, false, true},
+                {false, true, false, false},
+                {false, false, false, false},
+                {true, false, false, true}
+        }, 4, 4), 2);
+
+        assertArrayEquals(new int[]{3, 1, 1, 1}, grid.densitySnapshot(1, 0, 0, 2, 2));
+        assertArrayEquals(new int[]{6}, grid.densitySnapshot(2, 0, 0, 1, 1));
+
+        grid.fill(0, 0, 2, 2, false);
+        // outside of the finite grid
+        grid.set(10, 10, true);
+        grid.set(2, 2, true);
+        grid.set(2, 2, true);
+        assertArrayEquals(new int[]{0, 1, 1, 2}, grid.densitySnapshot(1, 0, 0, 2, 2));
+        assertArrayEquals(new int[]{0, 0, 0, 4}, grid.densitySnapshot(2, -1, -1, 2, 2));
+
+        grid.clear();
+        assertArrayEquals(new int[4], grid.densitySnapshot(1, 0, 0, 2, 2));
+    }
+
+    @Test
+    void shouldRejectMissingLevels() {
+        var grid = new DensityPyramidGrid(new HashGrid(), 2);
+        assertEquals(2, grid.getLevels());
+        assertThrows(IllegalArgumentException.class, () -> grid.densitySnapshot(0, 0, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> grid.densitySnapshot(3, 0, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> grid.densitySnapshot(1, 0, 0, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new DensityPyramidGrid(new HashGrid(), 0));
+        assertThrows(IllegalArgumentException.class, () -> new DensityPyramidGrid(new HashGrid(), 16));
+    }
+
+    private static void assertCounts(DensityPyramidGrid grid, int level, int fromBlockRow, int fromBlockCol,
+                                     int blockRows, int blockColumns) {
+        int[] expected = new int[blockRows * blockColumns];
+        grid.forEachAlive((row, col) -> {
+            int r = (row >> level) - fromBlockRow;
+            int c = (col >> level) - fromBlockCol;
+            if (r >= 0 && r < blockRows && c >= 0 && c < blockColumns) expected[r * blockColumns + c]++;
+        });
+        assertArrayEquals(expected, grid.densitySnapshot(level, fromBlockRow, fromBlockCol, blockRows, blockColumns),
+                "level " + level);
+    }
+}
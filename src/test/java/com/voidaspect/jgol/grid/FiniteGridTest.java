@@ -62,6 +62,28 @@ public abstract class FiniteGridTest extends GridTest {
         assertEquals(1, grid.getSize());
     }
 
+    @Test
+    void shouldClipBulkOperationsToGrid() {
+        var grid = grid(3, 70);
+
+        grid.fill(-1, -1, 3, 100, true);
+        assertEquals(140, grid.liveCells());
+        assertEquals(0, grid.rowPopulation(2));
+
+        // source columns 2, 3, 66, 67 and 69 land on grid columns -1, 0, 63, 64 and 66
+        grid.blit(2, -3, 1, 70, new long[]{1L << 2 | 1L << 3, 1L << 2 | 1L << 3 | 1L << 5});
+        assertEquals(144, grid.liveCells());
+        assertEquals(4, grid.rowPopulation(2));
+        assertTrue(grid.get(2, 63));
+        assertTrue(grid.get(2, 64));
+        assertFalse(grid.get(2, 65));
+
+        grid.blit(1, 0, 3, 70, new long[6]);
+        assertEquals(70, grid.liveCells());
+        assertEquals(1, grid.columnPopulation(64));
+        assertEquals(new Bounds(0, 0, 0, 69), grid.bounds());
+    }
+
     @Test
     void shouldCaptureSnapshots() {
         var grid = grid(3, 3);
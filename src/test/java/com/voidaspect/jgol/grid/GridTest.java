@@ -1,5 +1,7 @@
 package com.voidaspect.jgol.grid;
 
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.cell.Cells;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
@@ -135,6 +137,196 @@ public abstract class GridTest {
         assertEquals(0, grid.liveCells());
     }
 
+    @Test
+    void shouldTrackBounds() {
+        var grid = grid(new boolean[][] {
+                {false, false, false, false},
+                {false, true, false, false},
+                {false, false, false, false},
+                {false, false, false, false}
+        });
+
+        assertEquals(new Bounds(1, 1, 1, 1), grid.bounds());
+
+        grid.set(3, 2, true);
+        assertEquals(new Bounds(1, 1, 3, 2), grid.bounds());
+
+        grid.set(0, 3, true);
+        assertEquals(new Bounds(0, 1, 3, 3), grid.bounds());
+        assertEquals(4, grid.bounds().getRows());
+        assertEquals(3, grid.bounds().getColumns());
+
+        grid.set(0, 3, false);
+        assertEquals(new Bounds(1, 1, 3, 2), grid.bounds());
+
+        grid.set(1, 1, false);
+        assertEquals(new Bounds(3, 2, 3, 2), grid.bounds());
+
+        grid.set(3, 2, false);
+        assertEquals(Bounds.EMPTY, grid.bounds());
+        assertTrue(grid.bounds().isEmpty());
+
+        grid.set(2, 0, true);
+        grid.set(2, 1, true);
+        assertEquals(new Bounds(2, 0, 2, 1), grid.bounds());
+
+        grid.clear();
+        assertEquals(Bounds.EMPTY, grid.bounds());
+    }
+
+    @Test
+    void shouldCountRowAndColumnPopulation() {
+        var grid = grid(new boolean[][] {
+                {true, false, true},
+                {false, false, false},
+                {true, true, true}
+        });
+
+        assertEquals(2, grid.rowPopulation(0));
+        assertEquals(0, grid.rowPopulation(1));
+        assertEquals(3, grid.rowPopulation(2));
+        assertEquals(2, grid.columnPopulation(0));
+        assertEquals(1, grid.columnPopulation(1));
+        assertEquals(2, grid.columnPopulation(2));
+
+        grid.set(2, 1, false);
+        grid.set(1, 1, true);
+        assertEquals(1, grid.rowPopulation(1));
+        assertEquals(2, grid.rowPopulation(2));
+        assertEquals(1, grid.columnPopulation(1));
+
+        assertEquals(0, grid.rowPopulation(-1));
+        assertEquals(0, grid.columnPopulation(5));
+
+        grid.clear();
+        assertEquals(0, grid.rowPopulation(0));
+        assertEquals(0, grid.columnPopulation(2));
+    }
+
+    @Test
+    void shouldSetAllCells() {
+        var grid = grid(new boolean[][] {
+                {false, false, false},
+                {false, true, false},
+                {false, false, false}
+        });
+
+        grid.setAll(new long[]{Cells.pack(0, 0), Cells.pack(2, 1), Cells.pack(1, 1)}, true);
+        assertArrayEquals(new boolean[][] {
+                {true, false, false},
+                {false, true, false},
+                {false, true, false}
+        }, grid.snapshot(0, 0, 3, 3));
+        assertEquals(3, grid.liveCells());
+
+        grid.setAll(new long[]{Cells.pack(0, 0), Cells.pack(0, 1)}, false);
+        assertEquals(2, grid.liveCells());
+        assertEquals(new Bounds(1, 1, 2, 1), grid.bounds());
+    }
+
+    @Test
+    void shouldBlitRegion() {
+        var grid = grid(new boolean[][] {
+                {true, false, false},
+                {false, false, false},
+                {false, false, true}
+        });
+
+        grid.blit(0, 1, 2, 2, new long[]{0b01, 0b10});
+        assertArrayEquals(new boolean[][] {
+                {true, true, false},
+                {false, false, true},
+                {false, false, true}
+        }, grid.snapshot(0, 0, 3, 3));
+        assertEquals(4, grid.liveCells());
+        assertEquals(2, grid.columnPopulation(2));
+
+        grid.blit(0, 0, 1, 3, new long[1]);
+        assertEquals(0, grid.rowPopulation(0));
+        assertEquals(new Bounds(1, 2, 2, 2), grid.bounds());
+
+        assertThrows(IllegalArgumentException.class, () -> grid.blit(0, 0, 2, 2, new long[1]));
+        assertThrows(IllegalArgumentException.class, () -> grid.blit(0, 0, -1, 2, new long[1]));
+    }
+
+    @Test
+    void shouldFillRegion() {
+        var grid = grid(new boolean[][] {
+                {false, false, false},
+                {false, false, false},
+                {false, false, true}
+        });
+
+        grid.fill(0, 0, 2, 3, true);
+        assertEquals(7, grid.liveCells());
+        assertEquals(3, grid.rowPopulation(1));
+
+        grid.fill(1, 1, 2, 2, false);
+        assertArrayEquals(new boolean[][] {
+                {true, true, true},
+                {true, false, false},
+                {false, false, false}
+        }, grid.snapshot(0, 0, 3, 3));
+        assertEquals(4, grid.liveCells());
+        assertEquals(new Bounds(0, 0, 1, 2), grid.bounds());
+
+        grid.fill(0, 0, 0, 3, false);
+        assertEquals(4, grid.liveCells());
+        assertThrows(IllegalArgumentException.class, () -> grid.fill(0, 0, 1, -1, true));
+    }
+
+    @Test
+    void shouldMaintainContentHash() {
+        var grid = grid(new boolean[][] {
+                {false, true, false, false, false},
+                {false, true, false, false, false},
+                {false, true, false, false, false},
+                {false, false, false, false, false},
+                {false, false, false, false, true}
+        });
+        assertContentHash(grid);
+        long initial = grid.contentHash();
+
+        grid.set(3, 3, true);
+        assertContentHash(grid);
+        assertNotEquals(initial, grid.contentHash());
+        grid.set(3, 3, false);
+        grid.set(3, 3, false);
+        assertEquals(initial, grid.contentHash());
+
+        grid.setAll(new long[]{Cells.pack(0, 0), Cells.pack(4, 4)}, true);
+        assertContentHash(grid);
+        grid.blit(2, 2, 2, 2, new long[]{0b11, 0b10});
+        assertContentHash(grid);
+        grid.fill(0, 0, 1, 5, false);
+        assertContentHash(grid);
+
+        grid.clear();
+        assertEquals(0, grid.contentHash());
+        // period of a blinker is found without comparing snapshots
+        grid.fill(2, 1, 1, 3, true);
+        long phase = grid.contentHash();
+        var game = GameOfLife.builder(grid).build();
+        game.progress();
+        assertContentHash(grid);
+        assertNotEquals(phase, grid.contentHash());
+        game.progress();
+        assertEquals(phase, grid.contentHash());
+    }
+
+    private static void assertContentHash(Grid grid) {
+        var expected = new HashGrid();
+        grid.forEachAlive((row, col) -> expected.set(row, col, true));
+        long hash = 0;
+        for (var row = 0; row < 5; row++) {
+            for (var col = 0; col < 5; col++) {
+                if (expected.get(row, col)) hash ^= Cells.hash(row, col);
+            }
+        }
+        assertEquals(hash, grid.contentHash());
+        assertEquals(expected.contentHash(), grid.contentHash());
+    }
+
     protected abstract Grid grid(boolean[][] initial);
 
     protected Grid testedGrid() {
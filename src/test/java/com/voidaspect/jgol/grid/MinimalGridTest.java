@@ -0,0 +1,58 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.grid.cell.CellOperation;
+
+/**
+ * Checks default methods of {@link Grid} through a grid that implements only the abstract ones.
+ */
+class MinimalGridTest extends GridTest {
+
+    @Override
+    protected Grid grid(boolean[][] initial) {
+        return new MinimalGrid(new HashGrid(initial));
+    }
+
+    private static final class MinimalGrid implements Grid {
+
+        private final Grid grid;
+
+        MinimalGrid(Grid grid) {
+            this.grid = grid;
+        }
+
+        @Override
+        public boolean get(int row, int col) {
+            return grid.get(row, col);
+        }
+
+        @Override
+        public void set(int row, int col, boolean state) {
+            grid.set(row, col, state);
+        }
+
+        @Override
+        public int neighbors(int row, int col) {
+            return grid.neighbors(row, col);
+        }
+
+        @Override
+        public boolean[][] snapshot(int fromRow, int fromColumn, int rows, int columns) {
+            return grid.snapshot(fromRow, fromColumn, rows, columns);
+        }
+
+        @Override
+        public void clear() {
+            grid.clear();
+        }
+
+        @Override
+        public long liveCells() {
+            return grid.liveCells();
+        }
+
+        @Override
+        public void forEachAlive(CellOperation operation) {
+            grid.forEachAlive(operation);
+        }
+    }
+}
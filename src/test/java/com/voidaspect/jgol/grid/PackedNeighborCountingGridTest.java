@@ -0,0 +1,62 @@
+package com.voidaspect.jgol.grid;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedNeighborCountingGridTest extends FiniteGridTest {
+
+    @Override
+    protected FiniteGrid grid(int rows, int cols) {
+        return new PackedNeighborCountingGrid(rows, cols);
+    }
+
+    @Override
+    protected FiniteGrid grid(boolean[][] initial, int rows, int cols) {
+        return new PackedNeighborCountingGrid(initial, rows, cols);
+    }
+
+    @Test
+    void shouldCountNeighborsAcrossWords() {
+        // 16 counts and 64 cells per word, rows end in the middle of a word
+        int rows = 7;
+        int cols = 81;
+        var random = new Random(7);
+        var grid = new PackedNeighborCountingGrid(rows, cols);
+        var expected = new PaddedInMemoryGrid(rows, cols);
+
+        for (int i = 0; i < 2000; i++) {
+            int row = random.nextInt(rows);
+            int col = random.nextInt(cols);
+            boolean state = random.nextInt(3) != 0;
+            grid.set(row, col, state);
+            expected.set(row, col, state);
+        }
+
+        assertEquals(expected.liveCells(), grid.liveCells());
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                assertEquals(expected.neighbors(row, col), grid.neighbors(row, col), "neighbors of " + row + ":" + col);
+                assertEquals(expected.get(row, col), grid.get(row, col));
+            }
+        }
+
+        int[] candidates = new int[1];
+        grid.forEachCandidate((row, col, alive, neighbors) -> {
+            candidates[0]++;
+            assertEquals(expected.get(row, col), alive);
+            assertEquals(expected.neighbors(row, col), neighbors);
+            assertTrue(alive || neighbors > 0);
+        });
+        int[] nonEmpty = new int[1];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (expected.get(row, col) || expected.neighbors(row, col) > 0) nonEmpty[0]++;
+            }
+        }
+        assertEquals(nonEmpty[0], candidates[0]);
+    }
+
+}
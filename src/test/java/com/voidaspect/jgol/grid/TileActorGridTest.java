@@ -0,0 +1,154 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.GameOfLife;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileActorGridTest extends GridTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pool.shutdownNow();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Override
+    protected Grid grid(boolean[][] initial) {
+        return new TileActorGrid(initial);
+    }
+
+    @Test
+    void shouldAdvanceScatteredRegionsLikeHashGrid() {
+        var random = new Random(29);
+        var actors = new TileActorGrid(pool);
+        var hash = new HashGrid();
+        // soups far apart from each other, across tile edges
+        for (int region = 0; region < 12; region++) {
+            int fromRow = random.nextInt(2000) - 1000;
+            int fromCol = random.nextInt(2000) - 1000;
+            for (int row = fromRow; row < fromRow + 40; row++) {
+                for (int col = fromCol; col < fromCol + 40; col++) {
+                    if (random.nextInt(3) == 0) {
+                        actors.set(row, col, true);
+                        hash.set(row, col, true);
+                    }
+                }
+            }
+        }
+        var expected = GameOfLife.builder(hash).build();
+
+        // uneven amounts cross epoch boundaries in the middle
+        for (int generations : new int[]{1, 63, 70, 130, 5}) {
+            actors.advance(generations);
+            for (int i = 0; i < generations; i++) expected.progress();
+            assertEquals(hash.liveCells(), actors.liveCells());
+        }
+        var bounds = hash.bounds();
+        assertEquals(bounds, actors.bounds());
+        assertArrayEquals(hash.snapshot(bounds.getFromRow(), bounds.getFromColumn(), (int) bounds.getRows(), (int) bounds.getColumns()),
+                actors.snapshot(bounds.getFromRow(), bounds.getFromColumn(), (int) bounds.getRows(), (int) bounds.getColumns()));
+        assertEquals(hash.rowPopulation(bounds.getFromRow()), actors.rowPopulation(bounds.getFromRow()));
+        assertEquals(hash.columnPopulation(bounds.getToColumn()), actors.columnPopulation(bounds.getToColumn()));
+    }
+
+    @Test
+    void shouldReportChangesOfStep() {
+        var actors = new TileActorGrid(pool);
+        var hash = new HashGrid();
+        // replays reported changes
+        var mirror = new HashGrid();
+        var random = new Random(31);
+        for (int row = -70; row < 70; row++) {
+            for (int col = -70; col < 70; col++) {
+                if (random.nextBoolean()) {
+                    actors.set(row, col, true);
+                    hash.set(row, col, true);
+                    mirror.set(row, col, true);
+                }
+            }
+        }
+        var expected = GameOfLife.builder(hash).build();
+
+        for (int i = 0; i < 100; i++) {
+            expected.progress();
+            long changes = actors.step((row, col) -> mirror.set(Math.toIntExact(row), Math.toIntExact(col), true),
+                    (row, col) -> mirror.set(Math.toIntExact(row), Math.toIntExact(col), false));
+            assertEquals(hash.liveCells(), actors.liveCells());
+            assertTrue(changes > 0);
+        }
+        assertArrayEquals(hash.snapshot(-200, -200, 400, 400), actors.snapshot(-200, -200, 400, 400));
+        assertArrayEquals(hash.snapshot(-200, -200, 400, 400), mirror.snapshot(-200, -200, 400, 400));
+    }
+
+    @Test
+    void shouldKeepTilesOfEpochBetweenSteps() {
+        var grid = new TileActorGrid(pool);
+        // glider moving towards larger rows and columns
+        grid.set(0, 1, true);
+        grid.set(1, 2, true);
+        grid.set(2, 0, true);
+        grid.set(2, 1, true);
+        grid.set(2, 2, true);
+
+        grid.step(null, null);
+        // occupied tile and its neighbors
+        assertEquals(9, grid.tileCount());
+        for (int i = 1; i < 63; i++) grid.step(null, null);
+        assertEquals(9, grid.tileCount());
+        // modification links tiles again before the epoch ends
+        grid.set(1000, 1000, true);
+        grid.step(null, null);
+        assertEquals(18, grid.tileCount());
+
+        for (int i = 0; i < 400; i++) grid.step(null, null);
+        // 464 generations move the glider by 116 cells diagonally
+        assertEquals(5, grid.liveCells());
+        assertTrue(grid.get(116L, 117L));
+        assertTrue(grid.get(118L, 118L));
+    }
+
+    @Test
+    void shouldSpawnAndRetireTilesAlongGlider() {
+        var grid = new TileActorGrid(pool);
+        long row = -3_000_000_000L;
+        long col = 5_000_000_000L;
+        // glider moving towards larger rows and columns
+        grid.set(row, col + 1, true);
+        grid.set(row + 1, col + 2, true);
+        grid.set(row + 2, col, true);
+        grid.set(row + 2, col + 1, true);
+        grid.set(row + 2, col + 2, true);
+
+        // 4 generations move a glider by one cell diagonally, so it crosses several tiles
+        grid.advance(4 * 300);
+
+        assertEquals(5, grid.liveCells());
+        assertTrue(grid.get(row + 300, col + 301));
+        assertTrue(grid.get(row + 302, col + 302));
+        assertEquals(5, grid.neighbors(row + 301, col + 301));
+        // tiles left behind are retired, only the occupied tiles and their neighbors remain
+        grid.advance(64);
+        assertTrue(grid.tileCount() <= 16, "tiles: " + grid.tileCount());
+    }
+
+    @Test
+    void shouldRetireEmptyPattern() {
+        var grid = new TileActorGrid(pool);
+        grid.set(10, 10, true);
+        grid.set(200, 200, true);
+
+        grid.advance(1);
+        assertEquals(0, grid.liveCells());
+        grid.advance(1);
+        assertEquals(0, grid.tileCount());
+        assertThrows(IllegalArgumentException.class, () -> grid.advance(-1));
+    }
+}
@@ -0,0 +1,111 @@
+package com.voidaspect.jgol.grid;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.cell.Cells;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TiledGridTest extends GridTest {
+
+    @Override
+    protected Grid grid(boolean[][] initial) {
+        return new TiledGrid(initial);
+    }
+
+    @Test
+    void shouldKeepCellsOfRandomUpdates() {
+        var random = new Random(3);
+        var grid = new TiledGrid();
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int row = random.nextInt(80) - 40;
+            int col = random.nextInt(80) - 40;
+            boolean state = random.nextInt(3) != 0;
+            grid.set(row, col, state);
+            if (state) expected.add(Cells.pack(row, col)); else expected.remove(Cells.pack(row, col));
+        }
+
+        assertEquals(expected.size(), grid.liveCells());
+        Set<Long> alive = new HashSet<>();
+        grid.forEachAlive((int row, int col) -> alive.add(Cells.pack(row, col)));
+        assertEquals(expected, alive);
+    }
+
+    @Test
+    void shouldProgressLikeHashGrid() {
+        var random = new Random(13);
+        var tiled = new TiledGrid();
+        var hash = new HashGrid();
+        for (int row = -30; row < 30; row++) {
+            for (int col = -30; col < 30; col++) {
+                if (random.nextBoolean()) {
+                    tiled.set(row, col, true);
+                    hash.set(row, col, true);
+                }
+            }
+        }
+        var expected = GameOfLife.builder(hash).build();
+        var game = GameOfLife.builder(tiled).build();
+
+        for (int i = 0; i < 200; i++) {
+            expected.progress();
+            game.progress();
+            assertEquals(hash.liveCells(), tiled.liveCells());
+        }
+        var bounds = hash.bounds();
+        assertEquals(bounds, tiled.bounds());
+        assertArrayEquals(hash.snapshot(-100, -100, 200, 200), tiled.snapshot(-100, -100, 200, 200));
+        assertEquals(hash.rowPopulation(bounds.getFromRow()), tiled.rowPopulation(bounds.getFromRow()));
+        assertEquals(hash.columnPopulation(-3), tiled.columnPopulation(-3));
+    }
+
+    @Test
+    void shouldMoveGliderOutOfIntRange() {
+        var grid = new TiledGrid();
+        long row = Integer.MAX_VALUE - 2;
+        long col = Integer.MAX_VALUE - 2;
+        // glider moving towards larger rows and columns
+        grid.set(row, col + 1, true);
+        grid.set(row + 1, col + 2, true);
+        grid.set(row + 2, col, true);
+        grid.set(row + 2, col + 1, true);
+        grid.set(row + 2, col + 2, true);
+        long[] changes = new long[2];
+
+        for (int i = 0; i < 40; i++) {
+            grid.step((r, c) -> changes[0]++, (r, c) -> changes[1]++);
+        }
+
+        assertEquals(5, grid.liveCells());
+        assertEquals(changes[0], changes[1]);
+        // 4 generations move a glider by one cell diagonally
+        assertTrue(grid.get(row + 10, col + 11));
+        assertTrue(grid.get(row + 12, col + 12));
+        assertEquals(5, grid.neighbors(row + 11, col + 11));
+        assertThrows(ArithmeticException.class, grid::bounds);
+        assertThrows(ArithmeticException.class, () -> grid.forEachAlive((int r, int c) -> {
+        }));
+    }
+
+    @Test
+    void shouldStepAtLongEdges() {
+        var grid = new TiledGrid();
+        // blinker around the smallest row and column
+        grid.set(Long.MIN_VALUE, Long.MIN_VALUE + 5, true);
+        grid.set(Long.MIN_VALUE + 1, Long.MIN_VALUE + 5, true);
+        grid.set(Long.MIN_VALUE + 2, Long.MIN_VALUE + 5, true);
+
+        assertEquals(4, grid.step(null, null));
+
+        assertTrue(grid.get(Long.MIN_VALUE + 1, Long.MIN_VALUE + 4));
+        assertTrue(grid.get(Long.MIN_VALUE + 1, Long.MIN_VALUE + 6));
+        assertFalse(grid.get(Long.MIN_VALUE, Long.MIN_VALUE + 5));
+        assertEquals(3, grid.liveCells());
+    }
+}
@@ -0,0 +1,198 @@
+package com.voidaspect.jgol.host;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.listener.ProgressListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameHostTest {
+
+    private final GameHost host = new GameHost(2);
+
+    @AfterEach
+    void tearDown() {
+        host.close();
+    }
+
+    @Test
+    void shouldProgressManyGamesAtTargetRate() throws InterruptedException {
+        List<HostedGame> games = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // blinker
+            var grid = new HashGrid(new boolean[][]{{false, true, false}, {false, true, false}, {false, true, false}});
+            games.add(host.host(GameOfLife.builder(grid).setThreadSafe(true).build(), 100));
+        }
+        long start = System.nanoTime();
+        assertEquals(2000, host.size());
+
+        await(() -> games.stream().allMatch(game -> game.getGenerations() >= 20));
+        // workers finish their generations, so that statistics match the grids
+        host.close();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        for (var game : games) {
+            // first generation is due right away
+            assertTrue(game.getGenerations() <= seconds * 100 + 2, game.toString());
+            assertEquals(game.getGenerations() % 2 == 0 ? 1 : 3,
+                    game.getGame().grid().rowPopulation(1), game.toString());
+            assertNull(game.getFailure());
+        }
+    }
+
+    @Test
+    void shouldSkipFrozenGames() throws InterruptedException {
+        var block = new HashGrid(new boolean[][]{{true, true}, {true, true}});
+        var game = host.host(GameOfLife.builder(block).setThreadSafe(true).build(), 1000);
+
+        await(() -> game.getFrozenTicks() >= 10);
+
+        assertEquals(1, game.getGenerations());
+        assertTrue(game.getGame().isFrozen());
+        // modification unfreezes the game
+        game.getGame().grid().set(5, 5, true);
+        await(() -> game.getGenerations() >= 2);
+        assertEquals(4, game.getGame().grid().liveCells());
+    }
+
+    @Test
+    void shouldRemoveGames() throws InterruptedException {
+        var failing = host.host(new FailingGame(), 1000);
+        // first generation is not due before the game is removed
+        var removed = host.host(GameOfLife.builder(new HashGrid()).build(), 1000, Duration.ofHours(1));
+        removed.remove();
+        removed.remove();
+
+        await(failing::isRemoved);
+
+        assertTrue(failing.getFailure() instanceof IllegalStateException);
+        assertEquals(0, host.size());
+        assertEquals(0, removed.getGenerations() + removed.getFrozenTicks());
+    }
+
+    @Test
+    void shouldDropRemovedGamesFromQueue() throws InterruptedException {
+        // next generation is due in 1000 seconds
+        var game = host.host(GameOfLife.builder(new HashGrid()).build(), 0.001);
+        await(() -> game.getFrozenTicks() + game.getGenerations() == 1);
+        await(() -> host.queued() == 1);
+
+        game.remove();
+
+        assertEquals(0, host.queued());
+        assertEquals(0, host.size());
+    }
+
+    @Test
+    void shouldCompactQueueWhenHalfOfItIsRemoved() throws InterruptedException {
+        List<HostedGame> games = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            // next generation is due in 1000 seconds
+            games.add(host.host(GameOfLife.builder(new HashGrid()).build(), 0.001));
+        }
+        await(() -> host.queued() == 4 && games.stream().allMatch(game -> game.getGenerations() == 1));
+
+        games.get(0).remove();
+        games.get(1).remove();
+        // removed games are kept until they reach the head of the queue
+        assertEquals(4, host.queued());
+        games.get(2).remove();
+        assertEquals(1, host.queued());
+        assertEquals(1, host.size());
+    }
+
+    @Test
+    void shouldKeepWorkersWhenGamesThrowErrors() throws InterruptedException {
+        // one error for every worker of the host
+        var failing = List.of(host.host(new FailingGame(new AssertionError("failed")), 1000),
+                host.host(new FailingGame(new AssertionError("failed")), 1000));
+        await(() -> failing.stream().allMatch(HostedGame::isRemoved));
+
+        var blinker = new HashGrid(new boolean[][]{{false, true, false}, {false, true, false}, {false, true, false}});
+        var game = host.host(GameOfLife.builder(blinker).setThreadSafe(true).build(), 1000);
+        await(() -> game.getGenerations() >= 10);
+
+        for (var removed : failing) assertTrue(removed.getFailure() instanceof AssertionError);
+    }
+
+    @Test
+    void shouldRecordVirtualMachineErrorsBeforeRethrowing() throws InterruptedException {
+        var failing = host.host(new FailingGame(new StackOverflowError("failed")), 1000);
+
+        await(failing::isRemoved);
+
+        assertTrue(failing.getFailure() instanceof StackOverflowError);
+        assertEquals(0, host.size());
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        var game = GameOfLife.builder(new HashGrid()).build();
+        assertThrows(IllegalArgumentException.class, () -> new GameHost(0));
+        assertThrows(IllegalArgumentException.class, () -> host.host(game, 0));
+        assertThrows(IllegalArgumentException.class, () -> host.host(game, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> host.host(game, 2e9));
+        assertThrows(IllegalArgumentException.class, () -> host.host(game, 1, Duration.ofMillis(-1)));
+
+        host.close();
+        assertThrows(IllegalStateException.class, () -> host.host(game, 1));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class FailingGame implements GameOfLife {
+
+        private final Throwable failure;
+
+        FailingGame() {
+            this(new IllegalStateException("failed"));
+        }
+
+        FailingGame(Throwable failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void progress() {
+            if (failure instanceof Error) throw (Error) failure;
+            throw (RuntimeException) failure;
+        }
+
+        @Override
+        public void progress(ProgressListener listener) {
+            progress();
+        }
+
+        @Override
+        public Grid grid() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void freeze() {
+        }
+
+        @Override
+        public void unfreeze() {
+        }
+
+        @Override
+        public boolean isFrozen() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.voidaspect.jgol.host;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.listener.ProgressListener;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationSchedulerTest {
+
+    @Test
+    void shouldProgressAtTargetRate() throws InterruptedException {
+        var grid = new HashGrid(new boolean[][]{{false, true, false}, {false, true, false}, {false, true, false}});
+        var scheduler = new GenerationScheduler(GameOfLife.builder(grid).setThreadSafe(true).build(), 200);
+        long start = System.nanoTime();
+        scheduler.start();
+        Thread.sleep(500);
+        scheduler.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertFalse(scheduler.isRunning());
+        long generations = scheduler.getGenerations();
+        // first generation is due right away, generations missed during pauses of the machine are dropped
+        long due = generations + scheduler.getDroppedGenerations();
+        assertTrue(due <= seconds * 200 + 1, scheduler.toString());
+        assertTrue(due >= 95, scheduler.toString());
+        assertTrue(generations > 0, scheduler.toString());
+        assertEquals(0, scheduler.getFrozenGenerations());
+        assertEquals(generations % 2 == 0 ? 1 : 3, grid.rowPopulation(1));
+        assertTrue(scheduler.getLatenessPercentileNanos(0.5) <= scheduler.getMaxLatenessNanos());
+        assertTrue(scheduler.getLatenessPercentileNanos(1) <= scheduler.getMaxLatenessNanos());
+        assertTrue(scheduler.getMeanLatenessNanos() <= scheduler.getMaxLatenessNanos());
+    }
+
+    @Test
+    void shouldDropGenerationsBeyondCatchUp() throws InterruptedException {
+        // every generation takes 3 periods
+        var slow = new SlowGame(Duration.ofMillis(30));
+        var scheduler = new GenerationScheduler(slow, 100, 1, Duration.ofSeconds(1));
+        scheduler.start();
+        Thread.sleep(600);
+        scheduler.close();
+
+        assertEquals(slow.generations, scheduler.getGenerations());
+        // ticks run the due generation and one missed generation, the other missed one is dropped
+        assertTrue(scheduler.getDroppedGenerations() > 0, scheduler.toString());
+        assertTrue(scheduler.getGenerations() > scheduler.getTicks(), scheduler.toString());
+        assertTrue(scheduler.getMaxTickNanos() >= Duration.ofMillis(60).toNanos(), scheduler.toString());
+        assertTrue(scheduler.getMaxLatenessNanos() >= Duration.ofMillis(10).toNanos(), scheduler.toString());
+    }
+
+    @Test
+    void shouldStopCatchingUpWhenBudgetIsSpent() throws InterruptedException {
+        var slow = new SlowGame(Duration.ofMillis(30));
+        var scheduler = new GenerationScheduler(slow, 100, 10, Duration.ZERO);
+        scheduler.start();
+        Thread.sleep(300);
+        scheduler.close();
+
+        // only the due generation of every tick is run
+        assertEquals(scheduler.getTicks(), scheduler.getGenerations(), scheduler.toString());
+        assertTrue(scheduler.getDroppedGenerations() > 0, scheduler.toString());
+    }
+
+    @Test
+    void shouldSkipFrozenGame() throws InterruptedException {
+        var block = new HashGrid(new boolean[][]{{true, true}, {true, true}});
+        var scheduler = new GenerationScheduler(GameOfLife.builder(block).build(), 1000);
+        scheduler.start();
+        Thread.sleep(100);
+        scheduler.close();
+
+        assertEquals(1, scheduler.getGenerations());
+        assertTrue(scheduler.getFrozenGenerations() > 10, scheduler.toString());
+        assertEquals(0, scheduler.getDroppedGenerations());
+    }
+
+    @Test
+    void shouldStopWhenGameFails() throws InterruptedException {
+        var failing = new SlowGame(Duration.ZERO, 3);
+        var scheduler = new GenerationScheduler(failing, 1000);
+        scheduler.start();
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (scheduler.isRunning()) {
+            assertTrue(System.nanoTime() < deadline, "scheduler didn't stop");
+            Thread.sleep(10);
+        }
+        scheduler.close();
+
+        assertTrue(scheduler.getFailure() instanceof IllegalStateException, scheduler.toString());
+        assertEquals(3, failing.generations);
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        var game = GameOfLife.builder(new HashGrid()).build();
+        assertThrows(IllegalArgumentException.class, () -> new GenerationScheduler(game, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GenerationScheduler(game, 2e6));
+        assertThrows(IllegalArgumentException.class, () -> new GenerationScheduler(game, 60, -1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new GenerationScheduler(game, 60, 1, Duration.ofMillis(-1)));
+
+        var scheduler = new GenerationScheduler(game, 60);
+        assertThrows(IllegalArgumentException.class, () -> scheduler.getLatenessPercentileNanos(1.5));
+        assertEquals(0, scheduler.getLatenessPercentileNanos(0.99));
+        assertNull(scheduler.getFailure());
+        scheduler.start();
+        assertThrows(IllegalStateException.class, scheduler::start);
+        scheduler.close();
+    }
+
+    private static final class SlowGame implements GameOfLife {
+
+        private final long sleepMillis;
+
+        private final long failAt;
+
+        private volatile long generations;
+
+        SlowGame(Duration generation) {
+            this(generation, Long.MAX_VALUE);
+        }
+
+        SlowGame(Duration generation, long failAt) {
+            this.sleepMillis = generation.toMillis();
+            this.failAt = failAt;
+        }
+
+        @Override
+        public void progress() {
+            if (generations == failAt) throw new IllegalStateException("failed");
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            generations++;
+        }
+
+        @Override
+        public void progress(ProgressListener listener) {
+            progress();
+        }
+
+        @Override
+        public Grid grid() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void freeze() {
+        }
+
+        @Override
+        public void unfreeze() {
+        }
+
+        @Override
+        public boolean isFrozen() {
+            return false;
+        }
+    }
+}
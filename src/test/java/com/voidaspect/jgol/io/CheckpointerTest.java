@@ -0,0 +1,346 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.BitVectorInMemoryGrid;
+import com.voidaspect.jgol.grid.Grid;
+import com.voidaspect.jgol.grid.HashGrid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointerTest {
+
+    private Path dir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("jgol-checkpoint");
+        file = dir.resolve("game.ckpt");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(dir.resolve("game.ckpt.tmp"));
+        Files.deleteIfExists(file);
+        Files.delete(dir);
+    }
+
+    @Test
+    void shouldRestoreFromBaseAndDeltas() throws Exception {
+        var game = GameOfLife.builder(new HashGrid()).build();
+        PatternTest.read(new RleReader(), "x = 3, y = 3\nbob$2bo$3o!", game.grid(), -2, Integer.MAX_VALUE - 10);
+        game.grid().set(1000, 1000, true);
+        game.grid().set(1000, 1001, true);
+        game.grid().set(1001, 1000, true);
+
+        try (var checkpointer = new Checkpointer(file)) {
+            checkpointer.checkpoint(game);
+            assertRestored(game);
+
+            long base = Files.size(file);
+            for (int i = 0; i < 4; i++) {
+                game.progress();
+                checkpointer.checkpoint(game);
+                assertRestored(game);
+            }
+            // glider changes 4 cells in every generation, deltas should be much smaller than the base
+            long withDeltas = Files.size(file);
+            assertTrue(withDeltas - base < 4 * base);
+
+            checkpointer.fullCheckpoint(game);
+            assertTrue(Files.size(file) < withDeltas);
+            assertRestored(game);
+        }
+    }
+
+    @Test
+    void shouldWriteDensePatternsAsBitPlane() throws Exception {
+        var random = new Random(42);
+        var game = GameOfLife.builder(new BitVectorInMemoryGrid(64, 200)).build();
+        for (int row = 10; row < 64; row++) {
+            for (int col = 3; col < 200; col++) {
+                if (random.nextInt(3) == 0) game.grid().set(row, col, true);
+            }
+        }
+
+        try (var checkpointer = new Checkpointer(file)) {
+            checkpointer.checkpoint(game);
+            // bit-plane of bounds, with headers
+            assertTrue(Files.size(file) < 54 * 197 / 8 + 64);
+            assertRestored(game);
+
+            game.progress();
+            checkpointer.checkpoint(game);
+            assertRestored(game);
+        }
+    }
+
+    @Test
+    void shouldRestoreFrozenState() throws Exception {
+        var game = GameOfLife.builder(new HashGrid(new boolean[][]{
+                {true, true},
+                {true, true}
+        })).build();
+        try (var checkpointer = new Checkpointer(file)) {
+            checkpointer.checkpoint(game);
+            var restored = restore();
+            assertFalse(restored.isFrozen());
+
+            game.progress();
+            assertTrue(game.isFrozen());
+            checkpointer.checkpoint(game);
+            restored = restore();
+            assertTrue(restored.isFrozen());
+            assertEquals(4, restored.grid().liveCells());
+        }
+    }
+
+    @Test
+    void shouldIgnoreTornRecord() throws Exception {
+        var game = GameOfLife.builder(new HashGrid(new boolean[][]{
+                {false, true, false},
+                {false, true, false},
+                {false, true, false}
+        })).build();
+        try (var checkpointer = new Checkpointer(file)) {
+            checkpointer.checkpoint(game);
+            game.progress();
+            checkpointer.checkpoint(game);
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3);
+        }
+        var restored = restore();
+        assertTrue(restored.grid().get(0, 1));
+        assertTrue(restored.grid().get(2, 1));
+        assertFalse(restored.grid().get(1, 0));
+    }
+
+    @Test
+    void shouldCheckpointInBackground() throws Exception {
+        var game = GameOfLife.builder(new HashGrid()).setThreadSafe(true).build();
+        PatternTest.read(new RleReader(), "x = 3, y = 3\nbob$2bo$3o!", game.grid(), 0, 0);
+        var expected = GameOfLife.builder(new HashGrid()).build();
+        game.grid().forEachAlive((row, col) -> expected.grid().set(row, col, true));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (var checkpointer = new Checkpointer(file)) {
+            var future = checkpointer.checkpointInBackground(game, executor);
+            for (int i = 0; i < 16; i++) game.progress();
+            future.get();
+            assertRestored(expected);
+
+            for (int i = 0; i < 16; i++) expected.progress();
+            checkpointer.checkpointInBackground(game, executor).get();
+            assertRestored(expected);
+        } finally {
+            executor.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new Checkpointer(file).checkpointInBackground(expected, Runnable::run));
+    }
+
+    @Test
+    void shouldRejectInvalidFiles() throws Exception {
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6});
+        assertThrows(IOException.class, this::restore);
+    }
+
+    @Test
+    void shouldKeepGameWhenRecordIsUnknown() throws Exception {
+        var game = GameOfLife.builder(new HashGrid(new boolean[][]{{true, true}, {true, true}})).build();
+        try (var checkpointer = new Checkpointer(file)) {
+            checkpointer.checkpoint(game);
+        }
+        // kind of the base record, right after the file header
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{9}), Integer.BYTES + Byte.BYTES);
+        }
+
+        var restored = GameOfLife.builder(new HashGrid()).build();
+        restored.grid().set(-7, -7, true);
+        assertThrows(IOException.class, () -> Checkpointer.restore(file, restored));
+        assertEquals(1, restored.grid().liveCells());
+        assertTrue(restored.grid().get(-7, -7));
+    }
+
+    @Test
+    void shouldDiscardRecordOfFailedCheckpoint() throws Exception {
+        var game = GameOfLife.builder(new HashGrid(new boolean[][]{
+                {false, true, false},
+                {false, true, false},
+                {false, true, false}
+        })).build();
+        var channels = new ArrayList<FailingChannel>();
+        Checkpointer.ChannelOpener opener = (path, options) -> {
+            var channel = new FailingChannel(FileChannel.open(path, options));
+            channels.add(channel);
+            return channel;
+        };
+        try (var checkpointer = new Checkpointer(file, opener)) {
+            checkpointer.checkpoint(game);
+            long base = Files.size(file);
+
+            game.progress();
+            // header of the delta record is written, its body fails
+            channels.get(channels.size() - 1).failWritesAfter = 2 * Byte.BYTES + Long.BYTES + Integer.BYTES;
+            assertThrows(IOException.class, () -> checkpointer.checkpoint(game));
+            assertEquals(base, Files.size(file));
+
+            channels.get(channels.size() - 1).failWritesAfter = Long.MAX_VALUE;
+            game.progress();
+            checkpointer.checkpoint(game);
+            assertRestored(game);
+            game.progress();
+            checkpointer.checkpoint(game);
+            assertRestored(game);
+        }
+    }
+
+    private void assertRestored(GameOfLife expected) throws IOException {
+        var actual = restore();
+        assertGrid(expected.grid(), actual.grid());
+        assertEquals(expected.isFrozen(), actual.isFrozen());
+    }
+
+    private GameOfLife restore() throws IOException {
+        var game = GameOfLife.builder(new HashGrid()).build();
+        game.grid().set(-7, -7, true);
+        Checkpointer.restore(file, game);
+        return game;
+    }
+
+    private static void assertGrid(Grid expected, Grid actual) {
+        assertEquals(expected.liveCells(), actual.liveCells());
+        expected.forEachAlive((row, col) -> assertTrue(actual.get(row, col), "missing cell " + row + "," + col));
+    }
+
+    /**
+     * Channel that fails writes once the given amount of bytes is written through it.
+     */
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel channel;
+
+        long failWritesAfter = Long.MAX_VALUE;
+
+        FailingChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private int written(int bytes) throws IOException {
+            if (bytes > failWritesAfter) throw new IOException("injected write failure");
+            failWritesAfter -= bytes;
+            return bytes;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            written(src.remaining());
+            return channel.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            written(src.remaining());
+            return channel.write(src, position);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return channel.read(dsts, offset, length);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return channel.read(dst, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return channel.transferFrom(src, position, count);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.HashGrid;
+import org.junit.jupiter.api.Test;
+
+import static com.voidaspect.jgol.io.PatternTest.read;
+import static com.voidaspect.jgol.io.PatternTest.write;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Life106Test {
+
+    @Test
+    void shouldReadPattern() throws Exception {
+        var grid = new HashGrid();
+        read(new Life106Reader(4), "#Life 1.06\n0 -1\n  1 0\r\n-1 1\n0 1\n1 1", grid, 10, 10);
+
+        assertEquals(5, grid.liveCells());
+        assertTrue(grid.get(9, 10));
+        assertTrue(grid.get(10, 11));
+        assertTrue(grid.get(11, 9));
+        assertTrue(grid.get(11, 10));
+        assertTrue(grid.get(11, 11));
+    }
+
+    @Test
+    void shouldWriteAndReadBack() throws Exception {
+        var grid = new HashGrid();
+        grid.set(Integer.MIN_VALUE, Integer.MAX_VALUE, true);
+        grid.set(0, -3, true);
+
+        var written = write(new Life106Writer(), grid);
+        assertTrue(written.startsWith("#Life 1.06\n"));
+        assertTrue(written.contains("\n-3 0\n"));
+
+        var copy = new HashGrid();
+        read(new Life106Reader(), written, copy);
+        assertEquals(2, copy.liveCells());
+        assertTrue(copy.get(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertTrue(copy.get(0, -3));
+    }
+
+    @Test
+    void shouldRejectMalformedPatterns() {
+        var reader = new Life106Reader();
+        assertThrows(PatternFormatException.class, () -> read(reader, "#Life 1.06\n1\n", new HashGrid()));
+        assertThrows(PatternFormatException.class, () -> read(reader, "1 2 3\n", new HashGrid()));
+        assertThrows(PatternFormatException.class, () -> read(reader, "1 99999999999\n", new HashGrid()));
+    }
+
+    @Test
+    void shouldChooseFormatByFileName() {
+        assertEquals(PatternFormat.LIFE_1_06, PatternFormat.forFileName("glider.LIF").orElseThrow());
+        assertEquals(PatternFormat.RLE, PatternFormat.forFileName("gun.rle").orElseThrow());
+        assertEquals(PatternFormat.PLAINTEXT, PatternFormat.forFileName("a.b.cells").orElseThrow());
+        assertTrue(PatternFormat.forFileName("pattern").isEmpty());
+    }
+
+}
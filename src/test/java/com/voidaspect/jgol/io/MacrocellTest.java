@@ -0,0 +1,105 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.HashGrid;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static com.voidaspect.jgol.io.PatternTest.read;
+import static com.voidaspect.jgol.io.PatternTest.write;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MacrocellTest {
+
+    @Test
+    void shouldReadGlider() throws Exception {
+        var grid = new HashGrid();
+        read(new MacrocellReader(5), "[M2] (golly 3.0)\n#R B3/S23\n.*$..*$***$\n4 0 0 1 0\n", grid);
+
+        assertEquals(5, grid.liveCells());
+        assertTrue(grid.get(0, -7));
+        assertTrue(grid.get(1, -6));
+        assertTrue(grid.get(2, -8));
+        assertTrue(grid.get(2, -7));
+        assertTrue(grid.get(2, -6));
+    }
+
+    @Test
+    void shouldWriteAndReadBack() throws Exception {
+        var grid = new HashGrid();
+        read(new RleReader(), "x = 3, y = 3\nbob$2bo$3o!", grid, -1000, 12345);
+        read(new RleReader(), "x = 3, y = 3\nbob$2bo$3o!", grid, Integer.MAX_VALUE - 2, Integer.MIN_VALUE);
+
+        var written = write(new MacrocellWriter(), grid);
+        assertTrue(written.startsWith("[M2]"));
+
+        var copy = new HashGrid();
+        read(new MacrocellReader(), written, copy);
+        assertEquals(grid.liveCells(), copy.liveCells());
+        grid.forEachAlive((row, col) -> assertTrue(copy.get(row, col)));
+    }
+
+    @Test
+    void shouldShareEqualSubtrees() throws Exception {
+        var grid = new HashGrid();
+        for (int i = 0; i < 64; i++) {
+            read(new PlaintextReader(), "OO\nOO\n", grid, i * 1000, -i * 1000);
+        }
+
+        var written = write(new MacrocellWriter(), grid);
+        // one leaf with a block is shared by all 64 blocks
+        assertEquals(1, written.lines().filter("**$**$"::equals).count());
+
+        var root = new MacrocellReader().parse(channel(written));
+        assertEquals(256, root.getPopulation());
+    }
+
+    @Test
+    void shouldKeepHugePatternsWithoutExpanding() throws Exception {
+        // block in the corner, every next level doubles it along the diagonal
+        var pattern = new StringBuilder("[M2]\n**$**$\n");
+        for (int level = 4, node = 1; level <= 42; level++, node++) {
+            pattern.append(level).append(' ').append(node).append(" 0 0 ").append(node).append('\n');
+        }
+        var root = new MacrocellReader().parse(channel(pattern.toString()));
+        assertEquals(42, root.getLevel());
+        assertEquals(4L << 39, root.getPopulation());
+
+        var out = new ByteArrayOutputStream();
+        new MacrocellWriter().write(root, Channels.newChannel(out));
+        var copy = new MacrocellReader().parse(channel(out.toString(StandardCharsets.US_ASCII)));
+        assertEquals(root.getPopulation(), copy.getPopulation());
+        assertTrue(out.size() < 1024);
+
+        assertThrows(PatternFormatException.class, () -> read(new MacrocellReader(), pattern.toString(), new HashGrid()));
+    }
+
+    @Test
+    void shouldRejectMalformedPatterns() {
+        var reader = new MacrocellReader();
+        assertThrows(PatternFormatException.class, () -> read(reader, "**$\n", new HashGrid()));
+        assertThrows(PatternFormatException.class, () -> read(reader, "[M2]\n#R B36/S23\n**$\n", new HashGrid()));
+        assertThrows(PatternFormatException.class, () -> read(reader, "[M2]\n**$\n4 0 2 0 0\n", new HashGrid()));
+        assertThrows(PatternFormatException.class, () -> read(reader, "[M2]\n**$\n5 1 0 0 0\n", new HashGrid()));
+        assertThrows(PatternFormatException.class, () -> read(reader, "[M2]\n*********$\n", new HashGrid()));
+    }
+
+    @Test
+    void shouldNotSetCellsOfPatternOutOfGridCoordinates() {
+        var grid = new HashGrid();
+        // the first two rows of the glider fit, the last one doesn't
+        var glider = "[M2]\n.*$..*$***$\n4 0 0 1 0\n";
+        assertThrows(PatternFormatException.class,
+                () -> new MacrocellReader().read(channel(glider), grid, Integer.MAX_VALUE - 1, 0));
+        assertEquals(0, grid.liveCells());
+    }
+
+    private static ReadableByteChannel channel(String pattern) {
+        return Channels.newChannel(new ByteArrayInputStream(pattern.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.Grid;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+final class PatternTest {
+
+    private PatternTest() {
+    }
+
+    static void read(PatternReader reader, String pattern, Grid grid) throws IOException {
+        read(reader, pattern, grid, 0, 0);
+    }
+
+    static void read(PatternReader reader, String pattern, Grid grid, int row, int col) throws IOException {
+        var in = new ByteArrayInputStream(pattern.getBytes(StandardCharsets.US_ASCII));
+        reader.read(Channels.newChannel(in), grid, row, col);
+    }
+
+    static String write(PatternWriter writer, Grid grid) throws IOException {
+        var out = new ByteArrayOutputStream();
+        writer.write(grid, Channels.newChannel(out));
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.BitVectorInMemoryGrid;
+import com.voidaspect.jgol.grid.HashGrid;
+import org.junit.jupiter.api.Test;
+
+import static com.voidaspect.jgol.io.PatternTest.read;
+import static com.voidaspect.jgol.io.PatternTest.write;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaintextTest {
+
+    @Test
+    void shouldReadPattern() throws Exception {
+        var grid = new BitVectorInMemoryGrid(3, 4);
+        read(new PlaintextReader(2), "!Name: Beehive\n!\r\n.OO.\r\nO..O\n.*O.\n", grid);
+
+        assertArrayEquals(new boolean[][]{
+                {false, true, true, false},
+                {true, false, false, true},
+                {false, true, true, false},
+        }, grid.snapshot());
+    }
+
+    @Test
+    void shouldWriteAndReadBack() throws Exception {
+        var grid = new HashGrid();
+        grid.set(-1, -1, true);
+        grid.set(-1, 2, true);
+        grid.set(2, 0, true);
+
+        var written = write(new PlaintextWriter(), grid);
+        assertEquals("O..O\n\n\n.O\n", written);
+
+        var copy = new HashGrid();
+        read(new PlaintextReader(), written, copy, -1, -1);
+        assertEquals(3, copy.liveCells());
+        grid.forEachAlive((row, col) -> assertTrue(copy.get(row, col)));
+
+        assertEquals("", write(new PlaintextWriter(), new HashGrid()));
+    }
+
+    @Test
+    void shouldRejectMalformedPatterns() {
+        assertThrows(PatternFormatException.class, () -> read(new PlaintextReader(), ".O.\n.x.\n", new HashGrid()));
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.voidaspect.jgol.io;
+
+import com.voidaspect.jgol.grid.HashGrid;
+import com.voidaspect.jgol.grid.PaddedInMemoryGrid;
+import org.junit.jupiter.api.Test;
+
+import static com.voidaspect.jgol.io.PatternTest.read;
+import static com.voidaspect.jgol.io.PatternTest.write;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RleTest {
+
+    private static final String GLIDER_GUN = "#N Gosper glider gun\n" +
+            "#C This was the first gun discovered.\n" +
+            "x = 36, y = 9, rule = B3/S23\n" +
+            "24bo$22bobo$12b2o6b2o12b2o$11bo3bo4b2o12b2o$2o8bo5bo3b2o$2o8bo3bob2o4b\n" +
+            "obo$10bo5bo7bo$11bo3bo$12b2o!\n";
+
+    @Test
+    void shouldReadGlider() throws Exception {
+        var grid = new PaddedInMemoryGrid(4, 4);
+        read(new RleReader(), "#C glider\nx = 3, y = 3, rule = B3/S23\nbob$2bo$3o!\n", grid);
+
+        assertArrayEquals(new boolean[][]{
+                {false, true, false, false},
+                {false, false, true, false},
+                {true, true, true, false},
+                {false, false, false, false}
+        }, grid.snapshot());
+    }
+
+    @Test
+    void shouldReadWithOffsetAndSmallBuffer() throws Exception {
+        var grid = new HashGrid();
+        read(new RleReader(3), GLIDER_GUN, grid, -100, 50);
+
+        assertEquals(36, grid.liveCells());
+        assertTrue(grid.get(-100, 74));
+        assertTrue(grid.get(-96, 50));
+        assertTrue(grid.get(-92, 63));
+        assertEquals(-100, grid.bounds().getFromRow());
+        assertEquals(50, grid.bounds().getFromColumn());
+        assertEquals(9, grid.bounds().getRows());
+        assertEquals(36, grid.bounds().getColumns());
+    }
+
+    @Test
+    void shouldWriteAndReadBack() throws Exception {
+        var grid = new HashGrid();
+        read(new RleReader(), GLIDER_GUN, grid, -5, -7);
+
+        var written = write(new RleWriter(16), grid);
+        assertTrue(written.startsWith("x = 36, y = 9, rule = B3/S23\n"));
+        assertTrue(written.lines().allMatch(line -> line.length() <= 70));
+
+        var copy = new HashGrid();
+        read(new RleReader(), written, copy);
+        assertEquals(grid.liveCells(), copy.liveCells());
+        grid.forEachAlive((row, col) -> assertTrue(copy.get(row + 5, col + 7)));
+    }
+
+    @Test
+    void shouldWriteRuns() throws Exception {
+        var grid = new HashGrid();
+        grid.set(0, 1, true);
+        grid.set(0, 2, true);
+        grid.set(3, 0, true);
+
+        assertEquals("x = 3, y = 4, rule = B3/S23\nb2o3$o!\n", write(new RleWriter(), grid));
+        assertEquals("x = 0, y = 0, rule = B3/S23\n!\n", write(new RleWriter(), new HashGrid()));
+    }
+
+    @Test
+    void shouldRejectMalformedPatterns() {
+        var reader = new RleReader();
+        var grid = new HashGrid();
+        assertThrows(PatternFormatException.class, () -> read(reader, "x = 1, y = 1, rule = B36/S23\no!", grid));
+        assertThrows(PatternFormatException.class, () -> read(reader, "x = 1, y = 1\n2o", grid));
+        assertThrows(PatternFormatException.class, () -> read(reader, "x = 1, y = 1\n2?!", grid));
+    }
+
+}
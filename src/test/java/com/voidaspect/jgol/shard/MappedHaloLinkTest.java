@@ -0,0 +1,115 @@
+package com.voidaspect.jgol.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedHaloLinkTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private Path dir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("jgol-halo");
+        file = dir.resolve("halo.ring");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Files.deleteIfExists(file);
+        Files.delete(dir);
+    }
+
+    @Test
+    void shouldExchangeMessagesBothWays() throws Exception {
+        int messages = 1000;
+        var echo = executor.submit(() -> {
+            try (var link = MappedHaloLink.open(file, false, 3 * Long.BYTES, TIMEOUT)) {
+                var buffer = ByteBuffer.allocateDirect(3 * Long.BYTES);
+                for (int i = 0; i < messages; i++) {
+                    buffer.clear();
+                    link.receive(buffer);
+                    link.send(buffer.flip());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try (var link = MappedHaloLink.open(file, true, 3 * Long.BYTES, TIMEOUT)) {
+            var buffer = ByteBuffer.allocate(3 * Long.BYTES);
+            for (int i = 0; i < messages; i++) {
+                link.send(buffer.clear().putLong(i).putLong(-i).putLong(i * 31L).flip());
+                buffer.clear();
+                link.receive(buffer);
+                buffer.flip();
+                assertEquals(i, buffer.getLong());
+                assertEquals(-i, buffer.getLong());
+                assertEquals(i * 31L, buffer.getLong());
+            }
+        }
+        echo.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldQueueMessagesUntilRingIsFull() throws Exception {
+        try (var first = MappedHaloLink.open(file, true, Long.BYTES, TIMEOUT);
+             var second = MappedHaloLink.open(file, false, Long.BYTES, TIMEOUT)) {
+            var buffer = ByteBuffer.allocate(Long.BYTES);
+            for (int round = 0; round < 3; round++) {
+                // both directions are independent, so a shard can send before its neighbor receives
+                for (long i = 0; i < 4; i++) {
+                    first.send(buffer.clear().putLong(round * 10 + i).flip());
+                    second.send(buffer.clear().putLong(-round * 10 - i).flip());
+                }
+                for (long i = 0; i < 4; i++) {
+                    second.receive(buffer.clear());
+                    assertEquals(round * 10 + i, buffer.flip().getLong());
+                    first.receive(buffer.clear());
+                    assertEquals(-round * 10 - i, buffer.flip().getLong());
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldFailWithoutPeer() throws Exception {
+        try (var link = MappedHaloLink.open(file, true, Long.BYTES, Duration.ofMillis(50))) {
+            var buffer = ByteBuffer.allocate(Long.BYTES);
+            assertThrows(IOException.class, () -> link.receive(buffer));
+            for (int i = 0; i < 4; i++) link.send(buffer.clear());
+            assertThrows(IOException.class, () -> link.send(buffer.clear()));
+            assertThrows(IllegalArgumentException.class, () -> link.send(ByteBuffer.allocate(2 * Long.BYTES)));
+        }
+    }
+
+    @Test
+    void shouldRejectMessageOfUnexpectedSize() throws Exception {
+        try (var first = MappedHaloLink.open(file, true, 2 * Long.BYTES, TIMEOUT);
+             var second = MappedHaloLink.open(file, false, 2 * Long.BYTES, TIMEOUT)) {
+            first.send(ByteBuffer.allocate(Long.BYTES));
+            assertThrows(IOException.class, () -> second.receive(ByteBuffer.allocate(2 * Long.BYTES)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> MappedHaloLink.open(file, true, 0, TIMEOUT));
+        assertThrows(IllegalArgumentException.class, () -> MappedHaloLink.open(file, true, 8, Duration.ZERO));
+    }
+}
@@ -0,0 +1,184 @@
+package com.voidaspect.jgol.shard;
+
+import com.voidaspect.jgol.GameOfLife;
+import com.voidaspect.jgol.grid.BitVectorInMemoryGrid;
+import com.voidaspect.jgol.grid.NeighborCountingGrid;
+import com.voidaspect.jgol.grid.PaddedInMemoryGrid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardCoordinatorTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldProgressShardedUniverseOnLocalhost() throws Exception {
+        int rows = 40;
+        int cols = 70;
+        var layout = new ShardLayout(rows, cols, 2, 3);
+        var random = new Random(17);
+        var universe = new boolean[rows][cols];
+        for (boolean[] row : universe) {
+            for (int col = 0; col < cols; col++) row[col] = random.nextInt(3) == 0;
+        }
+        var expected = GameOfLife.builder(new PaddedInMemoryGrid(universe, rows, cols)).build();
+        var nodes = nodes(layout, universe);
+
+        try (var coordinator = new ShardCoordinator(layout, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            var joined = join(coordinator, nodes);
+            coordinator.awaitShards();
+
+            for (int generation = 1; generation <= 30; generation++) {
+                expected.progress();
+                var status = coordinator.progress(1);
+                assertEquals(generation, status.getGeneration());
+                assertEquals(expected.grid().liveCells(), status.getPopulation());
+            }
+            var status = coordinator.progress(20);
+            for (int i = 0; i < 20; i++) expected.progress();
+            assertEquals(50, status.getGeneration());
+            assertEquals(expected.grid().liveCells(), status.getPopulation());
+            assertEquals(expected.isFrozen(), status.isFrozen());
+
+            coordinator.close();
+            for (var future : joined) future.get(10, TimeUnit.SECONDS);
+        }
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                var node = nodes.get(layout.shardOf(row, col));
+                assertEquals(expected.grid().get(row, col), node.get(row, col), "cell " + row + ":" + col);
+            }
+        }
+    }
+
+    @Test
+    void shouldExchangeHaloThroughSharedMemory() throws Exception {
+        int rows = 30;
+        int cols = 90;
+        var layout = new ShardLayout(rows, cols, 3, 2);
+        var random = new Random(23);
+        var universe = new boolean[rows][cols];
+        for (boolean[] row : universe) {
+            for (int col = 0; col < cols; col++) row[col] = random.nextInt(3) == 0;
+        }
+        var expected = GameOfLife.builder(new PaddedInMemoryGrid(universe, rows, cols)).build();
+        var nodes = nodes(layout, universe);
+        Path dir = Files.createTempDirectory("jgol-shards");
+        try {
+            for (var node : nodes) {
+                node.linkMapped(dir, Duration.ofSeconds(10));
+            }
+            // only commands and reports go through the coordinator
+            try (var coordinator = new ShardCoordinator(layout, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+                var joined = join(coordinator, nodes);
+                coordinator.awaitShards();
+
+                for (int generation = 1; generation <= 40; generation++) {
+                    expected.progress();
+                    var status = coordinator.progress(1);
+                    assertEquals(generation, status.getGeneration());
+                    assertEquals(expected.grid().liveCells(), status.getPopulation());
+                }
+                coordinator.close();
+                for (var future : joined) future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (var file : (Iterable<Path>) files::iterator) Files.delete(file);
+            }
+            Files.delete(dir);
+        }
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                var node = nodes.get(layout.shardOf(row, col));
+                assertEquals(expected.grid().get(row, col), node.get(row, col), "cell " + row + ":" + col);
+            }
+        }
+    }
+
+    @Test
+    void shouldReportFrozenUniverse() throws Exception {
+        var layout = new ShardLayout(8, 8, 2, 2);
+        // block on the corner of all four shards
+        var universe = new boolean[8][8];
+        universe[3][3] = universe[3][4] = universe[4][3] = universe[4][4] = true;
+        var nodes = nodes(layout, universe);
+
+        try (var coordinator = new ShardCoordinator(layout, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            join(coordinator, nodes);
+            coordinator.awaitShards();
+
+            var status = coordinator.progress(3);
+            assertTrue(status.isFrozen());
+            assertEquals(4, status.getPopulation());
+            assertEquals(3, status.getGeneration());
+        }
+        for (var node : nodes) {
+            assertEquals(1, node.population());
+        }
+    }
+
+    @Test
+    void shouldRequireGridWithHalo() {
+        var layout = new ShardLayout(10, 10, 2, 2);
+        assertThrows(IllegalArgumentException.class, () -> new ShardNode(layout, 0, new BitVectorInMemoryGrid(5, 5)));
+        var node = new ShardNode(layout, 0, new BitVectorInMemoryGrid(7, 7));
+        assertThrows(IllegalArgumentException.class, () -> node.link(Direction.NORTH, null));
+        assertThrows(IllegalStateException.class, node::step);
+    }
+
+    private static List<ShardNode> nodes(ShardLayout layout, boolean[][] universe) {
+        var nodes = new ArrayList<ShardNode>();
+        for (int index = 0; index < layout.getShardCount(); index++) {
+            var shard = layout.shard(index);
+            var node = new ShardNode(layout, index, new NeighborCountingGrid(shard.getRows() + 2, shard.getColumns() + 2));
+            for (int row = 0; row < universe.length; row++) {
+                for (int col = 0; col < universe[row].length; col++) {
+                    if (universe[row][col]) node.set(row, col, true);
+                }
+            }
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private List<Future<?>> join(ShardCoordinator coordinator, List<ShardNode> nodes) throws IOException {
+        var address = coordinator.getAddress();
+        var futures = new ArrayList<Future<?>>();
+        for (var node : nodes) {
+            futures.add(executor.submit(() -> {
+                try (node) {
+                    node.join(address);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        return futures;
+    }
+}
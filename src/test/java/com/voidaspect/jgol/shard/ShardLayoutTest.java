@@ -0,0 +1,52 @@
+package com.voidaspect.jgol.shard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardLayoutTest {
+
+    @Test
+    void shouldCoverUniverseWithShards() {
+        var layout = new ShardLayout(17, 10, 3, 4);
+        assertEquals(12, layout.getShardCount());
+
+        int[][] owners = new int[17][10];
+        for (int index = 0; index < layout.getShardCount(); index++) {
+            var shard = layout.shard(index);
+            assertTrue(shard.getRows() >= 5 && shard.getRows() <= 6);
+            assertTrue(shard.getColumns() >= 2 && shard.getColumns() <= 3);
+            for (int row = 0; row < shard.getRows(); row++) {
+                for (int col = 0; col < shard.getColumns(); col++) {
+                    owners[shard.getFromRow() + row][shard.getFromColumn() + col]++;
+                    assertEquals(index, layout.shardOf(shard.getFromRow() + row, shard.getFromColumn() + col));
+                }
+            }
+        }
+        for (int[] row : owners) {
+            for (int owner : row) assertEquals(1, owner);
+        }
+        assertEquals(-1, layout.shardOf(-1, 0));
+        assertEquals(-1, layout.shardOf(0, 10));
+    }
+
+    @Test
+    void shouldFindNeighbors() {
+        var layout = new ShardLayout(100, 100, 2, 3);
+        var shard = layout.shard(1);
+        assertEquals(-1, shard.neighbor(Direction.NORTH));
+        assertEquals(4, shard.neighbor(Direction.SOUTH));
+        assertEquals(0, shard.neighbor(Direction.WEST));
+        assertEquals(2, shard.neighbor(Direction.EAST));
+        assertEquals(-1, layout.shard(2).neighbor(Direction.EAST));
+        assertEquals(Direction.NORTH, Direction.SOUTH.opposite());
+    }
+
+    @Test
+    void shouldNotAllowInvalidLayouts() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardLayout(0, 10, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ShardLayout(10, 10, 11, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ShardLayout(10, 10, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ShardLayout(10, 10, 2, 2).shard(4));
+    }
+}